@@ -0,0 +1,95 @@
+package com.milton.agent.config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendering cost of the improve prompt: the previous per-call classpath read plus chained
+ * {@code String.replace}, the chained replace alone, and the compiled {@link PromptTemplate}.
+ * <p>
+ * Run with {@code mvn -Pjmh test-compile exec:exec -Djmh.args="PromptRender -prof gc"}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PromptRenderBenchmark {
+
+    private static final String PROMPT = "improve.txt";
+
+    @Param({"2000", "8000", "32000"})
+    private int cvLength;
+
+    private PromptLoader promptLoader;
+    private String legacyTemplate;
+    private String cvText;
+    private String jobDescription;
+    private String cvSkills;
+    private String jobRequirements;
+    private String fitExplanation;
+
+    @Setup
+    public void setUp() {
+        promptLoader = new PromptLoader("", false, Duration.ofSeconds(2));
+        // The prompt as it was before slots: every placeholder written as %s
+        legacyTemplate = promptLoader.loadPrompt(PROMPT).replaceAll("\\{\\{\\w+}}", "%s");
+
+        StringBuilder cv = new StringBuilder(cvLength);
+        while (cv.length() < cvLength) {
+            cv.append("Senior Java developer building Spring Boot services on AWS with Kafka and PostgreSQL. ");
+        }
+        cvText = cv.substring(0, cvLength);
+        jobDescription = cvText.substring(0, Math.min(cvLength, 4000));
+        cvSkills = "CvSkills[technicalSkills=[Java, Spring Boot, AWS, Kafka, PostgreSQL], professionalSkills=[Agile], "
+                + "softSkills=[Mentoring], qualifications=[BSc Computer Science]]";
+        jobRequirements = "JobRequirements[criticalRequirements=[Java, Spring Boot], importantRequirements=[AWS], "
+                + "niceToHaveRequirements=[Kubernetes]]";
+        fitExplanation = "You scored 62%, indicating a moderate fit. ".repeat(8);
+    }
+
+    @Benchmark
+    public String legacyLoadAndReplace() {
+        return legacyReplace(promptLoader.loadPrompt(PROMPT));
+    }
+
+    @Benchmark
+    public String legacyReplaceOnly() {
+        return legacyReplace(legacyTemplate);
+    }
+
+    @Benchmark
+    public String compiledRender() {
+        return promptLoader.template(PROMPT).render(Map.of(
+                "fitScore", 62,
+                "fitExplanation", fitExplanation,
+                "cvSkills", cvSkills,
+                "jobRequirements", jobRequirements,
+                "cvText", cvText,
+                "jobDescription", jobDescription));
+    }
+
+    private String legacyReplace(String template) {
+        return template
+                .replace("- FIT SCORE (0-100): %s", "- FIT SCORE (0-100): " + 62)
+                .replace("- FIT EXPLANATION: %s", "- FIT EXPLANATION: " + fitExplanation)
+                .replace("- EXTRACTED CV SKILLS: %s", "- EXTRACTED CV SKILLS: " + cvSkills)
+                .replace("- JOB REQUIREMENTS: %s", "- JOB REQUIREMENTS: " + jobRequirements)
+                .replace("- CV TEXT: %s", "- CV TEXT: " + cvText)
+                .replace("- JOB DESCRIPTION: %s", "- JOB DESCRIPTION: " + jobDescription);
+    }
+}
@@ -0,0 +1,98 @@
+package com.milton.agent.service;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Heap cost of {@code PDDocument.load} for the {@link SyntheticPdfCorpus} documents, reported as
+ * two secondary results per operation:
+ * <ul>
+ *     <li>{@code peakHeapBytes}: highest heap use while loading and walking every page, above the
+ *     post-GC baseline. Summed per-pool peaks, so an upper bound.</li>
+ *     <li>{@code retainedHeapBytes}: heap still held by the open document after a full GC.</li>
+ * </ul>
+ * Each operation forces two GCs, so the primary time score is not a load timing; use
+ * {@link TextExtractionBenchmark} for that. Single-threaded by design.
+ * <p>
+ * Run with {@code mvn -Pjmh test-compile exec:exec -Djmh.args="PdfLoadMemory"}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-XX:+UseSerialGC")
+@State(Scope.Benchmark)
+public class PdfLoadMemoryBenchmark {
+
+    @Param({"1", "5", "20", "100"})
+    private int pages;
+
+    @Param({"STANDARD_FONT", "MIXED_FONTS", "EMBEDDED_FONT", "IMAGE_HEAVY"})
+    private SyntheticPdfCorpus.Shape shape;
+
+    private byte[] pdf;
+    private List<MemoryPoolMXBean> heapPools;
+
+    /**
+     * Last measured values; EVENTS counters are reported as-is rather than divided by time.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class HeapUse {
+        public long peakHeapBytes;
+        public long retainedHeapBytes;
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        pdf = SyntheticPdfCorpus.generate(pages, shape);
+        heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .toList();
+    }
+
+    @Benchmark
+    public int load(HeapUse heapUse) throws IOException {
+        System.gc();
+        long baseline = usedHeap();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+
+        try (PDDocument document = PDDocument.load(pdf)) {
+            // Resolve every page so lazily parsed page objects are counted
+            int resolved = 0;
+            for (PDPage page : document.getPages()) {
+                page.getResources();
+                resolved++;
+            }
+            long peak = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+
+            System.gc();
+            heapUse.retainedHeapBytes = usedHeap() - baseline;
+            heapUse.peakHeapBytes = Math.max(0, peak - baseline);
+            return resolved;
+        }
+    }
+
+    private long usedHeap() {
+        return heapPools.stream().mapToLong(pool -> pool.getUsage().getUsed()).sum();
+    }
+}
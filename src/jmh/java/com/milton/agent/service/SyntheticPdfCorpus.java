@@ -0,0 +1,139 @@
+package com.milton.agent.service;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType0Font;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.graphics.image.JPEGFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic CV-like PDFs for the text extraction benchmarks. Every page carries about 45 lines
+ * of CV text; the {@link Shape} decides the fonts and whether each page also embeds a photo-sized
+ * JPEG, as scanned or designer CVs do.
+ */
+final class SyntheticPdfCorpus {
+
+    enum Shape {
+        // Helvetica only: a standard-14 font, nothing embedded
+        STANDARD_FONT,
+        // Headings, body and contact lines in five standard-14 fonts, as in template-built CVs
+        MIXED_FONTS,
+        // Liberation Sans embedded as a Type 0 subset, as exported by word processors
+        EMBEDDED_FONT,
+        // Half a page of text plus a distinct 800x600 JPEG per page
+        IMAGE_HEAVY
+    }
+
+    // Bundled with PDFBox as its fallback font
+    private static final String EMBEDDED_FONT_RESOURCE = "/org/apache/pdfbox/resources/ttf/LiberationSans-Regular.ttf";
+
+    private static final List<PDType1Font> MIXED = List.of(PDType1Font.HELVETICA_BOLD, PDType1Font.TIMES_ROMAN,
+            PDType1Font.TIMES_ITALIC, PDType1Font.HELVETICA, PDType1Font.COURIER);
+
+    private static final List<String> WORDS = List.of(
+            "Java", "Spring", "Boot", "microservices", "AWS", "Kafka", "PostgreSQL", "delivered", "led",
+            "migration", "platform", "latency", "reduced", "customers", "engineers", "mentored", "stakeholders",
+            "designed", "observability", "Kubernetes", "pipeline", "automated", "payments", "ledger", "team",
+            "the", "and", "with", "for", "across", "by", "to", "of", "a", "in");
+
+    private static final float FONT_SIZE = 11f;
+    private static final float LEADING = 1.4f * FONT_SIZE;
+    private static final float MARGIN = 50f;
+    private static final int WORDS_PER_LINE = 13;
+
+    private SyntheticPdfCorpus() {
+    }
+
+    static byte[] generate(int pages, Shape shape) throws IOException {
+        Random random = new Random(31L * pages + shape.ordinal());
+        try (PDDocument document = new PDDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            PDFont embedded = shape == Shape.EMBEDDED_FONT ? loadEmbeddedFont(document) : null;
+            for (int p = 0; p < pages; p++) {
+                PDPage page = new PDPage(PDRectangle.LETTER);
+                document.addPage(page);
+                float top = page.getMediaBox().getHeight() - MARGIN;
+                float bottom = MARGIN;
+                try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                    if (shape == Shape.IMAGE_HEAVY) {
+                        PDImageXObject photo = JPEGFactory.createFromImage(document, photo(random), 0.8f);
+                        float height = (page.getMediaBox().getHeight() - 2 * MARGIN) / 2;
+                        content.drawImage(photo, MARGIN, MARGIN, height * 4 / 3, height);
+                        bottom = MARGIN + height + LEADING;
+                    }
+                    writeLines(content, shape, embedded, random, top, bottom);
+                }
+            }
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+
+    private static void writeLines(PDPageContentStream content, Shape shape, PDFont embedded, Random random,
+                                   float top, float bottom) throws IOException {
+        content.beginText();
+        content.newLineAtOffset(MARGIN, top);
+        int line = 0;
+        for (float y = top; y > bottom; y -= LEADING, line++) {
+            PDFont font = switch (shape) {
+                case MIXED_FONTS -> MIXED.get(line % MIXED.size());
+                case EMBEDDED_FONT -> embedded;
+                default -> PDType1Font.HELVETICA;
+            };
+            content.setFont(font, FONT_SIZE);
+            content.showText(line(random, line, shape == Shape.EMBEDDED_FONT));
+            content.newLineAtOffset(0, -LEADING);
+        }
+        content.endText();
+    }
+
+    private static String line(Random random, int index, boolean unicode) {
+        StringBuilder text = new StringBuilder(index % 9 == 0 ? "- " : "");
+        for (int w = 0; w < WORDS_PER_LINE; w++) {
+            if (w > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS.get(random.nextInt(WORDS.size())));
+        }
+        // Only the embedded Unicode font can show characters outside WinAnsi
+        if (unicode && index % 5 == 0) {
+            text.append(" \u2013 r\u00e9sum\u00e9 \u2022 M\u00fcnchen");
+        }
+        return text.toString();
+    }
+
+    // Smooth gradients with noise, so the JPEG size resembles a photo rather than a flat image
+    private static BufferedImage photo(Random random) {
+        BufferedImage image = new BufferedImage(800, 600, BufferedImage.TYPE_INT_RGB);
+        int base = random.nextInt(0xFFFFFF);
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                int noise = random.nextInt(32);
+                int r = ((base >> 16) + x / 4 + noise) & 0xFF;
+                int g = ((base >> 8) + y / 3 + noise) & 0xFF;
+                int b = (base + (x + y) / 6 + noise) & 0xFF;
+                image.setRGB(x, y, (r << 16) | (g << 8) | b);
+            }
+        }
+        return image;
+    }
+
+    private static PDFont loadEmbeddedFont(PDDocument document) throws IOException {
+        try (InputStream font = PDDocument.class.getResourceAsStream(EMBEDDED_FONT_RESOURCE)) {
+            if (font == null) {
+                throw new IllegalStateException("PDFBox font resource not found: " + EMBEDDED_FONT_RESOURCE);
+            }
+            return PDType0Font.load(document, font);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.milton.agent.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.milton.agent.metrics.JobFitMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link PDFTextExtratorImpl#extractText} across page counts and document shapes
+ * (see {@link SyntheticPdfCorpus}): parsing alone, the production path with CV compaction, and
+ * plain text stripping without it. Add {@code -prof gc} for the allocation rate per operation;
+ * heap held by a loaded document is measured by {@link PdfLoadMemoryBenchmark}.
+ * <p>
+ * Run with {@code mvn -Pjmh test-compile exec:exec -Djmh.args="TextExtraction -prof gc"}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TextExtractionBenchmark {
+
+    @Param({"1", "5", "20", "100"})
+    private int pages;
+
+    @Param({"STANDARD_FONT", "MIXED_FONTS", "EMBEDDED_FONT", "IMAGE_HEAVY"})
+    private SyntheticPdfCorpus.Shape shape;
+
+    private byte[] pdf;
+    private MockMultipartFile upload;
+    private PDFTextExtratorImpl compactingExtractor;
+    private PDFTextExtratorImpl plainExtractor;
+
+    @Setup
+    public void setUp() throws IOException {
+        pdf = SyntheticPdfCorpus.generate(pages, shape);
+        upload = new MockMultipartFile("candidateFile", "cv.pdf", "application/pdf", pdf);
+        JobFitMetrics metrics = new JobFitMetrics(ObservationRegistry.NOOP, new SimpleMeterRegistry(), new ObjectMapper());
+        compactingExtractor = new PDFTextExtratorImpl(new CvTextCompactor(true), metrics);
+        plainExtractor = new PDFTextExtratorImpl(new CvTextCompactor(false), metrics);
+    }
+
+    @Benchmark
+    public int load() throws IOException {
+        try (PDDocument document = PDDocument.load(pdf)) {
+            return document.getNumberOfPages();
+        }
+    }
+
+    @Benchmark
+    public String extractText() throws IOException {
+        return compactingExtractor.extractText(upload);
+    }
+
+    @Benchmark
+    public String extractTextWithoutCompaction() throws IOException {
+        return plainExtractor.extractText(upload);
+    }
+}
@@ -0,0 +1,132 @@
+package com.milton.agent.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Per-endpoint latencies and failures of the measured window. Requests that started during ramp-up
+ * are ignored so the numbers describe steady load. Latencies are kept exactly (a run records at
+ * most a few hundred thousand requests) and percentiles use the nearest-rank method.
+ */
+final class LatencyRecorder {
+
+    private final Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+    private final long measureFromNanos;
+
+    LatencyRecorder(List<String> endpointNames, long measureFromNanos) {
+        for (String name : endpointNames) {
+            endpoints.put(name, new Endpoint());
+        }
+        this.measureFromNanos = measureFromNanos;
+    }
+
+    /**
+     * Records one request; {@code failure} is null for a success, otherwise a short cause such as
+     * {@code HTTP 500} or {@code timeout}.
+     */
+    void record(String endpoint, long startNanos, long endNanos, String failure) {
+        if (startNanos < measureFromNanos) {
+            return;
+        }
+        endpoints.get(endpoint).add(endNanos - startNanos, failure);
+    }
+
+    String report(Duration window) {
+        StringBuilder out = new StringBuilder(String.format(Locale.ROOT, "%-22s %8s %8s %8s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "errors", "err %", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        for (Row row : rows(window)) {
+            out.append(String.format(Locale.ROOT, "%-22s %8d %8.2f %8d %8.2f%% %9.1f %9.1f %9.1f %9.1f%n",
+                    row.endpoint, row.requests, row.throughput, row.errors, row.errorRate * 100,
+                    row.p50, row.p95, row.p99, row.max));
+        }
+        endpoints.forEach((name, endpoint) -> {
+            Map<String, Integer> failures = endpoint.failures();
+            if (!failures.isEmpty()) {
+                out.append(String.format(Locale.ROOT, "  %s failures: %s%n", name, failures));
+            }
+        });
+        return out.toString();
+    }
+
+    void writeCsv(Path file, Duration window) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("endpoint,requests,throughput_per_s,errors,error_rate,p50_ms,p95_ms,p99_ms,max_ms");
+        for (Row row : rows(window)) {
+            lines.add(String.format(Locale.ROOT, "%s,%d,%.3f,%d,%.5f,%.1f,%.1f,%.1f,%.1f", row.endpoint, row.requests,
+                    row.throughput, row.errors, row.errorRate, row.p50, row.p95, row.p99, row.max));
+        }
+        Files.write(file, lines);
+    }
+
+    private List<Row> rows(Duration window) {
+        double seconds = Math.max(window.toMillis(), 1) / 1000.0;
+        List<Row> rows = new ArrayList<>();
+        Endpoint total = new Endpoint();
+        endpoints.forEach((name, endpoint) -> {
+            rows.add(endpoint.row(name, seconds));
+            total.addAll(endpoint);
+        });
+        rows.add(total.row("TOTAL", seconds));
+        return rows;
+    }
+
+    private static final class Endpoint {
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+        private final Map<String, Integer> failures = new TreeMap<>();
+
+        synchronized void add(long latencyNanos, String failure) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            if (failure != null) {
+                errors++;
+                failures.merge(failure, 1, Integer::sum);
+            }
+        }
+
+        synchronized void addAll(Endpoint other) {
+            synchronized (other) {
+                for (int i = 0; i < other.count; i++) {
+                    add(other.latencies[i], null);
+                }
+                errors += other.errors;
+            }
+        }
+
+        synchronized Map<String, Integer> failures() {
+            return new TreeMap<>(failures);
+        }
+
+        synchronized Row row(String name, double seconds) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return new Row(name, count, count / seconds, errors, count == 0 ? 0 : (double) errors / count,
+                    percentile(sorted, 50), percentile(sorted, 95), percentile(sorted, 99),
+                    count == 0 ? 0 : sorted[count - 1] / 1e6);
+        }
+
+        private static double percentile(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+            return sorted[Math.max(0, rank - 1)] / 1e6;
+        }
+    }
+
+    private record Row(String endpoint, int requests, double throughput, int errors, double errorRate,
+                       double p50, double p95, double p99, double max) {
+    }
+}
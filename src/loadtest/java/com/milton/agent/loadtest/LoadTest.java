@@ -0,0 +1,235 @@
+package com.milton.agent.loadtest;
+
+import com.milton.agent.loadtest.LoadTestOptions.Step;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end HTTP load test of the analysis flow against a running instance, e.g. started with
+ * {@code SPRING_PROFILES_ACTIVE=dev} (mock agent) or {@code prod,llm-stub} (real agent, stubbed LLM).
+ * <p>
+ * Each virtual user (one virtual thread) repeatedly plays a visitor: a fresh session uploads a CV to
+ * {@code /generate}, then opens the configured follow-up pages with exponentially distributed think
+ * time in between. A fresh session per visit keeps the per-session daily scan limit out of the way.
+ * Users start evenly over the ramp-up; only requests started after it are measured. A failed step
+ * ends the visit, since later pages depend on it.
+ * <p>
+ * Run with {@code mvn -Ploadtest test-compile exec:exec -Dloadtest.args="--users 50 --duration 2m"}.
+ */
+public final class LoadTest {
+
+    // index.html renders analysis errors (timeouts, rate limit, bad input) in this element with status 200
+    private static final String ERROR_ALERT = "alert alert-danger";
+
+    private final LoadTestOptions options;
+    private final HttpClient client;
+    private final LatencyRecorder recorder;
+    private final byte[] cvPdf;
+    private final String jobDescription;
+    private final long stopAtNanos;
+
+    private LoadTest(LoadTestOptions options, byte[] cvPdf, String jobDescription, long measureFromNanos,
+                     long stopAtNanos) {
+        this.options = options;
+        this.cvPdf = cvPdf;
+        this.jobDescription = jobDescription;
+        this.stopAtNanos = stopAtNanos;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        this.recorder = new LatencyRecorder(options.flow().stream().map(step -> step.path).toList(), measureFromNanos);
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options;
+        try {
+            options = LoadTestOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+
+        byte[] cvPdf = options.cv() != null ? Files.readAllBytes(options.cv()) : SampleDocuments.cvPdf();
+        String jobDescription = options.jobDescription() != null
+                ? Files.readString(options.jobDescription())
+                : SampleDocuments.JOB_DESCRIPTION;
+
+        long startNanos = System.nanoTime();
+        long measureFromNanos = startNanos + options.rampUp().toNanos();
+        long stopAtNanos = measureFromNanos + options.duration().toNanos();
+        LoadTest loadTest = new LoadTest(options, cvPdf, jobDescription, measureFromNanos, stopAtNanos);
+
+        System.out.printf("Load test against %s: %d users, ramp-up %s, measured %s, think time %s, flow %s%n",
+                options.baseUrl(), options.users(), options.rampUp(), options.duration(), options.thinkTime(),
+                options.flow());
+        try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int user = 0; user < options.users(); user++) {
+                long startAt = startNanos + options.rampUp().toNanos() * user / options.users();
+                users.submit(() -> {
+                    sleepUntil(startAt);
+                    loadTest.runUser();
+                    return null;
+                });
+            }
+        }
+
+        System.out.println();
+        System.out.print(loadTest.recorder.report(options.duration()));
+        if (options.report() != null) {
+            loadTest.recorder.writeCsv(options.report(), options.duration());
+            System.out.println("Report written to " + options.report().toAbsolutePath());
+        }
+    }
+
+    private void runUser() {
+        while (System.nanoTime() < stopAtNanos && !Thread.currentThread().isInterrupted()) {
+            runVisit();
+        }
+    }
+
+    private void runVisit() {
+        String sessionCookie = null;
+        for (Step step : options.flow()) {
+            if (step != Step.GENERATE) {
+                think();
+            }
+            if (System.nanoTime() >= stopAtNanos) {
+                return;
+            }
+
+            long start = System.nanoTime();
+            String failure;
+            try {
+                HttpResponse<String> response = client.send(request(step, sessionCookie),
+                        HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+                failure = failureOf(step, response);
+                if (sessionCookie == null) {
+                    sessionCookie = sessionCookie(response);
+                }
+            } catch (HttpTimeoutException e) {
+                failure = "timeout";
+            } catch (IOException e) {
+                failure = e.getClass().getSimpleName();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            recorder.record(step.path, start, System.nanoTime(), failure);
+
+            if (failure != null || sessionCookie == null) {
+                return;
+            }
+        }
+    }
+
+    private HttpRequest request(Step step, String sessionCookie) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(options.baseUrl() + step.path))
+                .timeout(options.timeout());
+        if (sessionCookie != null) {
+            builder.header("Cookie", sessionCookie);
+        }
+        if (step != Step.GENERATE) {
+            return builder.GET().build();
+        }
+
+        String boundary = "----jobfit-load-" + UUID.randomUUID();
+        return builder
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(multipart(boundary, Map.of(
+                        "role", "Senior Java Engineer",
+                        "company", "Acme Payments",
+                        "jobDescription", jobDescription,
+                        "analysisMode", options.analysisMode()))))
+                .build();
+    }
+
+    private byte[] multipart(String boundary, Map<String, String> fields) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(cvPdf.length + jobDescription.length() + 1024);
+        fields.forEach((name, value) -> write(body, "--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"" + name + "\"\r\n\r\n" + value + "\r\n"));
+        write(body, "--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"candidateFile\"; filename=\"load-test-cv.pdf\"\r\n"
+                + "Content-Type: application/pdf\r\n\r\n");
+        body.writeBytes(cvPdf);
+        write(body, "\r\n--" + boundary + "--\r\n");
+        return body.toByteArray();
+    }
+
+    private static void write(ByteArrayOutputStream body, String text) {
+        body.writeBytes(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Null when the step did what a visitor expects. Pages that fail redirect to {@code /} with a
+     * flash message, and {@code /generate} shows its errors inline with status 200.
+     */
+    private static String failureOf(Step step, HttpResponse<String> response) {
+        int status = response.statusCode();
+        if (status >= 300 && status < 400) {
+            return "redirect";
+        }
+        if (status != 200) {
+            return "HTTP " + status;
+        }
+        if (step == Step.GENERATE && response.body().contains(ERROR_ALERT)) {
+            return "analysis error";
+        }
+        if (step == Step.UPGRADE_CV_DOWNLOAD
+                && !response.headers().firstValue("Content-Type").orElse("").startsWith("application/pdf")) {
+            return "not a PDF";
+        }
+        return null;
+    }
+
+    private static String sessionCookie(HttpResponse<?> response) {
+        List<String> cookies = response.headers().allValues("Set-Cookie");
+        for (String cookie : cookies) {
+            if (cookie.startsWith("JSESSIONID=")) {
+                int end = cookie.indexOf(';');
+                return end < 0 ? cookie : cookie.substring(0, end);
+            }
+        }
+        return null;
+    }
+
+    private void think() {
+        long meanNanos = options.thinkTime().toNanos();
+        if (meanNanos <= 0) {
+            return;
+        }
+        // Exponential pauses: most clicks come quickly, a few visitors read for a long time
+        double pause = -Math.log(1 - ThreadLocalRandom.current().nextDouble()) * meanNanos;
+        sleepUntil(Math.min(System.nanoTime() + (long) pause, stopAtNanos));
+    }
+
+    private static void sleepUntil(long nanoTime) {
+        long remaining = nanoTime - System.nanoTime();
+        if (remaining <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(remaining);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.milton.agent.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Command-line options of {@link LoadTest}, given as {@code --name value} pairs. Durations use the
+ * same format as the application properties ({@code 500ms}, {@code 30s}, {@code 2m}).
+ */
+record LoadTestOptions(
+        URI baseUrl,
+        int users,
+        Duration rampUp,
+        Duration duration,
+        Duration thinkTime,
+        Duration timeout,
+        String analysisMode,
+        List<Step> flow,
+        Path cv,
+        Path jobDescription,
+        Path report
+) {
+
+    /**
+     * One request of a user's session, in the order a visitor clicks through the result page.
+     */
+    enum Step {
+        GENERATE("/generate"),
+        SUGGESTIONS("/suggestions.html"),
+        IMPROVE_SCORE("/improve-score"),
+        GET_READY("/get-ready"),
+        UPGRADE_CV("/upgrade-cv"),
+        UPGRADE_CV_DOWNLOAD("/upgrade-cv/download");
+
+        final String path;
+
+        Step(String path) {
+            this.path = path;
+        }
+
+        static Step parse(String name) {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        }
+    }
+
+    static final String USAGE = """
+            Options (all optional):
+              --base-url         http://localhost:8080
+              --users            concurrent virtual users (10)
+              --ramp-up          time to start all users (10s)
+              --duration         measured run time after ramp-up (60s)
+              --think-time       mean pause between a user's requests, exponentially distributed (1s; 0 disables)
+              --timeout          per-request timeout (120s)
+              --mode             quick | thoughtful (quick)
+              --flow             steps per session (generate,suggestions,improve-score,get-ready,upgrade-cv,upgrade-cv-download)
+              --cv               CV PDF to upload (a generated two-page CV)
+              --job-description  text file with the job description (a built-in posting)
+              --report           also write the per-endpoint report as CSV to this file
+            """;
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Expected --name value, got: " + args[i] + "\n" + USAGE);
+            }
+            values.put(args[i].substring(2), args[++i]);
+        }
+
+        List<Step> flow = new ArrayList<>();
+        for (String step : values.getOrDefault("flow",
+                "generate,suggestions,improve-score,get-ready,upgrade-cv,upgrade-cv-download").split(",")) {
+            flow.add(Step.parse(step));
+        }
+        if (flow.isEmpty() || flow.get(0) != Step.GENERATE) {
+            throw new IllegalArgumentException("--flow must start with generate, got " + flow);
+        }
+
+        LoadTestOptions options = new LoadTestOptions(
+                URI.create(stripTrailingSlash(values.getOrDefault("base-url", "http://localhost:8080"))),
+                Integer.parseInt(values.getOrDefault("users", "10")),
+                duration(values, "ramp-up", "10s"),
+                duration(values, "duration", "60s"),
+                duration(values, "think-time", "1s"),
+                duration(values, "timeout", "120s"),
+                values.getOrDefault("mode", "quick"),
+                List.copyOf(flow),
+                path(values, "cv"),
+                path(values, "job-description"),
+                path(values, "report"));
+        if (options.users() < 1) {
+            throw new IllegalArgumentException("--users must be at least 1");
+        }
+        values.keySet().removeAll(Arrays.asList("base-url", "users", "ramp-up", "duration", "think-time", "timeout",
+                "mode", "flow", "cv", "job-description", "report"));
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options " + values.keySet() + "\n" + USAGE);
+        }
+        return options;
+    }
+
+    private static Duration duration(Map<String, String> values, String name, String defaultValue) {
+        return DurationStyle.detectAndParse(values.getOrDefault(name, defaultValue));
+    }
+
+    private static Path path(Map<String, String> values, String name) {
+        String value = values.get(name);
+        return value == null ? null : Path.of(value);
+    }
+
+    private static String stripTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+}
@@ -0,0 +1,85 @@
+package com.milton.agent.loadtest;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * Default upload and job description for {@link LoadTest}: a two-page CV PDF of realistic length
+ * and a posting of typical size, so request bodies and prompt sizes resemble real traffic.
+ */
+final class SampleDocuments {
+
+    static final String JOB_DESCRIPTION = """
+            Senior Java Engineer - Payments Platform
+
+            We are looking for a Senior Java Engineer to join the team that builds our card payments platform.
+
+            Responsibilities
+            - Design, build and operate Spring Boot microservices on AWS.
+            - Own the reliability of services that process millions of transactions a day.
+            - Work with product and risk teams to deliver regulated features.
+            - Mentor engineers and lead technical design reviews.
+
+            Requirements
+            - 5+ years of professional experience with Java 17 or later.
+            - Strong experience with Spring Boot, REST APIs and PostgreSQL.
+            - Experience with event streaming (Kafka) and distributed systems.
+            - Hands-on experience with AWS, Docker and Kubernetes.
+            - Experience with observability tooling and on-call operations.
+
+            Nice to have
+            - Experience in payments or financial services.
+            - Terraform and CI/CD pipeline ownership.
+            """;
+
+    private static final String[] CV_SECTION = {
+            "PROFESSIONAL EXPERIENCE",
+            "Senior Software Engineer, Acme Payments (2019 - present)",
+            "- Led the migration of a monolithic settlement engine to Spring Boot microservices on AWS.",
+            "- Introduced Kafka-based event sourcing for ledger updates; mentored five engineers.",
+            "- Reduced p99 API latency by 38% through PostgreSQL query tuning and Redis caching.",
+            "- Built CI/CD pipelines with GitHub Actions and Terraform for 40 services.",
+            "",
+            "Software Engineer, Northwind Retail (2015 - 2019)",
+            "- Developed order management REST APIs in Java 8 and Spring, serving 3M requests a day.",
+            "- Containerised legacy services with Docker and moved them to Kubernetes.",
+            "- Ran blameless post-incident reviews and improved alerting with Prometheus and Grafana.",
+            "",
+    };
+
+    private SampleDocuments() {
+    }
+
+    static byte[] cvPdf() throws IOException {
+        try (PDDocument document = new PDDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            for (int page = 0; page < 2; page++) {
+                PDPage pdfPage = new PDPage(PDRectangle.LETTER);
+                document.addPage(pdfPage);
+                try (PDPageContentStream content = new PDPageContentStream(document, pdfPage)) {
+                    content.beginText();
+                    content.setFont(PDType1Font.HELVETICA, 10);
+                    content.newLineAtOffset(50, 740);
+                    if (page == 0) {
+                        content.showText("Jordan Example - Senior Software Engineer - London");
+                        content.newLineAtOffset(0, -28);
+                    }
+                    for (int repeat = 0; repeat < 3; repeat++) {
+                        for (String line : CV_SECTION) {
+                            content.showText(line);
+                            content.newLineAtOffset(0, -14);
+                        }
+                    }
+                    content.endText();
+                }
+            }
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+}
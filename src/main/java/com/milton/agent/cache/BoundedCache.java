@@ -0,0 +1,37 @@
+package com.milton.agent.cache;
+
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory cache bounded by entry count and time-to-live.
+ * Implementations are thread-safe and record hit, miss and eviction counters.
+ */
+public interface BoundedCache<K, V> {
+
+    /**
+     * Returns the cached value, or null when absent or expired.
+     */
+    V get(K key);
+
+    void put(K key, V value);
+
+    void invalidate(K key);
+
+    String name();
+
+    CacheStats stats();
+
+    static <K, V> BoundedCache<K, V> create(String name, CacheSettings settings) {
+        return create(name, settings, System::nanoTime);
+    }
+
+    /**
+     * Creates a cache with an explicit nanosecond time source, mainly for tests.
+     */
+    static <K, V> BoundedCache<K, V> create(String name, CacheSettings settings, LongSupplier nanoTicker) {
+        return switch (settings.policy()) {
+            case LRU -> new LruBoundedCache<>(name, settings, nanoTicker);
+            case W_TINY_LFU -> new TinyLfuBoundedCache<>(name, settings, nanoTicker);
+        };
+    }
+}
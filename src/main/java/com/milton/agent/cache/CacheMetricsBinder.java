@@ -0,0 +1,71 @@
+package com.milton.agent.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Publishes hit, miss, eviction, size and hit-ratio meters for every {@link BoundedCache} bean,
+ * tagged by cache name (visible under /actuator/metrics/jobfit.cache.*), plus execution
+ * and coalescing counters for every {@link SingleFlight} bean (jobfit.singleflight.*).
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheMetricsBinder implements MeterBinder {
+
+    private final List<BoundedCache<?, ?>> caches;
+    private final List<SingleFlight<?, ?>> singleFlights;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (BoundedCache<?, ?> cache : caches) {
+            Tags tags = Tags.of("cache", cache.name());
+            FunctionCounter.builder("jobfit.cache.hits", cache, c -> c.stats().hits())
+                    .tags(tags)
+                    .description("Lookups served from the cache")
+                    .register(registry);
+            FunctionCounter.builder("jobfit.cache.misses", cache, c -> c.stats().misses())
+                    .tags(tags)
+                    .description("Lookups that found no live entry")
+                    .register(registry);
+            FunctionCounter.builder("jobfit.cache.evictions", cache, c -> c.stats().evictions())
+                    .tags(tags)
+                    .description("Entries removed because of size or TTL bounds")
+                    .register(registry);
+            Gauge.builder("jobfit.cache.size", cache, c -> c.stats().size())
+                    .tags(tags)
+                    .description("Entries currently held")
+                    .register(registry);
+            Gauge.builder("jobfit.cache.hit-ratio", cache, c -> c.stats().hitRatio())
+                    .tags(tags)
+                    .description("Share of lookups served from the cache since startup")
+                    .register(registry);
+        }
+
+        for (SingleFlight<?, ?> singleFlight : singleFlights) {
+            Tags tags = Tags.of("name", singleFlight.name());
+            FunctionCounter.builder("jobfit.singleflight.executions", singleFlight, SingleFlight::executions)
+                    .tags(tags)
+                    .description("Loads actually executed")
+                    .register(registry);
+            FunctionCounter.builder("jobfit.singleflight.coalesced", singleFlight, SingleFlight::coalesced)
+                    .tags(tags)
+                    .description("Calls that joined an in-flight load instead of starting their own")
+                    .register(registry);
+            FunctionCounter.builder("jobfit.singleflight.takeovers", singleFlight, SingleFlight::takeovers)
+                    .tags(tags)
+                    .description("Waiting calls that reran a load after the caller running it gave up")
+                    .register(registry);
+            Gauge.builder("jobfit.singleflight.in-flight", singleFlight, SingleFlight::inFlight)
+                    .tags(tags)
+                    .description("Loads currently running")
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.milton.agent.cache;
+
+import java.time.Duration;
+
+/**
+ * Size and time bounds for a {@link BoundedCache}.
+ *
+ * @param policy  eviction strategy applied when the cache is full
+ * @param maxSize maximum number of entries kept in memory
+ * @param ttl     time after write before an entry expires
+ */
+public record CacheSettings(EvictionPolicy policy, long maxSize, Duration ttl) {
+
+    public CacheSettings {
+        if (policy == null) {
+            throw new IllegalArgumentException("Eviction policy cannot be null");
+        }
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache max size must be positive, got " + maxSize);
+        }
+        if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Cache TTL must be positive, got " + ttl);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.milton.agent.cache;
+
+/**
+ * Point-in-time counters for a {@link BoundedCache}.
+ */
+public record CacheStats(String name, long hits, long misses, long evictions, long size) {
+
+    public double hitRatio() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+}
@@ -0,0 +1,17 @@
+package com.milton.agent.cache;
+
+/**
+ * Eviction strategy used by a {@link BoundedCache} once it reaches its maximum size.
+ */
+public enum EvictionPolicy {
+
+    /**
+     * Evicts the least recently used entry.
+     */
+    LRU,
+
+    /**
+     * Window TinyLFU (Caffeine): admits new entries by estimated frequency, resistant to one-off scans.
+     */
+    W_TINY_LFU
+}
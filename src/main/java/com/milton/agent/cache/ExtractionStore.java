@@ -0,0 +1,453 @@
+package com.milton.agent.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.milton.agent.models.CvSkills;
+import com.milton.agent.models.JobRequirements;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Disk-backed, content-addressed store for extracted {@link CvSkills} and {@link JobRequirements}
+ * that survives restarts, so a redeploy does not trigger a wave of repeat LLM extractions.
+ * <p>
+ * Entries are appended as JSON lines to a single file. On startup the file is scanned once to
+ * rebuild an in-memory offset index and a Bloom filter; lookups for keys never stored are
+ * answered by the Bloom filter without touching the index or the disk.
+ * <p>
+ * Entries older than {@code max-age} are no longer returned, and at most {@code max-entries} are
+ * kept. Compaction rewrites the file without expired, superseded or unreadable lines: at startup,
+ * every {@code compaction-interval}, and when a save would go over the entry limit (the oldest
+ * entries are dropped first). The file is read and written with the caller's interrupt status held
+ * back, and reopened if an interrupt closes it anyway. Off unless {@code jobfit.extraction-store.enabled} is set, which
+ * application-prod.properties does.
+ */
+@Slf4j
+@Component
+@Lazy(false)
+public class ExtractionStore {
+
+    public enum Kind {
+        CV_SKILLS,
+        JOB_REQUIREMENTS
+    }
+
+    private final ObjectMapper objectMapper;
+    // One record per line, whatever indentation the shared ObjectMapper is configured with
+    private final ObjectWriter lineWriter;
+    private final boolean enabled;
+    private final Path path;
+    private final long expectedEntries;
+    private final double falsePositiveRate;
+    private final int maxEntries;
+    private final Duration maxAge;
+    private final LongSupplier clock;
+
+    // Replaced as a whole by compaction, so a lookup always reads offsets from the file they belong to,
+    // and by reopen when an interrupt closes its channel
+    private volatile Segment segment;
+    // Lines in the store file that the index no longer points to
+    private int deadLines;
+    private boolean closed;
+
+    private final LongAdder diskReads = new LongAdder();
+    private final LongAdder bloomRejections = new LongAdder();
+
+    @Autowired
+    public ExtractionStore(ObjectMapper objectMapper,
+                           @Value("${jobfit.extraction-store.enabled:false}") boolean enabled,
+                           @Value("${jobfit.extraction-store.path:data/extraction-store.jsonl}") String path,
+                           @Value("${jobfit.extraction-store.expected-entries:100000}") long expectedEntries,
+                           @Value("${jobfit.extraction-store.false-positive-rate:0.01}") double falsePositiveRate,
+                           @Value("${jobfit.extraction-store.max-entries:100000}") int maxEntries,
+                           @Value("${jobfit.extraction-store.max-age:30d}") Duration maxAge) {
+        this(objectMapper, enabled, path, expectedEntries, falsePositiveRate, maxEntries, maxAge,
+                System::currentTimeMillis);
+    }
+
+    ExtractionStore(ObjectMapper objectMapper, boolean enabled, String path, long expectedEntries,
+                    double falsePositiveRate, int maxEntries, Duration maxAge, LongSupplier clock) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("jobfit.extraction-store.max-entries must be positive");
+        }
+        this.objectMapper = objectMapper;
+        this.lineWriter = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+        this.enabled = enabled;
+        this.path = Path.of(path);
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.maxEntries = maxEntries;
+        this.maxAge = maxAge;
+        this.clock = clock;
+        this.segment = new Segment(null, new ConcurrentHashMap<>(), BloomFilter.create(expectedEntries, falsePositiveRate));
+    }
+
+    /**
+     * Warm-load: opens the store file and rebuilds the offset index and Bloom filter from it.
+     */
+    @PostConstruct
+    public void load() throws IOException {
+        if (!enabled) {
+            log.info("Extraction store disabled");
+            return;
+        }
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        long startTime = System.currentTimeMillis();
+        Map<String, Location> index = new ConcurrentHashMap<>();
+        BloomFilter bloomFilter = BloomFilter.create(expectedEntries, falsePositiveRate);
+        int skipped = 0;
+        int lines = 0;
+        long offset = 0;
+        long partialTail = 0;
+        if (Files.exists(path)) {
+            try (InputStream in = new BufferedInputStream(Files.newInputStream(path))) {
+                ByteArrayOutputStream line = new ByteArrayOutputStream(1024);
+                int b;
+                while ((b = in.read()) != -1) {
+                    if (b != '\n') {
+                        line.write(b);
+                        continue;
+                    }
+                    if (line.size() > 0) {
+                        lines++;
+                        if (!indexLine(line.toByteArray(), offset, index, bloomFilter)) {
+                            skipped++;
+                        }
+                    }
+                    offset += line.size() + 1L;
+                    line.reset();
+                }
+                partialTail = line.size();
+            }
+        }
+
+        FileChannel channel = openChannel(path);
+        if (partialTail > 0) {
+            // Drop a partial trailing record left by an interrupted write so the next append starts on a clean line
+            log.warn("Truncating {} bytes of partial trailing record in {}", partialTail, path);
+            channel.truncate(offset);
+            skipped++;
+        }
+        segment = new Segment(channel, index, bloomFilter);
+
+        log.info("Extraction store warm-loaded {} entries from {} in {}ms ({} unreadable lines skipped)",
+                index.size(), path, System.currentTimeMillis() - startTime, skipped);
+
+        synchronized (this) {
+            deadLines = lines - index.size();
+            compactIfNeeded();
+        }
+    }
+
+    /**
+     * Rewrites the store file without expired or superseded entries, if there are any.
+     */
+    @Scheduled(fixedDelayString = "${jobfit.extraction-store.compaction-interval:3600000}")
+    public synchronized void compactIfNeeded() {
+        if (!enabled || segment.channel() == null) {
+            return;
+        }
+        long expired = segment.index().values().stream().filter(this::isExpired).count();
+        if (expired > 0 || deadLines > 0 || segment.index().size() > maxEntries) {
+            compact(maxEntries);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        closed = true;
+        if (segment.channel() != null) {
+            segment.channel().close();
+        }
+    }
+
+    public Optional<CvSkills> findCvSkills(String key) {
+        return find(Kind.CV_SKILLS, key, CvSkills.class);
+    }
+
+    public Optional<JobRequirements> findJobRequirements(String key) {
+        return find(Kind.JOB_REQUIREMENTS, key, JobRequirements.class);
+    }
+
+    public void saveCvSkills(String key, CvSkills cvSkills) {
+        save(Kind.CV_SKILLS, key, cvSkills);
+    }
+
+    public void saveJobRequirements(String key, JobRequirements jobRequirements) {
+        save(Kind.JOB_REQUIREMENTS, key, jobRequirements);
+    }
+
+    public int size() {
+        return segment.index().size();
+    }
+
+    /**
+     * Number of positional reads from the store file (Bloom filter rejections never reach the disk).
+     */
+    public long diskReads() {
+        return diskReads.sum();
+    }
+
+    public long bloomRejections() {
+        return bloomRejections.sum();
+    }
+
+    private <T> Optional<T> find(Kind kind, String key, Class<T> type) {
+        if (!enabled || key == null) {
+            return Optional.empty();
+        }
+        String indexKey = indexKey(kind, key);
+        // The channel is shared and interruptible: reading with the interrupt flag set would close it for everyone
+        boolean interrupted = Thread.interrupted();
+        try {
+            while (true) {
+                Segment current = segment;
+                if (!current.bloomFilter().mightContain(indexKey)) {
+                    bloomRejections.increment();
+                    return Optional.empty();
+                }
+                Location location = current.index().get(indexKey);
+                if (location == null || isExpired(location)) {
+                    return Optional.empty();
+                }
+
+                try {
+                    byte[] line = read(current.channel(), location);
+                    diskReads.increment();
+                    StoredExtraction stored = objectMapper.readValue(line, StoredExtraction.class);
+                    return Optional.of(objectMapper.treeToValue(stored.value(), type));
+                } catch (ClosedChannelException e) {
+                    // Closed by compaction, or by an interrupt on whichever thread was using it
+                    interrupted |= Thread.interrupted();
+                    if (!reopen(current)) {
+                        return Optional.empty();
+                    }
+                } catch (IOException e) {
+                    log.warn("Failed to read {} entry {} from extraction store", kind, key, e);
+                    return Optional.empty();
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private synchronized void save(Kind kind, String key, Object value) {
+        if (!enabled || key == null || value == null) {
+            return;
+        }
+        String indexKey = indexKey(kind, key);
+        Location existing = segment.index().get(indexKey);
+        if (existing != null && !isExpired(existing)) {
+            return;
+        }
+        boolean interrupted = Thread.interrupted();
+        try {
+            if (existing == null && segment.index().size() >= maxEntries) {
+                // Make room for a tenth of the limit at once, so a full store is not rewritten on every save
+                compact(maxEntries - Math.max(1, maxEntries / 10));
+            }
+
+            long storedAt = clock.getAsLong();
+            StoredExtraction stored = new StoredExtraction(kind, key, storedAt, objectMapper.valueToTree(value));
+            byte[] json = lineWriter.writeValueAsString(stored).getBytes(StandardCharsets.UTF_8);
+            ByteBuffer buffer = ByteBuffer.allocate(json.length + 1).put(json).put((byte) '\n').flip();
+
+            long offset = -1;
+            while (true) {
+                Segment current = segment;
+                try {
+                    if (offset < 0) {
+                        offset = current.channel().size();
+                    }
+                    // A retry starts over at the same offset, overwriting whatever part of the line was written
+                    long position = offset;
+                    buffer.rewind();
+                    while (buffer.hasRemaining()) {
+                        position += current.channel().write(buffer, position);
+                    }
+
+                    if (current.index().put(indexKey, new Location(offset, json.length, storedAt)) != null) {
+                        deadLines++;
+                    }
+                    current.bloomFilter().put(indexKey);
+                    return;
+                } catch (ClosedChannelException e) {
+                    interrupted |= Thread.interrupted();
+                    if (!reopen(current)) {
+                        return;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // The store is an optimisation; a failed append only costs a future LLM call
+            log.warn("Failed to append {} entry {} to extraction store", kind, key, e);
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Replaces a segment whose channel was closed under it with one reading the same file. An
+     * interrupt during a read or write closes the channel for every thread, not just the one
+     * interrupted.
+     *
+     * @return whether the caller can retry against {@link #segment}
+     */
+    private synchronized boolean reopen(Segment failed) {
+        if (segment != failed) {
+            // Already replaced, by compaction or by another reader
+            return true;
+        }
+        if (closed) {
+            return false;
+        }
+        try {
+            segment = new Segment(openChannel(path), failed.index(), failed.bloomFilter());
+            log.warn("Reopened extraction store {} after its channel was closed", path);
+            return true;
+        } catch (IOException e) {
+            log.warn("Failed to reopen extraction store {}", path, e);
+            return false;
+        }
+    }
+
+    /**
+     * Copies the newest {@code keep} unexpired entries to a new file, which then replaces the store
+     * file. On failure the current file stays in use.
+     */
+    private synchronized void compact(int keep) {
+        Segment current = segment;
+        List<Map.Entry<String, Location>> live = current.index().entrySet().stream()
+                .filter(entry -> !isExpired(entry.getValue()))
+                .sorted(Comparator.comparingLong(entry -> entry.getValue().offset()))
+                .toList();
+        // Appends only, so file order is age order: drop from the front
+        live = live.subList(Math.max(0, live.size() - keep), live.size());
+
+        Path compacted = path.resolveSibling(path.getFileName() + ".compact");
+        Map<String, Location> index = new ConcurrentHashMap<>();
+        BloomFilter bloomFilter = BloomFilter.create(expectedEntries, falsePositiveRate);
+        try {
+            long oldSize = current.channel().size();
+            try (FileChannel out = FileChannel.open(compacted, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                long position = 0;
+                for (Map.Entry<String, Location> entry : live) {
+                    Location location = entry.getValue();
+                    ByteBuffer buffer = ByteBuffer.allocate(location.length() + 1)
+                            .put(read(current.channel(), location)).put((byte) '\n').flip();
+                    long offset = position;
+                    while (buffer.hasRemaining()) {
+                        position += out.write(buffer, position);
+                    }
+                    index.put(entry.getKey(), new Location(offset, location.length(), location.storedAt()));
+                    bloomFilter.put(entry.getKey());
+                }
+                out.force(true);
+            }
+            Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            segment = new Segment(openChannel(path), index, bloomFilter);
+            deadLines = 0;
+            current.channel().close();
+            log.info("Compacted extraction store {}: kept {} of {} entries, {} -> {} bytes",
+                    path, index.size(), current.index().size(), oldSize, segment.channel().size());
+        } catch (IOException e) {
+            log.warn("Failed to compact extraction store {}", path, e);
+            if (e instanceof ClosedChannelException) {
+                reopen(current);
+            }
+            try {
+                Files.deleteIfExists(compacted);
+            } catch (IOException ignored) {
+                // Overwritten by the next compaction
+            }
+        }
+    }
+
+    private boolean isExpired(Location location) {
+        return location.storedAt() < clock.getAsLong() - maxAge.toMillis();
+    }
+
+    private static byte[] read(FileChannel channel, Location location) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(location.length());
+        long position = location.offset();
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("Unexpected end of extraction store at offset " + position);
+            }
+        }
+        return buffer.array();
+    }
+
+    private static FileChannel openChannel(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    private boolean indexLine(byte[] line, long offset, Map<String, Location> index, BloomFilter bloomFilter) {
+        try {
+            StoredExtraction stored = objectMapper.readValue(line, StoredExtraction.class);
+            String indexKey = indexKey(stored.kind(), stored.key());
+            index.put(indexKey, new Location(offset, line.length, stored.storedAt()));
+            bloomFilter.put(indexKey);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.debug("Skipping unreadable extraction store line at offset {}", offset, e);
+            return false;
+        }
+    }
+
+    private static String indexKey(Kind kind, String key) {
+        return kind + ":" + key;
+    }
+
+    private record Location(long offset, int length, long storedAt) {
+    }
+
+    private record Segment(FileChannel channel, Map<String, Location> index, BloomFilter bloomFilter) {
+    }
+
+    /**
+     * {@code storedAt} is epoch milliseconds; lines written before it was recorded read as 0 and are expired.
+     */
+    record StoredExtraction(Kind kind, String key, long storedAt, JsonNode value) {
+    }
+}
@@ -0,0 +1,80 @@
+package com.milton.agent.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Least-recently-used cache backed by an access-ordered {@link LinkedHashMap}.
+ * Expired entries are dropped lazily on lookup.
+ */
+final class LruBoundedCache<K, V> implements BoundedCache<K, V> {
+
+    private final String name;
+    private final long maxSize;
+    private final long ttlNanos;
+    private final LongSupplier nanoTicker;
+    private final Map<K, Entry<V>> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    LruBoundedCache(String name, CacheSettings settings, LongSupplier nanoTicker) {
+        this.name = name;
+        this.maxSize = settings.maxSize();
+        this.ttlNanos = settings.ttl().toNanos();
+        this.nanoTicker = nanoTicker;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.expiresAt - nanoTicker.getAsLong() <= 0) {
+            entries.remove(key);
+            evictions.increment();
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value;
+    }
+
+    @Override
+    public synchronized void put(K key, V value) {
+        entries.put(key, new Entry<>(value, nanoTicker.getAsLong() + ttlNanos));
+    }
+
+    @Override
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public synchronized CacheStats stats() {
+        return new CacheStats(name, hits.sum(), misses.sum(), evictions.sum(), entries.size());
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+}
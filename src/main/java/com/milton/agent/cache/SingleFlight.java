@@ -0,0 +1,146 @@
+package com.milton.agent.cache;
+
+import com.milton.agent.exceptions.DeadlineExceededException;
+import com.milton.agent.util.Deadline;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Registry of in-flight loads keyed by content digest.
+ * The first caller for a key runs the loader; callers arriving while it is running
+ * join the pending future instead of starting a duplicate LLM call.
+ * <p>
+ * Each caller waits no longer than its own deadline. The loader runs on the first caller's
+ * thread under that caller's deadline, so if the first caller gives up (its deadline passed or
+ * its thread was interrupted) the callers still waiting are not failed with it: one of them
+ * takes over and runs its own loader.
+ */
+public class SingleFlight<K, V> {
+
+    private final String name;
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder takeovers = new LongAdder();
+
+    public SingleFlight(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Runs the loader for the key, or waits until {@code deadline} for the call already running
+     * for it. Failures of the running call are rethrown to every waiting caller, except failures
+     * specific to the caller that ran it (deadline exceeded or cancelled), after which a waiting
+     * caller runs the load again.
+     *
+     * @throws DeadlineExceededException if this caller's deadline passes, or its thread is
+     *                                   interrupted, while waiting for another caller's load
+     */
+    public V execute(K key, Deadline deadline, Supplier<V> loader) {
+        while (true) {
+            CompletableFuture<V> pending = new CompletableFuture<>();
+            CompletableFuture<V> running = inFlight.putIfAbsent(key, pending);
+            if (running == null) {
+                return load(key, pending, loader);
+            }
+
+            coalesced.increment();
+            try {
+                return await(running, deadline);
+            } catch (LoadAbandonedException e) {
+                // The caller running the load gave up; take over under this caller's deadline
+                takeovers.increment();
+            }
+        }
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Loads actually executed (one per distinct in-flight key, plus any takeovers).
+     */
+    public long executions() {
+        return executions.sum();
+    }
+
+    /**
+     * Calls that joined an already running load instead of executing their own.
+     */
+    public long coalesced() {
+        return coalesced.sum();
+    }
+
+    /**
+     * Times a waiting caller retried because the caller running the load gave up.
+     */
+    public long takeovers() {
+        return takeovers.sum();
+    }
+
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    private V load(K key, CompletableFuture<V> pending, Supplier<V> loader) {
+        executions.increment();
+        V value;
+        try {
+            value = loader.get();
+        } catch (RuntimeException | Error e) {
+            // Release the key before waking waiters, so a waiter taking over can claim it
+            inFlight.remove(key, pending);
+            pending.completeExceptionally(isCallerSpecific(e) ? new LoadAbandonedException(e) : e);
+            throw e;
+        }
+        inFlight.remove(key, pending);
+        pending.complete(value);
+        return value;
+    }
+
+    private V await(CompletableFuture<V> running, Deadline deadline) {
+        try {
+            return running.get(deadline.remaining().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new DeadlineExceededException(name + " load did not finish before the request deadline");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DeadlineExceededException("Wait for " + name + " load was cancelled", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Whether a load failed because of the caller running it rather than the load itself.
+     */
+    private static boolean isCallerSpecific(Throwable failure) {
+        return failure instanceof DeadlineExceededException
+                || failure instanceof CancellationException
+                || Thread.currentThread().isInterrupted();
+    }
+
+    /**
+     * Handed to waiting callers in place of a caller-specific failure. Never leaves this class.
+     */
+    private static final class LoadAbandonedException extends RuntimeException {
+
+        LoadAbandonedException(Throwable cause) {
+            super(null, cause, false, false);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.milton.agent.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.function.LongSupplier;
+
+/**
+ * W-TinyLFU cache backed by Caffeine.
+ * Maintenance runs on the calling thread so size and eviction counts stay deterministic.
+ */
+final class TinyLfuBoundedCache<K, V> implements BoundedCache<K, V> {
+
+    private final String name;
+    private final Cache<K, V> delegate;
+
+    TinyLfuBoundedCache(String name, CacheSettings settings, LongSupplier nanoTicker) {
+        this.name = name;
+        this.delegate = Caffeine.newBuilder()
+                .maximumSize(settings.maxSize())
+                .expireAfterWrite(settings.ttl())
+                .ticker(nanoTicker::getAsLong)
+                .executor(Runnable::run)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public V get(K key) {
+        return delegate.getIfPresent(key);
+    }
+
+    @Override
+    public void put(K key, V value) {
+        delegate.put(key, value);
+    }
+
+    @Override
+    public void invalidate(K key) {
+        delegate.invalidate(key);
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public CacheStats stats() {
+        delegate.cleanUp();
+        var stats = delegate.stats();
+        return new CacheStats(name, stats.hitCount(), stats.missCount(), stats.evictionCount(), delegate.estimatedSize());
+    }
+}
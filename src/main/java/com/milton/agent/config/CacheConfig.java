@@ -0,0 +1,87 @@
+package com.milton.agent.config;
+
+import com.milton.agent.cache.BoundedCache;
+import com.milton.agent.cache.CacheSettings;
+import com.milton.agent.cache.EvictionPolicy;
+import com.milton.agent.cache.SingleFlight;
+import com.milton.agent.models.CvSkills;
+import com.milton.agent.models.FitScore;
+import com.milton.agent.models.JobRequirements;
+import com.milton.agent.models.PreparationResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class CacheConfig {
+
+    /**
+     * CV skills + job requirements extracted for a given CV/JD pair, keyed by content digest.
+     */
+    @Bean
+    public BoundedCache<String, PreparationResult> extractionCache(
+            @Value("${jobfit.cache.extraction.policy:W_TINY_LFU}") EvictionPolicy policy,
+            @Value("${jobfit.cache.extraction.max-size:500}") long maxSize,
+            @Value("${jobfit.cache.extraction.ttl:30m}") Duration ttl) {
+        return BoundedCache.create("extraction", new CacheSettings(policy, maxSize, ttl));
+    }
+
+    /**
+     * Coalesces concurrent extractions of the same CV/JD pair into one pair of LLM calls.
+     */
+    @Bean
+    public SingleFlight<String, PreparationResult> extractionSingleFlight() {
+        return new SingleFlight<>("extraction");
+    }
+
+    /**
+     * Job requirements shared across users, keyed by the normalized job description digest only,
+     * so every CV paired with a popular job ad reuses one extraction.
+     */
+    @Bean
+    public BoundedCache<String, JobRequirements> jobRequirementsCache(
+            @Value("${jobfit.cache.job-requirements.policy:W_TINY_LFU}") EvictionPolicy policy,
+            @Value("${jobfit.cache.job-requirements.max-size:2000}") long maxSize,
+            @Value("${jobfit.cache.job-requirements.ttl:12h}") Duration ttl) {
+        return BoundedCache.create("job-requirements", new CacheSettings(policy, maxSize, ttl));
+    }
+
+    @Bean
+    public SingleFlight<String, JobRequirements> jobRequirementsSingleFlight() {
+        return new SingleFlight<>("job-requirements");
+    }
+
+    /**
+     * CV skills keyed by CV text digest, independent of the job description, so scoring one CV
+     * against many job ads extracts its skills once.
+     */
+    @Bean
+    public BoundedCache<String, CvSkills> cvSkillsCache(
+            @Value("${jobfit.cache.cv-skills.policy:W_TINY_LFU}") EvictionPolicy policy,
+            @Value("${jobfit.cache.cv-skills.max-size:500}") long maxSize,
+            @Value("${jobfit.cache.cv-skills.ttl:1h}") Duration ttl) {
+        return BoundedCache.create("cv-skills", new CacheSettings(policy, maxSize, ttl));
+    }
+
+    /**
+     * Coalesces concurrent CV skill extractions for the same CV text (e.g. one CV paired with several JDs).
+     */
+    @Bean
+    public SingleFlight<String, CvSkills> cvSkillsSingleFlight() {
+        return new SingleFlight<>("cv-skills");
+    }
+
+    /**
+     * Fit scores keyed by the extracted skills, requirements and analysis mode, so resubmitting
+     * the same analysis skips the fit-score LLM call.
+     */
+    @Bean
+    public BoundedCache<String, FitScore> fitScoreCache(
+            @Value("${jobfit.cache.fit-score.policy:W_TINY_LFU}") EvictionPolicy policy,
+            @Value("${jobfit.cache.fit-score.max-size:1000}") long maxSize,
+            @Value("${jobfit.cache.fit-score.ttl:1h}") Duration ttl) {
+        return BoundedCache.create("fit-score", new CacheSettings(policy, maxSize, ttl));
+    }
+}
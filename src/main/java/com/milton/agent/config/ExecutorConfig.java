@@ -0,0 +1,33 @@
+package com.milton.agent.config;
+
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class ExecutorConfig {
+
+    private static final ContextSnapshotFactory CONTEXT_SNAPSHOTS = ContextSnapshotFactory.builder().build();
+
+    /**
+     * Virtual thread per task executor for the agent's LLM calls. Managed by the container so
+     * in-flight calls are interrupted and the executor is closed on shutdown.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService agentExecutor() {
+        return propagatingContext(Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("agent-llm-", 0).factory()));
+    }
+
+    /**
+     * Wraps an executor so each task runs with the submitting thread's current observation in
+     * scope: spans started by the task are children of the caller's span, and the trace and span
+     * ids are in the task's MDC.
+     */
+    public static ExecutorService propagatingContext(ExecutorService executor) {
+        return ContextExecutorService.wrap(executor, CONTEXT_SNAPSHOTS::captureAll);
+    }
+}
@@ -1,28 +1,133 @@
 package com.milton.agent.config;
 
 import com.milton.agent.exceptions.PromptLoaderException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
-
+/**
+ * Loads prompt files and keeps them compiled as {@link PromptTemplate}s.
+ * <p>
+ * Each prompt is read and parsed once. A file in {@code jobfit.prompts.directory} takes precedence
+ * over the bundled classpath copy. With {@code jobfit.prompts.hot-reload} enabled, the file's
+ * modification time is checked at most once per {@code jobfit.prompts.reload-check-interval};
+ * changed content is recompiled under the next version number while in-flight renders keep the
+ * template they already hold.
+ */
+@Slf4j
 @Component
 public class PromptLoader {
 
+    private final String directory;
+    private final boolean hotReload;
+    private final long checkIntervalNanos;
+
+    // Key: prompt file name, Value: compiled template and the source state it was compiled from
+    private final Map<String, CompiledPrompt> templates = new ConcurrentHashMap<>();
+
+    public PromptLoader(@Value("${jobfit.prompts.directory:}") String directory,
+                        @Value("${jobfit.prompts.hot-reload:false}") boolean hotReload,
+                        @Value("${jobfit.prompts.reload-check-interval:2s}") Duration checkInterval) {
+        this.directory = directory == null ? "" : directory.trim();
+        this.hotReload = hotReload;
+        this.checkIntervalNanos = checkInterval.toNanos();
+    }
+
+    /**
+     * Reads the raw prompt text.
+     */
     public String loadPrompt(String filename) {
-        if (filename == null || filename.trim().isEmpty()) {
-            throw new PromptLoaderException("Filename cannot be null or empty");
+        validate(filename);
+        return read(resolve(filename));
+    }
+
+    /**
+     * Returns the compiled template for the prompt file, compiling it on first use and, with hot
+     * reload enabled, again after the file changes.
+     */
+    public PromptTemplate template(String filename) {
+        validate(filename);
+        CompiledPrompt compiled = templates.computeIfAbsent(filename, name -> compile(name, 1));
+        if (hotReload && System.nanoTime() - compiled.checkedAtNanos() > checkIntervalNanos) {
+            compiled = templates.compute(filename, (name, current) -> refresh(name, current));
         }
+        return compiled.template();
+    }
+
+    private CompiledPrompt refresh(String filename, CompiledPrompt current) {
+        Resource resource = resolve(filename);
+        long lastModified = lastModified(resource);
+        if (lastModified == current.lastModified() && resource.getDescription().equals(current.source())) {
+            return current.checkedNow();
+        }
+        String text = read(resource);
+        if (text.equals(current.text())) {
+            return new CompiledPrompt(current.template(), text, resource.getDescription(), lastModified, System.nanoTime());
+        }
+        CompiledPrompt reloaded = compile(filename, resource, text, current.template().version() + 1);
+        log.info("Reloaded prompt {} from {} (version {})", filename, resource.getDescription(), reloaded.template().version());
+        return reloaded;
+    }
+
+    private CompiledPrompt compile(String filename, int version) {
+        Resource resource = resolve(filename);
+        return compile(filename, resource, read(resource), version);
+    }
+
+    private CompiledPrompt compile(String filename, Resource resource, String text, int version) {
+        PromptTemplate template = PromptTemplate.compile(filename, version, text);
+        return new CompiledPrompt(template, text, resource.getDescription(), lastModified(resource), System.nanoTime());
+    }
 
-        String path = "prompts/" + filename;
-        try (InputStream inputStream = new ClassPathResource(path).getInputStream()) {
+    private Resource resolve(String filename) {
+        if (!directory.isEmpty()) {
+            Resource override = new FileSystemResource(Path.of(directory, filename));
+            if (override.exists()) {
+                return override;
+            }
+        }
+        return new ClassPathResource("prompts/" + filename);
+    }
+
+    private static String read(Resource resource) {
+        try (InputStream inputStream = resource.getInputStream()) {
             return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
         } catch (IOException e) {
-            throw new PromptLoaderException("Failed to load prompt file: " + path, e);
+            throw new PromptLoaderException("Failed to load prompt file: " + resource.getDescription(), e);
         }
     }
-}
 
+    private static long lastModified(Resource resource) {
+        try {
+            return resource.lastModified();
+        } catch (IOException e) {
+            // Resources inside a jar have no usable timestamp; content comparison still applies
+            return -1;
+        }
+    }
+
+    private static void validate(String filename) {
+        if (filename == null || filename.trim().isEmpty()) {
+            throw new PromptLoaderException("Filename cannot be null or empty");
+        }
+    }
+
+    private record CompiledPrompt(PromptTemplate template, String text, String source, long lastModified,
+                                  long checkedAtNanos) {
+
+        CompiledPrompt checkedNow() {
+            return new CompiledPrompt(template, text, source, lastModified, System.nanoTime());
+        }
+    }
+}
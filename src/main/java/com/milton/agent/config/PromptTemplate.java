@@ -0,0 +1,115 @@
+package com.milton.agent.config;
+
+import com.milton.agent.exceptions.PromptLoaderException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A prompt parsed once into alternating literal and slot segments.
+ * <p>
+ * Slots are written {@code {{name}}} in the prompt file. Rendering sizes the output buffer from
+ * the literal length plus the slot values and appends every segment in a single pass, instead of
+ * rescanning the whole template once per placeholder.
+ */
+public final class PromptTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    private final String name;
+    private final int version;
+    // literals[i] precedes slots[i]; the final literal follows the last slot
+    private final String[] literals;
+    private final String[] slots;
+    private final int literalLength;
+    private final Set<String> slotNames;
+
+    private PromptTemplate(String name, int version, String[] literals, String[] slots) {
+        this.name = name;
+        this.version = version;
+        this.literals = literals;
+        this.slots = slots;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+        Set<String> names = new LinkedHashSet<>();
+        Collections.addAll(names, slots);
+        this.slotNames = Collections.unmodifiableSet(names);
+    }
+
+    /**
+     * Parses the template text. A slot name may not be empty or contain whitespace.
+     *
+     * @throws PromptLoaderException if a slot is unterminated or badly named
+     */
+    public static PromptTemplate compile(String name, int version, String text) {
+        List<String> literals = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+        int position = 0;
+        while (true) {
+            int open = text.indexOf(OPEN, position);
+            if (open < 0) {
+                literals.add(text.substring(position));
+                break;
+            }
+            int close = text.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw new PromptLoaderException("Unterminated slot in prompt " + name + " at offset " + open);
+            }
+            String slot = text.substring(open + OPEN.length(), close).strip();
+            if (slot.isEmpty() || slot.chars().anyMatch(Character::isWhitespace)) {
+                throw new PromptLoaderException("Invalid slot name '" + slot + "' in prompt " + name);
+            }
+            literals.add(text.substring(position, open));
+            slots.add(slot);
+            position = close + CLOSE.length();
+        }
+        return new PromptTemplate(name, version, literals.toArray(String[]::new), slots.toArray(String[]::new));
+    }
+
+    /**
+     * Renders the prompt. Values are converted with {@link String#valueOf(Object)}.
+     *
+     * @throws PromptLoaderException if a slot has no value
+     */
+    public String render(Map<String, ?> values) {
+        String[] rendered = new String[slots.length];
+        int length = literalLength;
+        for (int i = 0; i < slots.length; i++) {
+            Object value = values.get(slots[i]);
+            if (value == null && !values.containsKey(slots[i])) {
+                throw new PromptLoaderException("No value for slot '" + slots[i] + "' in prompt " + name);
+            }
+            rendered[i] = value == null ? "" : String.valueOf(value);
+            length += rendered[i].length();
+        }
+
+        StringBuilder out = new StringBuilder(length);
+        for (int i = 0; i < slots.length; i++) {
+            out.append(literals[i]).append(rendered[i]);
+        }
+        return out.append(literals[slots.length]).toString();
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Incremented each time the prompt file is reloaded with new content.
+     */
+    public int version() {
+        return version;
+    }
+
+    public Set<String> slotNames() {
+        return slotNames;
+    }
+}
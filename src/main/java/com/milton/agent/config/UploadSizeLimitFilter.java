@@ -0,0 +1,69 @@
+package com.milton.agent.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Applies multipart upload size limits per path, before the body is parsed.
+ * <p>
+ * The servlet container's {@code spring.servlet.multipart.max-request-size} has to admit the
+ * largest upload the application accepts, a recruiter ranking carrying many CVs. Uploads to
+ * {@code /recruiter/**} may use all of it ({@code jobfit.recruiter.max-request-size}); every other
+ * upload is held to {@code jobfit.upload.max-request-size}. The check uses the Content-Length
+ * header, so uploads to other paths that do not send one are refused.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class UploadSizeLimitFilter extends OncePerRequestFilter {
+
+    private static final String RECRUITER_PATH = "/recruiter/";
+
+    private final DataSize maxRequestSize;
+    private final DataSize recruiterMaxRequestSize;
+
+    public UploadSizeLimitFilter(@Value("${jobfit.upload.max-request-size:10MB}") DataSize maxRequestSize,
+                                 @Value("${jobfit.recruiter.max-request-size:200MB}") DataSize recruiterMaxRequestSize) {
+        this.maxRequestSize = maxRequestSize;
+        this.recruiterMaxRequestSize = recruiterMaxRequestSize;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return contentType == null || !contentType.toLowerCase(Locale.ROOT).startsWith("multipart/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        DataSize limit = path.startsWith(RECRUITER_PATH) ? recruiterMaxRequestSize : maxRequestSize;
+        long contentLength = request.getContentLengthLong();
+
+        if (contentLength < 0 && limit.compareTo(recruiterMaxRequestSize) < 0) {
+            log.warn("Rejected upload to {} without a Content-Length", path);
+            response.sendError(HttpStatus.LENGTH_REQUIRED.value(), "Uploads must declare their size");
+            return;
+        }
+        if (contentLength > limit.toBytes()) {
+            log.warn("Rejected upload of {} bytes to {} (limit {})", contentLength, path, limit);
+            response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value(), "Upload exceeds the " + limit + " limit");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -2,10 +2,18 @@ package com.milton.agent.controller;
 
 import com.embabel.agent.api.common.autonomy.AgentInvocation;
 import com.embabel.agent.core.AgentPlatform;
+import com.milton.agent.exceptions.DeadlineExceededException;
+import com.milton.agent.exceptions.LlmCircuitOpenException;
+import com.milton.agent.metrics.JobFitMetrics;
 import com.milton.agent.models.FitScore;
 import com.milton.agent.models.JobFitRequest;
+import com.milton.agent.models.PreparationResult;
+import com.milton.agent.service.FollowUpPrefetchService;
+import com.milton.agent.service.JobDescriptionCleaner;
 import com.milton.agent.service.MatchPresentationService;
+import com.milton.agent.service.PreparationService;
 import com.milton.agent.service.RateLimitService;
+import com.milton.agent.service.RequestDeadlines;
 import com.milton.agent.service.TextExtractor;
 import com.milton.agent.util.FileValidationUtil;
 import com.milton.agent.util.IpAddressUtil;
@@ -32,6 +40,11 @@ public class AnalysisController {
     private final TextExtractor textExtractor;
     private final RateLimitService rateLimitService;
     private final MatchPresentationService matchPresentationService;
+    private final RequestDeadlines requestDeadlines;
+    private final JobDescriptionCleaner jobDescriptionCleaner;
+    private final FollowUpPrefetchService followUpPrefetchService;
+    private final PreparationService preparationService;
+    private final JobFitMetrics metrics;
 
     @GetMapping({"/"})
     public String index(HttpSession session, HttpServletRequest request, Model model) {
@@ -126,7 +139,7 @@ public class AnalysisController {
             return "index";
         }
 
-        var jobDescriptionText = jobDescription.trim();
+        var jobDescriptionText = jobDescriptionCleaner.clean(jobDescription);
 
         String normalizedMode = analysisMode == null ? "" : analysisMode.trim();
         boolean quickResponseRequested = !"thoughtful".equalsIgnoreCase(normalizedMode);
@@ -135,12 +148,25 @@ public class AnalysisController {
         var fitScoreAgentInvocation = AgentInvocation.create(agentPlatform, FitScore.class);
         FitScore fitScore;
         try (TimedOperation ignored = TimedOperation.start(log, "Fit score agent invocation")) {
-            fitScore = fitScoreAgentInvocation.invoke(jobFitRequest);
+            fitScore = metrics.recordInvocation("fit-score", JobFitMetrics.mode(quickResponseRequested),
+                    () -> requestDeadlines.within(jobFitRequest, requestDeadlines.forAnalysis(quickResponseRequested),
+                            () -> fitScoreAgentInvocation.invoke(jobFitRequest)));
+        } catch (DeadlineExceededException e) {
+            log.warn("Analysis for user {} ran out of time: {}", userId, e.getMessage());
+            model.addAttribute("error", DeadlineExceededException.USER_MESSAGE);
+            model.addAttribute("storedCvName", cvFileName);
+            return "index";
+        } catch (LlmCircuitOpenException e) {
+            log.warn("Analysis for user {} failed fast: {}", userId, e.getMessage());
+            model.addAttribute("error", LlmCircuitOpenException.USER_MESSAGE);
+            model.addAttribute("storedCvName", cvFileName);
+            return "index";
         }
 
         int score = fitScore.score();
         model.addAttribute("score", score);
         model.addAttribute("explanation", fitScore.explanation());
+        model.addAttribute("provisionalScore", fitScore.provisional());
         model.addAttribute("cvName", cvFileName);
         model.addAttribute("role", role);
         model.addAttribute("company", company);
@@ -157,8 +183,23 @@ public class AnalysisController {
         session.removeAttribute(SessionAttributes.UPGRADED_CV);
         session.removeAttribute(SessionAttributes.UPGRADED_KEYWORDS);
         session.removeAttribute(SessionAttributes.UPGRADED_SUMMARY);
+        session.removeAttribute(SessionAttributes.SUGGESTIONS);
+        session.removeAttribute(SessionAttributes.IMPROVE_SCORE);
+        session.removeAttribute(SessionAttributes.INTERVIEW_PREP);
         model.addAttribute("storedCvName", cvFileName);
 
+        // Follow-up actions reuse this analysis's extraction instead of extracting again
+        PreparationResult preparation = preparationService.find(candidateCvText, jobDescriptionText).orElse(null);
+        session.setAttribute(SessionAttributes.PREPARATION, preparation);
+        session.setAttribute(SessionAttributes.PREPARATION_KEY, preparationService.keyFor(candidateCvText, jobDescriptionText));
+
+        // The result page is rendered next; the follow-up it offers can start in the background meanwhile.
+        // A provisional score means the LLM is unavailable, so speculative calls would only add load.
+        if (!fitScore.provisional()) {
+            followUpPrefetchService.prefetch(userId, candidateCvText, jobDescriptionText, score, fitScore.explanation(),
+                    preparation);
+        }
+
         int remainingRequests = rateLimitService.getRemainingRequests(userId);
         int usedRequests = rateLimitService.getRequestCount(userId);
         model.addAttribute("remainingRequests", remainingRequests);
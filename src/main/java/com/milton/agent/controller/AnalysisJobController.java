@@ -0,0 +1,167 @@
+package com.milton.agent.controller;
+
+import com.milton.agent.models.AnalysisJobStatus;
+import com.milton.agent.models.AnalysisStage;
+import com.milton.agent.models.JobFitRequest;
+import com.milton.agent.models.PreparationResult;
+import com.milton.agent.service.AnalysisJobService;
+import com.milton.agent.service.AnalysisJobService.JobInputs;
+import com.milton.agent.service.FollowUpPrefetchService;
+import com.milton.agent.service.JobDescriptionCleaner;
+import com.milton.agent.service.PreparationService;
+import com.milton.agent.service.RateLimitService;
+import com.milton.agent.service.TextExtractor;
+import com.milton.agent.util.FileValidationUtil;
+import com.milton.agent.util.TimedOperation;
+import jakarta.servlet.http.HttpSession;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Asynchronous variant of {@code POST /generate}: validates and extracts the CV, queues the
+ * analysis and returns a job id straight away. Progress is available by polling
+ * {@code GET /jobs/{id}} or as a Server-Sent Events stream from {@code GET /jobs/{id}/events}.
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+public class AnalysisJobController {
+
+    private final AnalysisJobService analysisJobService;
+    private final TextExtractor textExtractor;
+    private final RateLimitService rateLimitService;
+    private final JobDescriptionCleaner jobDescriptionCleaner;
+    private final FollowUpPrefetchService followUpPrefetchService;
+    private final PreparationService preparationService;
+
+    @PostMapping("/generate/async")
+    public ResponseEntity<AnalysisJobStatus> submit(@RequestParam(value = "candidateFile", required = false) MultipartFile cv,
+                                                    @RequestParam(value = "reuseCv", required = false) Boolean reuseCv,
+                                                    @RequestParam("role") String role,
+                                                    @RequestParam("company") String company,
+                                                    @RequestParam("jobDescription") String jobDescription,
+                                                    @RequestParam(value = "analysisMode", required = false) String analysisMode,
+                                                    HttpSession session) throws IOException {
+
+        Long userId = getUserId(session);
+        log.info("Async analysis request from user: {}", userId);
+
+        if (jobDescription == null || jobDescription.trim().isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Please paste the job description.");
+        }
+        if (!Boolean.TRUE.equals(reuseCv)) {
+            if (cv == null || cv.isEmpty()) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Please upload a CV PDF file.");
+            }
+            if (!FileValidationUtil.isPdfFile(cv)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Candidate CV must be a PDF file.");
+            }
+        } else if (session.getAttribute(SessionAttributes.CV_TEXT) == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No CV found in session. Please upload a new CV.");
+        }
+
+        if (!rateLimitService.isAllowed(userId)) {
+            log.warn("Rate limit exceeded for user: {}", userId);
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Rate limit exceeded. You have used all "
+                    + rateLimitService.getMaxRequestsPerDay() + " free analyses. Please try again tomorrow.");
+        }
+
+        String candidateCvText;
+        if (Boolean.TRUE.equals(reuseCv)) {
+            candidateCvText = (String) session.getAttribute(SessionAttributes.CV_TEXT);
+            log.info("Reusing CV from session: {}", session.getAttribute(SessionAttributes.CV_NAME));
+        } else {
+            try (TimedOperation ignored = TimedOperation.start(log, "CV text extraction")) {
+                candidateCvText = textExtractor.extractText(cv);
+            }
+            session.setAttribute(SessionAttributes.CV_TEXT, candidateCvText);
+            session.setAttribute(SessionAttributes.CV_NAME, cv.getOriginalFilename());
+        }
+
+        String jobDescriptionText = jobDescriptionCleaner.clean(jobDescription);
+        String normalizedMode = analysisMode == null ? "" : analysisMode.trim();
+        boolean quickResponseRequested = !"thoughtful".equalsIgnoreCase(normalizedMode);
+        JobFitRequest jobFitRequest = new JobFitRequest(candidateCvText, jobDescriptionText, quickResponseRequested);
+
+        String jobId;
+        try {
+            jobId = analysisJobService.submit(jobFitRequest, role, company, userId);
+        } catch (RejectedExecutionException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "The analysis queue is full. Please try again in a moment.");
+        }
+
+        AnalysisJobStatus status = analysisJobService.status(jobId, userId).orElseThrow();
+        return ResponseEntity.accepted().location(URI.create("/jobs/" + jobId)).body(status);
+    }
+
+    /**
+     * Returns job progress. Once the job has completed, the score and the inputs the job was
+     * submitted with are stored in the session (once per job) so the recommendation and upgrade
+     * pages work as after {@code POST /generate}, even if another analysis was submitted since.
+     */
+    @GetMapping("/jobs/{jobId}")
+    public AnalysisJobStatus status(@PathVariable String jobId, HttpSession session) {
+        Long userId = getUserId(session);
+        AnalysisJobStatus status = analysisJobService.status(jobId, userId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown or expired analysis job"));
+
+        if (status.stage() == AnalysisStage.COMPLETED && !jobId.equals(session.getAttribute(SessionAttributes.APPLIED_ANALYSIS_JOB))) {
+            JobInputs inputs = analysisJobService.inputs(jobId, userId)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown or expired analysis job"));
+            String cvText = inputs.request().getCvText();
+            String jobDescription = inputs.request().getJobDescriptionText();
+            session.setAttribute(SessionAttributes.CV_TEXT, cvText);
+            session.setAttribute(SessionAttributes.ROLE, inputs.role());
+            session.setAttribute(SessionAttributes.COMPANY, inputs.company());
+            session.setAttribute(SessionAttributes.JOB_DESCRIPTION, jobDescription);
+            session.setAttribute(SessionAttributes.FIT_SCORE, status.fitScore().score());
+            session.setAttribute(SessionAttributes.FIT_EXPLANATION, status.fitScore().explanation());
+            session.removeAttribute(SessionAttributes.UPGRADED_CV);
+            session.removeAttribute(SessionAttributes.UPGRADED_KEYWORDS);
+            session.removeAttribute(SessionAttributes.UPGRADED_SUMMARY);
+            session.removeAttribute(SessionAttributes.SUGGESTIONS);
+            session.removeAttribute(SessionAttributes.IMPROVE_SCORE);
+            session.removeAttribute(SessionAttributes.INTERVIEW_PREP);
+            session.setAttribute(SessionAttributes.APPLIED_ANALYSIS_JOB, jobId);
+
+            PreparationResult preparation = preparationService.find(cvText, jobDescription).orElse(null);
+            session.setAttribute(SessionAttributes.PREPARATION, preparation);
+            session.setAttribute(SessionAttributes.PREPARATION_KEY, preparationService.keyFor(cvText, jobDescription));
+            if (!status.fitScore().provisional()) {
+                followUpPrefetchService.prefetch(userId, cvText, jobDescription,
+                        status.fitScore().score(), status.fitScore().explanation(), preparation);
+            }
+        }
+        return status;
+    }
+
+    @GetMapping(value = "/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@PathVariable String jobId, HttpSession session) {
+        return analysisJobService.subscribe(jobId, getUserId(session))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown or expired analysis job"));
+    }
+
+    /**
+     * Converts session ID to a consistent Long userId.
+     * Each unique session gets a unique userId based on session ID hash.
+     */
+    private Long getUserId(HttpSession session) {
+        return (long) Math.abs(session.getId().hashCode());
+    }
+}
@@ -3,20 +3,30 @@ package com.milton.agent.controller;
 import com.embabel.agent.api.common.Ai;
 import com.embabel.agent.api.common.autonomy.AgentInvocation;
 import com.embabel.agent.core.AgentPlatform;
+import com.milton.agent.models.BatchScoreResult;
 import com.milton.agent.models.FitScore;
 import com.milton.agent.models.JobFitRequest;
+import com.milton.agent.service.BatchScoringService;
+import com.milton.agent.service.JobDescriptionCleaner;
+import com.milton.agent.service.RateLimitService;
+import com.milton.agent.service.RequestDeadlines;
 import com.milton.agent.service.TextExtractor;
 import com.milton.agent.util.FileValidationUtil;
+import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -24,6 +34,10 @@ import java.io.IOException;
 public class JobFitProviderController {
     private final AgentPlatform agentPlatform;
     private final TextExtractor textExtractor;
+    private final BatchScoringService batchScoringService;
+    private final RequestDeadlines requestDeadlines;
+    private final JobDescriptionCleaner jobDescriptionCleaner;
+    private final RateLimitService rateLimitService;
 
     @PostMapping("/score")
     FitScore extractSkillsFromCVAndJobDescription(@RequestParam("candidateFile") MultipartFile cv,
@@ -41,13 +55,98 @@ public class JobFitProviderController {
 
         log.debug("CV uploaded {} - Job Description pasted {} - PDF files ", cv.getOriginalFilename(), jobDescription.getOriginalFilename());
         var candidateCvText = textExtractor.extractText(cv);
-        var jobDescriptionText = textExtractor.extractText(jobDescription);
+        var jobDescriptionText = jobDescriptionCleaner.clean(textExtractor.extractText(jobDescription));
         log.debug("Text extracted from documents.");
         boolean quickResponseRequested = !"thoughtful".equalsIgnoreCase(analysisMode);
         JobFitRequest request = new JobFitRequest(candidateCvText, jobDescriptionText, quickResponseRequested);
         var fitScoreAgentInvocation = AgentInvocation.create(agentPlatform, FitScore.class);
-        var fitScore = fitScoreAgentInvocation.invoke(request);
+        var fitScore = requestDeadlines.within(request, requestDeadlines.forAnalysis(quickResponseRequested),
+                () -> fitScoreAgentInvocation.invoke(request));
         log.info("Fit score of your application: {}", fitScore);
         return fitScore;
     }
+
+    /**
+     * Scores one CV against many job descriptions (pasted text and/or PDFs) and returns the
+     * results ranked by score. The CV skills are extracted once for the whole batch. Every job
+     * description counts as one analysis against the same daily quota as {@code /generate}.
+     */
+    @PostMapping("/score/batch")
+    List<BatchScoreResult> scoreBatch(@RequestParam("candidateFile") MultipartFile cv,
+                                      @RequestParam(value = "jobDescriptions", required = false) List<String> jobDescriptions,
+                                      @RequestParam(value = "jobDescriptionFiles", required = false) MultipartFile[] jobDescriptionFiles,
+                                      @RequestParam(value = "analysisMode", required = false, defaultValue = "quick") String analysisMode,
+                                      HttpSession session) throws IOException {
+        String candidateCvText = extractCvText(cv);
+        List<String> jobDescriptionTexts = collectJobDescriptions(jobDescriptions, jobDescriptionFiles);
+        checkQuota(session, jobDescriptionTexts.size());
+        return batchScoringService.scoreAll(candidateCvText, jobDescriptionTexts, !"thoughtful".equalsIgnoreCase(analysisMode));
+    }
+
+    /**
+     * Streaming variant of {@code /score/batch}: emits a {@code result} event per job description
+     * as it completes, then a {@code ranked} event with all results.
+     */
+    @PostMapping(value = "/score/batch/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    SseEmitter streamBatch(@RequestParam("candidateFile") MultipartFile cv,
+                           @RequestParam(value = "jobDescriptions", required = false) List<String> jobDescriptions,
+                           @RequestParam(value = "jobDescriptionFiles", required = false) MultipartFile[] jobDescriptionFiles,
+                           @RequestParam(value = "analysisMode", required = false, defaultValue = "quick") String analysisMode,
+                           HttpSession session) throws IOException {
+        String candidateCvText = extractCvText(cv);
+        List<String> jobDescriptionTexts = collectJobDescriptions(jobDescriptions, jobDescriptionFiles);
+        checkQuota(session, jobDescriptionTexts.size());
+        return batchScoringService.stream(candidateCvText, jobDescriptionTexts, !"thoughtful".equalsIgnoreCase(analysisMode));
+    }
+
+    private void checkQuota(HttpSession session, int analyses) {
+        Long userId = getUserId(session);
+        if (!rateLimitService.isAllowed(userId, analyses)) {
+            log.warn("Rate limit exceeded for user: {} (batch of {})", userId, analyses);
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Rate limit exceeded. This batch needs "
+                    + analyses + " analyses but only " + rateLimitService.getRemainingRequests(userId) + " of your "
+                    + rateLimitService.getMaxRequestsPerDay() + " free daily analyses are left.");
+        }
+    }
+
+    private String extractCvText(MultipartFile cv) throws IOException {
+        if (!FileValidationUtil.isPdfFile(cv)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Candidate CV must be a PDF");
+        }
+        return textExtractor.extractText(cv);
+    }
+
+    private List<String> collectJobDescriptions(List<String> pasted, MultipartFile[] files) throws IOException {
+        List<String> texts = new ArrayList<>();
+        if (pasted != null) {
+            pasted.stream().filter(text -> text != null && !text.isBlank()).map(jobDescriptionCleaner::clean).forEach(texts::add);
+        }
+        if (files != null) {
+            for (MultipartFile file : files) {
+                if (!FileValidationUtil.isPdfFile(file)) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                            "Job description " + file.getOriginalFilename() + " must be a PDF");
+                }
+                texts.add(jobDescriptionCleaner.clean(textExtractor.extractText(file)));
+            }
+        }
+
+        if (texts.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least one job description must be added");
+        }
+        if (texts.size() > batchScoringService.getMaxJobDescriptions()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "A batch can contain at most " + batchScoringService.getMaxJobDescriptions() + " job descriptions");
+        }
+        log.debug("Batch of {} job descriptions received", texts.size());
+        return texts;
+    }
+
+    /**
+     * Converts session ID to a consistent Long userId.
+     * Each unique session gets a unique userId based on session ID hash.
+     */
+    private Long getUserId(HttpSession session) {
+        return (long) Math.abs(session.getId().hashCode());
+    }
 }
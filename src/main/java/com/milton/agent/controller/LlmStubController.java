@@ -0,0 +1,196 @@
+package com.milton.agent.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.milton.agent.llm.SchemaSampleGenerator;
+import com.milton.agent.llm.StubLatency;
+import com.milton.agent.llm.TokenEstimator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * OpenAI-compatible stand-in for load and latency testing of the real agent pipeline (prompts,
+ * serialization, Embabel and Spring AI) without API cost. Active only under the {@code llm-stub}
+ * profile; point {@code embabel.ai.openai.base-url} at {@code /llm-stub}.
+ * <p>
+ * Chat completions answer with sample JSON valid against the schema the request carries, after a
+ * delay drawn from {@link StubLatency}. The delay does not hold a servlet thread. Configurable
+ * shares of requests fail with 500 or 429, and requests above {@code max-concurrent} in flight are
+ * rejected with 429 like a provider rate limit.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/llm-stub")
+@Profile("llm-stub")
+public class LlmStubController {
+
+    private final ObjectMapper objectMapper;
+    private final SchemaSampleGenerator sampleGenerator;
+    private final StubLatency latency;
+    private final double errorRate;
+    private final double rateLimitRate;
+    private final int maxConcurrent;
+    private final Duration retryAfter;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong completionIds = new AtomicLong();
+
+    public LlmStubController(ObjectMapper objectMapper,
+                             @Value("${jobfit.llm-stub.latency.distribution:LOG_NORMAL}") StubLatency.Distribution distribution,
+                             @Value("${jobfit.llm-stub.latency.min:200ms}") Duration minLatency,
+                             @Value("${jobfit.llm-stub.latency.median:800ms}") Duration medianLatency,
+                             @Value("${jobfit.llm-stub.latency.p99:4s}") Duration p99Latency,
+                             @Value("${jobfit.llm-stub.latency.max:10s}") Duration maxLatency,
+                             @Value("${jobfit.llm-stub.error-rate:0.0}") double errorRate,
+                             @Value("${jobfit.llm-stub.rate-limit-rate:0.0}") double rateLimitRate,
+                             @Value("${jobfit.llm-stub.max-concurrent:0}") int maxConcurrent,
+                             @Value("${jobfit.llm-stub.retry-after:1s}") Duration retryAfter,
+                             @Value("${jobfit.llm-stub.array-items:4}") int arrayItems,
+                             @Value("${jobfit.llm-stub.sentence-words:40}") int sentenceWords) {
+        if (errorRate < 0 || rateLimitRate < 0 || errorRate + rateLimitRate > 1) {
+            throw new IllegalArgumentException("LLM stub error-rate and rate-limit-rate must be >= 0 and sum to at most 1");
+        }
+        this.objectMapper = objectMapper;
+        this.sampleGenerator = new SchemaSampleGenerator(objectMapper, arrayItems, sentenceWords);
+        this.latency = new StubLatency(distribution, minLatency, medianLatency, p99Latency, maxLatency);
+        this.errorRate = errorRate;
+        this.rateLimitRate = rateLimitRate;
+        this.maxConcurrent = maxConcurrent;
+        this.retryAfter = retryAfter;
+        log.warn("LLM stub active at /llm-stub: latency={}, error-rate={}, rate-limit-rate={}, max-concurrent={}",
+                latency, errorRate, rateLimitRate, maxConcurrent);
+    }
+
+    @PostMapping({"/v1/chat/completions", "/chat/completions"})
+    public CompletableFuture<ResponseEntity<JsonNode>> chatCompletions(@RequestBody JsonNode request) {
+        if (request.path("stream").asBoolean(false)) {
+            return CompletableFuture.completedFuture(error(HttpStatus.BAD_REQUEST, "invalid_request_error",
+                    "stream_not_supported", "The LLM stub does not support streaming"));
+        }
+
+        Random random = ThreadLocalRandom.current();
+        double roll = random.nextDouble();
+        // Rate limits are decided up front, as a provider rejects before doing any work
+        if (roll < rateLimitRate) {
+            return CompletableFuture.completedFuture(rateLimited());
+        }
+        if (inFlight.incrementAndGet() > maxConcurrent && maxConcurrent > 0) {
+            inFlight.decrementAndGet();
+            return CompletableFuture.completedFuture(rateLimited());
+        }
+
+        boolean fail = roll < rateLimitRate + errorRate;
+        Duration delay = latency.sample(random);
+        return CompletableFuture.supplyAsync(() -> fail
+                                ? error(HttpStatus.INTERNAL_SERVER_ERROR, "server_error", "stub_error", "Injected LLM stub failure")
+                                : ResponseEntity.ok(completion(request)),
+                        CompletableFuture.delayedExecutor(delay.toNanos(), TimeUnit.NANOSECONDS))
+                .whenComplete((response, e) -> inFlight.decrementAndGet());
+    }
+
+    @GetMapping({"/v1/models", "/models"})
+    public Map<String, Object> models() {
+        List<Map<String, Object>> models = List.of("gpt-4.1-mini", "gpt-4.1", "gpt-5", "gpt-4o-mini").stream()
+                .<Map<String, Object>>map(id -> Map.of("id", id, "object", "model", "owned_by", "llm-stub"))
+                .toList();
+        return Map.of("object", "list", "data", models);
+    }
+
+    private JsonNode completion(JsonNode request) {
+        StringBuilder prompt = new StringBuilder();
+        for (JsonNode message : request.path("messages")) {
+            appendContent(prompt, message.path("content"));
+        }
+
+        JsonNode schema = request.path("response_format").path("json_schema").path("schema");
+        String content;
+        if (!schema.isMissingNode()) {
+            content = sampleFor(schema);
+        } else {
+            content = sampleGenerator.findSchema(prompt.toString())
+                    .map(this::sampleFor)
+                    .orElse("This is a response from the LLM stub.");
+        }
+
+        int promptTokens = TokenEstimator.estimate(prompt);
+        int completionTokens = TokenEstimator.estimate(content);
+
+        ObjectNode response = objectMapper.createObjectNode()
+                .put("id", "chatcmpl-stub-" + completionIds.incrementAndGet())
+                .put("object", "chat.completion")
+                .put("created", System.currentTimeMillis() / 1000)
+                .put("model", request.path("model").asText("llm-stub"));
+        ObjectNode choice = response.putArray("choices").addObject()
+                .put("index", 0)
+                .put("finish_reason", "stop");
+        choice.putObject("message")
+                .put("role", "assistant")
+                .put("content", content);
+        response.putObject("usage")
+                .put("prompt_tokens", promptTokens)
+                .put("completion_tokens", completionTokens)
+                .put("total_tokens", promptTokens + completionTokens);
+        return response;
+    }
+
+    private String sampleFor(JsonNode schema) {
+        try {
+            return objectMapper.writeValueAsString(sampleGenerator.sample(schema, ThreadLocalRandom.current()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize stub sample", e);
+        }
+    }
+
+    // Message content is either a string or a list of typed parts
+    private static void appendContent(StringBuilder prompt, JsonNode content) {
+        if (content.isTextual()) {
+            prompt.append(content.asText()).append('\n');
+        } else if (content.isArray()) {
+            for (JsonNode part : content) {
+                if (part.has("text")) {
+                    prompt.append(part.get("text").asText()).append('\n');
+                }
+            }
+        }
+    }
+
+    private ResponseEntity<JsonNode> rateLimited() {
+        ResponseEntity<JsonNode> response = error(HttpStatus.TOO_MANY_REQUESTS, "requests", "rate_limit_exceeded",
+                "Rate limit reached for requests (LLM stub)");
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryAfter.toSeconds())))
+                .header("x-ratelimit-reset-requests", retryAfter.toMillis() + "ms")
+                .body(response.getBody());
+    }
+
+    private ResponseEntity<JsonNode> error(HttpStatus status, String type, String code, String message) {
+        ObjectNode body = objectMapper.createObjectNode();
+        body.putObject("error")
+                .put("message", message)
+                .put("type", type)
+                .putNull("param")
+                .put("code", code);
+        return ResponseEntity.status(status).body(body);
+    }
+}
@@ -0,0 +1,66 @@
+package com.milton.agent.controller;
+
+import com.milton.agent.exceptions.DeadlineExceededException;
+import com.milton.agent.exceptions.LlmCircuitOpenException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+
+/**
+ * Gives every endpoint the same degraded response while an LLM model's circuit breaker is open.
+ * REST endpoints answer {@code 503 Service Unavailable} with a {@code Retry-After} header; pages
+ * redirect to the home page with {@link LlmCircuitOpenException#USER_MESSAGE} as the error.
+ * <p>
+ * Requests that run out of their deadline get the same treatment with {@code 504 Gateway Timeout}
+ * and {@link DeadlineExceededException#USER_MESSAGE}, unless the controller reports it itself.
+ */
+@Slf4j
+@ControllerAdvice
+public class LlmUnavailableAdvice {
+
+    @ExceptionHandler(LlmCircuitOpenException.class)
+    public Object handleCircuitOpen(LlmCircuitOpenException e, HandlerMethod handlerMethod,
+                                    RedirectAttributes redirectAttributes) {
+        log.warn("{} failed fast: {}", handlerMethod.getShortLogMessage(), e.getMessage());
+
+        if (returnsBody(handlerMethod)) {
+            ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE,
+                    LlmCircuitOpenException.USER_MESSAGE);
+            problem.setProperty("model", e.getModel());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, e.getRetryAfter().toSeconds())))
+                    .body(problem);
+        }
+
+        redirectAttributes.addFlashAttribute("error", LlmCircuitOpenException.USER_MESSAGE);
+        return "redirect:/";
+    }
+
+    @ExceptionHandler(DeadlineExceededException.class)
+    public Object handleDeadlineExceeded(DeadlineExceededException e, HandlerMethod handlerMethod,
+                                         RedirectAttributes redirectAttributes) {
+        log.warn("{} ran out of time: {}", handlerMethod.getShortLogMessage(), e.getMessage());
+
+        if (returnsBody(handlerMethod)) {
+            return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT)
+                    .body(ProblemDetail.forStatusAndDetail(HttpStatus.GATEWAY_TIMEOUT, DeadlineExceededException.USER_MESSAGE));
+        }
+
+        redirectAttributes.addFlashAttribute("error", DeadlineExceededException.USER_MESSAGE);
+        return "redirect:/";
+    }
+
+    private static boolean returnsBody(HandlerMethod handlerMethod) {
+        return handlerMethod.hasMethodAnnotation(ResponseBody.class)
+                || AnnotatedElementUtils.hasAnnotation(handlerMethod.getBeanType(), ResponseBody.class)
+                || ResponseEntity.class.isAssignableFrom(handlerMethod.getMethod().getReturnType());
+    }
+}
@@ -2,15 +2,22 @@ package com.milton.agent.controller;
 
 import com.embabel.agent.api.common.autonomy.AgentInvocation;
 import com.embabel.agent.core.AgentPlatform;
+import com.milton.agent.exceptions.LlmCircuitOpenException;
+import com.milton.agent.metrics.JobFitMetrics;
 import com.milton.agent.models.CareerSuggestions;
 import com.milton.agent.models.DashboardEntry;
+import com.milton.agent.models.FollowUpAction;
 import com.milton.agent.models.ImproveScore;
 import com.milton.agent.models.ImproveScoreRequest;
 import com.milton.agent.models.InterviewPrep;
 import com.milton.agent.models.InterviewPrepRequest;
+import com.milton.agent.models.PreparationResult;
 import com.milton.agent.models.SuggestionsRequest;
 import com.milton.agent.service.DashboardService;
+import com.milton.agent.service.FollowUpPrefetchService;
 import com.milton.agent.service.PdfService;
+import com.milton.agent.service.PreparationService;
+import com.milton.agent.service.RequestDeadlines;
 import com.milton.agent.util.TimedOperation;
 import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
@@ -37,8 +44,12 @@ import java.util.List;
 public class RecommendationsController {
 
     private final AgentPlatform agentPlatform;
+    private final RequestDeadlines requestDeadlines;
     private final DashboardService dashboardService;
     private final PdfService pdfService;
+    private final FollowUpPrefetchService followUpPrefetchService;
+    private final PreparationService preparationService;
+    private final JobFitMetrics metrics;
 
     @GetMapping({"/suggestions/{id}", "/suggestions.html"})
     public String showSuggestions(@PathVariable(required = false) Long id,
@@ -80,16 +91,25 @@ public class RecommendationsController {
                     fitExplanation != null ? fitExplanation : ""
             );
 
-            var suggestionsInvocation = AgentInvocation.create(agentPlatform, CareerSuggestions.class);
-            CareerSuggestions suggestions;
-            try (TimedOperation ignored = TimedOperation.start(log, "Career suggestions agent invocation")) {
-                suggestions = suggestionsInvocation.invoke(suggestionsRequest);
+            CareerSuggestions suggestions = followUpPrefetchService.claim(getUserId(session),
+                    FollowUpAction.SUGGESTIONS, suggestionsRequest, CareerSuggestions.class).orElse(null);
+            if (suggestions == null) {
+                PreparationResult preparation = preparationFor(session, candidateCv, jobDescription);
+                var suggestionsInvocation = AgentInvocation.create(agentPlatform, CareerSuggestions.class);
+                try (TimedOperation ignored = TimedOperation.start(log, "Career suggestions agent invocation")) {
+                    suggestions = metrics.recordInvocation("career-suggestions", JobFitMetrics.NONE,
+                            () -> requestDeadlines.within(suggestionsRequest, requestDeadlines.forDefault(),
+                                    () -> preparationService.invoke(suggestionsInvocation, suggestionsRequest, preparation)));
+                }
             }
 
             session.setAttribute(SessionAttributes.SUGGESTIONS, suggestions);
             populateSuggestionsModel(model, suggestions, id != null ? id : 1L);
 
             return "suggestions";
+        } catch (LlmCircuitOpenException ex) {
+            // Answered the same way on every page by LlmUnavailableAdvice
+            throw ex;
         } catch (Exception ex) {
             log.error("Failed to generate career suggestions", ex);
             redirectAttributes.addFlashAttribute("error", "We couldn't generate career suggestions right now. Please try again in a moment.");
@@ -136,16 +156,25 @@ public class RecommendationsController {
                     fitExplanation != null ? fitExplanation : ""
             );
 
-            var improveScoreInvocation = AgentInvocation.create(agentPlatform, ImproveScore.class);
-            ImproveScore improveScore;
-            try (TimedOperation ignored = TimedOperation.start(log, "Improve score agent invocation")) {
-                improveScore = improveScoreInvocation.invoke(improveScoreRequest);
+            ImproveScore improveScore = followUpPrefetchService.claim(getUserId(session),
+                    FollowUpAction.IMPROVE_SCORE, improveScoreRequest, ImproveScore.class).orElse(null);
+            if (improveScore == null) {
+                PreparationResult preparation = preparationFor(session, candidateCv, jobDescription);
+                var improveScoreInvocation = AgentInvocation.create(agentPlatform, ImproveScore.class);
+                try (TimedOperation ignored = TimedOperation.start(log, "Improve score agent invocation")) {
+                    improveScore = metrics.recordInvocation("improve-score", JobFitMetrics.NONE,
+                            () -> requestDeadlines.within(improveScoreRequest, requestDeadlines.forDefault(),
+                                    () -> preparationService.invoke(improveScoreInvocation, improveScoreRequest, preparation)));
+                }
             }
 
             session.setAttribute(SessionAttributes.IMPROVE_SCORE, improveScore);
             populateImproveScoreModel(model, improveScore, id != null ? id : 1L);
 
             return "improve";
+        } catch (LlmCircuitOpenException ex) {
+            // Answered the same way on every page by LlmUnavailableAdvice
+            throw ex;
         } catch (Exception ex) {
             log.error("Failed to generate improve score recommendations", ex);
             redirectAttributes.addFlashAttribute("error", "We couldn't generate improvement recommendations right now. Please try again in a moment.");
@@ -192,16 +221,25 @@ public class RecommendationsController {
                     fitExplanation != null ? fitExplanation : ""
             );
 
-            var interviewPrepInvocation = AgentInvocation.create(agentPlatform, InterviewPrep.class);
-            InterviewPrep interviewPrep;
-            try (TimedOperation ignored = TimedOperation.start(log, "Interview prep agent invocation")) {
-                interviewPrep = interviewPrepInvocation.invoke(interviewPrepRequest);
+            InterviewPrep interviewPrep = followUpPrefetchService.claim(getUserId(session),
+                    FollowUpAction.INTERVIEW_PREP, interviewPrepRequest, InterviewPrep.class).orElse(null);
+            if (interviewPrep == null) {
+                PreparationResult preparation = preparationFor(session, candidateCv, jobDescription);
+                var interviewPrepInvocation = AgentInvocation.create(agentPlatform, InterviewPrep.class);
+                try (TimedOperation ignored = TimedOperation.start(log, "Interview prep agent invocation")) {
+                    interviewPrep = metrics.recordInvocation("interview-prep", JobFitMetrics.NONE,
+                            () -> requestDeadlines.within(interviewPrepRequest, requestDeadlines.forDefault(),
+                                    () -> preparationService.invoke(interviewPrepInvocation, interviewPrepRequest, preparation)));
+                }
             }
 
             session.setAttribute(SessionAttributes.INTERVIEW_PREP, interviewPrep);
             populateInterviewPrepModel(model, interviewPrep, id != null ? id : 1L);
 
             return "getready";
+        } catch (LlmCircuitOpenException ex) {
+            // Answered the same way on every page by LlmUnavailableAdvice
+            throw ex;
         } catch (Exception ex) {
             log.error("Failed to generate interview prep", ex);
             redirectAttributes.addFlashAttribute("error", "We couldn't generate interview preparation content right now. Please try again in a moment.");
@@ -487,6 +525,19 @@ public class RecommendationsController {
         });
     }
 
+    /**
+     * Records extracted by the session's last analysis, if it was for this CV and job description.
+     * A dashboard entry for another job gets null and is extracted as before.
+     */
+    private PreparationResult preparationFor(HttpSession session, String candidateCv, String jobDescription) {
+        PreparationResult preparation = (PreparationResult) session.getAttribute(SessionAttributes.PREPARATION);
+        if (preparation == null
+                || !preparationService.keyFor(candidateCv, jobDescription).equals(session.getAttribute(SessionAttributes.PREPARATION_KEY))) {
+            return null;
+        }
+        return preparation;
+    }
+
     /**
      * Converts session ID to a consistent Long userId.
      * Each unique session gets a unique userId based on session ID hash.
@@ -0,0 +1,119 @@
+package com.milton.agent.controller;
+
+import com.milton.agent.models.RecruiterRanking;
+import com.milton.agent.service.JobDescriptionCleaner;
+import com.milton.agent.service.RateLimitService;
+import com.milton.agent.service.RecruiterRankingService;
+import com.milton.agent.service.TextExtractor;
+import com.milton.agent.util.FileValidationUtil;
+import jakarta.servlet.http.HttpSession;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Recruiter-side scoring: ranks uploaded CVs against a single job description.
+ * <p>
+ * A ranking is limited to {@code jobfit.recruiter.max-cvs} uploads, and every PDF CV counts as
+ * one analysis against the same daily quota as {@code /generate}. Both are checked before any CV
+ * is read.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@RestController
+public class RecruiterController {
+
+    private final RecruiterRankingService recruiterRankingService;
+    private final TextExtractor textExtractor;
+    private final JobDescriptionCleaner jobDescriptionCleaner;
+    private final RateLimitService rateLimitService;
+
+    @PostMapping("/recruiter/rank")
+    RecruiterRanking rank(@RequestParam(value = "jobDescription", required = false) String jobDescription,
+                          @RequestParam(value = "jobDescriptionFile", required = false) MultipartFile jobDescriptionFile,
+                          @RequestParam("candidateFiles") List<MultipartFile> candidateFiles,
+                          @RequestParam(value = "topK", required = false, defaultValue = "10") int topK,
+                          @RequestParam(value = "analysisMode", required = false, defaultValue = "quick") String analysisMode,
+                          HttpSession session) throws IOException {
+        checkLimits(candidateFiles, topK);
+        String jobDescriptionText = jobDescriptionText(jobDescription, jobDescriptionFile);
+        checkQuota(candidateFiles, session);
+        log.info("Recruiter ranking request: {} CVs, top {}", candidateFiles.size(), topK);
+        return recruiterRankingService.rank(jobDescriptionText, candidateFiles, topK,
+                !"thoughtful".equalsIgnoreCase(analysisMode));
+    }
+
+    /**
+     * Streaming variant of {@code /recruiter/rank}: emits a {@code progress} event with the counts
+     * and current top K as each CV finishes, then a {@code ranked} event with the final ranking.
+     * The ranking runs off the request thread.
+     */
+    @PostMapping(value = "/recruiter/rank/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    SseEmitter streamRank(@RequestParam(value = "jobDescription", required = false) String jobDescription,
+                          @RequestParam(value = "jobDescriptionFile", required = false) MultipartFile jobDescriptionFile,
+                          @RequestParam("candidateFiles") List<MultipartFile> candidateFiles,
+                          @RequestParam(value = "topK", required = false, defaultValue = "10") int topK,
+                          @RequestParam(value = "analysisMode", required = false, defaultValue = "quick") String analysisMode,
+                          HttpSession session) throws IOException {
+        checkLimits(candidateFiles, topK);
+        String jobDescriptionText = jobDescriptionText(jobDescription, jobDescriptionFile);
+        checkQuota(candidateFiles, session);
+        log.info("Streaming recruiter ranking request: {} CVs, top {}", candidateFiles.size(), topK);
+        return recruiterRankingService.stream(jobDescriptionText, candidateFiles, topK,
+                !"thoughtful".equalsIgnoreCase(analysisMode));
+    }
+
+    private void checkLimits(List<MultipartFile> candidateFiles, int topK) {
+        if (candidateFiles.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least one candidate CV must be added");
+        }
+        if (candidateFiles.size() > recruiterRankingService.getMaxCvs()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "A ranking can contain at most " + recruiterRankingService.getMaxCvs() + " CVs");
+        }
+        if (topK < 1 || topK > recruiterRankingService.getMaxTopK()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "topK must be between 1 and " + recruiterRankingService.getMaxTopK());
+        }
+    }
+
+    private void checkQuota(List<MultipartFile> candidateFiles, HttpSession session) {
+        // Non-PDF uploads are skipped and counted as failed, so only PDFs use quota
+        int analyses = (int) candidateFiles.stream().filter(FileValidationUtil::isPdfFile).count();
+        Long userId = getUserId(session);
+        if (!rateLimitService.isAllowed(userId, analyses)) {
+            log.warn("Rate limit exceeded for user: {} (ranking of {} CVs)", userId, analyses);
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Rate limit exceeded. This ranking needs "
+                    + analyses + " analyses but only " + rateLimitService.getRemainingRequests(userId) + " of your "
+                    + rateLimitService.getMaxRequestsPerDay() + " free daily analyses are left.");
+        }
+    }
+
+    private String jobDescriptionText(String jobDescription, MultipartFile jobDescriptionFile) throws IOException {
+        if (jobDescription != null && !jobDescription.isBlank()) {
+            return jobDescriptionCleaner.clean(jobDescription);
+        }
+        if (FileValidationUtil.isPdfFile(jobDescriptionFile)) {
+            return jobDescriptionCleaner.clean(textExtractor.extractText(jobDescriptionFile));
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Job description must be pasted or added as a PDF");
+    }
+
+    /**
+     * Converts session ID to a consistent Long userId.
+     * Each unique session gets a unique userId based on session ID hash.
+     */
+    private Long getUserId(HttpSession session) {
+        return (long) Math.abs(session.getId().hashCode());
+    }
+}
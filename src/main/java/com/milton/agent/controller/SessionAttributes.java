@@ -15,10 +15,13 @@ final class SessionAttributes {
     static final String JOB_DESCRIPTION = "storedJobDescription";
     static final String FIT_SCORE = "storedFitScore";
     static final String FIT_EXPLANATION = "storedFitExplanation";
+    static final String PREPARATION = "storedPreparation";
+    static final String PREPARATION_KEY = "storedPreparationKey";
     static final String UPGRADED_CV = "generatedUpgradedCv";
     static final String UPGRADED_KEYWORDS = "generatedAtsKeywords";
     static final String UPGRADED_SUMMARY = "generatedOptimisationSummary";
     static final String SUGGESTIONS = "generatedSuggestions";
     static final String IMPROVE_SCORE = "generatedImproveScore";
     static final String INTERVIEW_PREP = "generatedInterviewPrep";
+    static final String APPLIED_ANALYSIS_JOB = "appliedAnalysisJob";
 }
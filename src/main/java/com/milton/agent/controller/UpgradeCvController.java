@@ -2,9 +2,14 @@ package com.milton.agent.controller;
 
 import com.embabel.agent.api.common.autonomy.AgentInvocation;
 import com.embabel.agent.core.AgentPlatform;
+import com.milton.agent.exceptions.LlmCircuitOpenException;
+import com.milton.agent.metrics.JobFitMetrics;
 import com.milton.agent.models.CvRewriteRequest;
+import com.milton.agent.models.FollowUpAction;
 import com.milton.agent.models.UpgradedCv;
+import com.milton.agent.service.FollowUpPrefetchService;
 import com.milton.agent.service.PdfService;
+import com.milton.agent.service.RequestDeadlines;
 import com.milton.agent.util.TimedOperation;
 import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
@@ -28,7 +33,10 @@ import java.util.List;
 public class UpgradeCvController {
 
     private final AgentPlatform agentPlatform;
+    private final RequestDeadlines requestDeadlines;
     private final PdfService pdfService;
+    private final FollowUpPrefetchService followUpPrefetchService;
+    private final JobFitMetrics metrics;
 
     @GetMapping({"/upgrade-cv", "/upgrade_cv.html"})
     public String showUpgradeCv(HttpSession session, Model model, RedirectAttributes redirectAttributes) {
@@ -61,10 +69,15 @@ public class UpgradeCvController {
                     fitExplanation
             );
 
-            var rewriteInvocation = AgentInvocation.create(agentPlatform, UpgradedCv.class);
-            UpgradedCv upgradedCv;
-            try (TimedOperation ignored = TimedOperation.start(log, "Upgraded CV agent invocation")) {
-                upgradedCv = rewriteInvocation.invoke(rewriteRequest);
+            UpgradedCv upgradedCv = followUpPrefetchService.claim(getUserId(session),
+                    FollowUpAction.UPGRADE_CV, rewriteRequest, UpgradedCv.class).orElse(null);
+            if (upgradedCv == null) {
+                var rewriteInvocation = AgentInvocation.create(agentPlatform, UpgradedCv.class);
+                try (TimedOperation ignored = TimedOperation.start(log, "Upgraded CV agent invocation")) {
+                    upgradedCv = metrics.recordInvocation("upgrade-cv", JobFitMetrics.NONE,
+                            () -> requestDeadlines.within(rewriteRequest, requestDeadlines.forDefault(),
+                                    () -> rewriteInvocation.invoke(rewriteRequest)));
+                }
             }
 
             String rewrittenText = (upgradedCv.cvText() == null || upgradedCv.cvText().isBlank())
@@ -84,6 +97,9 @@ public class UpgradeCvController {
             log.warn("Invalid data supplied for upgraded CV generation", ex);
             redirectAttributes.addFlashAttribute("error", "We could not process your request. Please upload your CV and job description again.");
             return "redirect:/";
+        } catch (LlmCircuitOpenException ex) {
+            // Answered the same way on every page by LlmUnavailableAdvice
+            throw ex;
         } catch (RuntimeException ex) {
             log.error("Failed to generate upgraded CV", ex);
             redirectAttributes.addFlashAttribute("error", "We couldn't generate an upgraded CV right now. Please try again in a moment.");
@@ -151,6 +167,14 @@ public class UpgradeCvController {
         }
     }
 
+    /**
+     * Converts session ID to a consistent Long userId.
+     * Each unique session gets a unique userId based on session ID hash.
+     */
+    private Long getUserId(HttpSession session) {
+        return (long) Math.abs(session.getId().hashCode());
+    }
+
     private void populateUpgradeModel(Model model,
                                       HttpSession session,
                                       String upgradedCvText,
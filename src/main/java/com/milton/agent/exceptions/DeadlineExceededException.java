@@ -0,0 +1,20 @@
+package com.milton.agent.exceptions;
+
+/**
+ * Thrown when a request runs out of its time budget before an agent step could finish.
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    /**
+     * What users are told when an analysis runs out of time (pages and REST responses).
+     */
+    public static final String USER_MESSAGE = "The analysis took too long to complete. Please try again in a moment.";
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+
+    public DeadlineExceededException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,19 @@
+package com.milton.agent.exceptions;
+
+/**
+ * Thrown when an LLM call cannot get a slot on its model's bulkhead: the wait queue is full,
+ * or the call waited longer than the configured queue timeout.
+ */
+public class LlmBulkheadRejectedException extends RuntimeException {
+
+    private final String model;
+
+    public LlmBulkheadRejectedException(String model, String message) {
+        super(message);
+        this.model = model;
+    }
+
+    public String getModel() {
+        return model;
+    }
+}
@@ -0,0 +1,35 @@
+package com.milton.agent.exceptions;
+
+import java.time.Duration;
+
+/**
+ * Thrown instead of calling an LLM model whose circuit breaker is open, because recent calls to
+ * it mostly failed or were too slow.
+ */
+public class LlmCircuitOpenException extends RuntimeException {
+
+    /**
+     * What users are told, wherever the failure surfaces (pages, REST responses, jobs and streams).
+     */
+    public static final String USER_MESSAGE = "Our AI provider is having problems right now. Please try again in a minute.";
+
+    private final String model;
+    private final Duration retryAfter;
+
+    public LlmCircuitOpenException(String model, Duration retryAfter) {
+        super("Circuit breaker for " + model + " is open, retry in " + retryAfter.toSeconds() + "s");
+        this.model = model;
+        this.retryAfter = retryAfter;
+    }
+
+    public String getModel() {
+        return model;
+    }
+
+    /**
+     * Time until the breaker lets trial calls through again.
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
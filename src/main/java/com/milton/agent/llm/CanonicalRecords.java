@@ -0,0 +1,119 @@
+package com.milton.agent.llm;
+
+import com.milton.agent.models.CvSkills;
+import com.milton.agent.models.JobRequirements;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Compact, deterministic text form of the extracted records for prompt slots and cache keys.
+ * <p>
+ * Record {@code toString()} repeats every field name and bracket and depends on the order the
+ * model listed items in. Here each non-empty section becomes {@code LABEL: item; item} with items
+ * whitespace-collapsed, de-duplicated ignoring case and sorted, and sections are joined by
+ * {@code " | "} on one line so the form also reads well inline in a bulleted prompt. The same
+ * records always produce the same string.
+ */
+public final class CanonicalRecords {
+
+    private static final String ITEM_SEPARATOR = "; ";
+    private static final String SECTION_SEPARATOR = " | ";
+    // Case-insensitive order first so "aws" and "AWS" sit together; ties broken by exact text
+    private static final Comparator<String> ITEM_ORDER = String.CASE_INSENSITIVE_ORDER.thenComparing(Comparator.naturalOrder());
+
+    private CanonicalRecords() {
+    }
+
+    public static String format(CvSkills cvSkills) {
+        if (cvSkills == null) {
+            return "";
+        }
+        StringBuilder out = new StringBuilder();
+        appendSection(out, "TECH", cvSkills.technicalSkills());
+        appendSection(out, "PRO", cvSkills.professionalSkills());
+        appendSection(out, "SOFT", cvSkills.softSkills());
+        appendSection(out, "QUAL", cvSkills.qualifications());
+        return out.toString();
+    }
+
+    public static String format(JobRequirements jobRequirements) {
+        if (jobRequirements == null) {
+            return "";
+        }
+        StringBuilder out = new StringBuilder();
+        appendSection(out, "CRITICAL", jobRequirements.criticalRequirements());
+        appendSection(out, "IMPORTANT", jobRequirements.importantRequirements());
+        appendSection(out, "SUPPORTING", jobRequirements.supportingRequirements());
+        return out.toString();
+    }
+
+    /**
+     * Cleaned, de-duplicated and sorted items of one section.
+     */
+    static List<String> canonicalItems(List<String> items) {
+        if (items == null || items.isEmpty()) {
+            return List.of();
+        }
+        List<String> cleaned = new ArrayList<>(items.size());
+        for (String item : items) {
+            String value = clean(item);
+            if (!value.isEmpty()) {
+                cleaned.add(value);
+            }
+        }
+        cleaned.sort(ITEM_ORDER);
+
+        // After sorting, spellings that differ only in case are adjacent; the first is kept
+        List<String> unique = new ArrayList<>(cleaned.size());
+        String previousKey = null;
+        for (String value : cleaned) {
+            String key = value.toLowerCase(Locale.ROOT);
+            if (!key.equals(previousKey)) {
+                unique.add(value);
+                previousKey = key;
+            }
+        }
+        return unique;
+    }
+
+    private static void appendSection(StringBuilder out, String label, List<String> items) {
+        List<String> values = canonicalItems(items);
+        if (values.isEmpty()) {
+            return;
+        }
+        if (!out.isEmpty()) {
+            out.append(SECTION_SEPARATOR);
+        }
+        out.append(label).append(": ").append(String.join(ITEM_SEPARATOR, values));
+    }
+
+    // Separators inside an item would make the output ambiguous, so they become commas and spaces
+    private static String clean(String item) {
+        if (item == null) {
+            return "";
+        }
+        StringBuilder value = new StringBuilder(item.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < item.length(); i++) {
+            char c = item.charAt(i);
+            if (c == ';') {
+                c = ',';
+            } else if (c == '|') {
+                c = '/';
+            }
+            if (Character.isWhitespace(c) || Character.isSpaceChar(c)) {
+                pendingSpace = !value.isEmpty();
+                continue;
+            }
+            if (pendingSpace) {
+                value.append(' ');
+                pendingSpace = false;
+            }
+            value.append(c);
+        }
+        return value.toString();
+    }
+}
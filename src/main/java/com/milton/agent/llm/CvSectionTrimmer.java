@@ -0,0 +1,231 @@
+package com.milton.agent.llm;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Shrinks CV text to a token budget, giving up the least useful content first.
+ * <p>
+ * Short lines repeated three or more times (page headers, a name and phone number on every page)
+ * are kept once. The CV is then split on recognised section headers and whole sections are
+ * dropped from the bottom up in order of value: references, then hobbies and personal details,
+ * then supplementary sections such as awards or languages, then education and projects. The
+ * profile, experience and skills sections are never dropped; if the text is still over budget it
+ * is cut at a line boundary with a marker.
+ */
+public final class CvSectionTrimmer {
+
+    static final String TRUNCATION_MARKER = "\n[... truncated to fit the prompt token budget ...]";
+
+    private static final int MAX_HEADER_LENGTH = 40;
+    private static final int MAX_REPEATED_LINE_LENGTH = 80;
+    private static final int REPEATS_TO_DROP = 3;
+
+    /**
+     * Section kinds in the order they are given up; {@code droppable} kinds may be removed whole.
+     */
+    enum SectionKind {
+        REFERENCES(true),
+        PERSONAL(true),
+        SUPPLEMENTARY(true),
+        SECONDARY(true),
+        PROFILE(false),
+        CORE(false);
+
+        private final boolean droppable;
+
+        SectionKind(boolean droppable) {
+            this.droppable = droppable;
+        }
+    }
+
+    private static final Map<String, SectionKind> HEADERS = new HashMap<>();
+
+    static {
+        register(SectionKind.REFERENCES, "references", "reference", "referees",
+                "references available on request", "references available upon request", "declaration");
+        register(SectionKind.PERSONAL, "hobbies", "interests", "hobbies and interests", "hobbies interests", "personal interests",
+                "other interests", "outside interests", "personal details", "personal information", "personal");
+        register(SectionKind.SUPPLEMENTARY, "volunteering", "volunteer experience", "voluntary work", "activities",
+                "extracurricular activities", "awards", "achievements", "awards and achievements", "honours",
+                "honors", "publications", "languages", "additional information", "memberships",
+                "professional memberships");
+        register(SectionKind.SECONDARY, "education", "education and training", "qualifications", "certifications",
+                "certificates", "courses", "training", "projects", "personal projects", "key projects");
+        register(SectionKind.PROFILE, "summary", "profile", "professional summary", "personal profile",
+                "personal statement", "career summary", "career objective", "objective", "about me");
+        register(SectionKind.CORE, "experience", "work experience", "professional experience", "relevant experience",
+                "employment", "employment history", "work history", "career history", "skills", "key skills",
+                "technical skills", "core skills", "core competencies", "competencies", "skills and abilities",
+                "technical expertise");
+    }
+
+    private CvSectionTrimmer() {
+    }
+
+    /**
+     * Result of trimming: the text sent to the model and what it cost before and after.
+     */
+    public record TrimResult(String text, int originalTokens, int trimmedTokens, List<String> droppedSections) {
+
+        public int savedTokens() {
+            return originalTokens - trimmedTokens;
+        }
+    }
+
+    public static TrimResult trim(String cvText, int maxTokens) {
+        String text = cvText == null ? "" : cvText;
+        int originalTokens = TokenEstimator.estimate(text);
+        if (originalTokens <= maxTokens) {
+            return new TrimResult(text, originalTokens, originalTokens, List.of());
+        }
+
+        List<Section> sections = split(dropRepeatedLines(text));
+        int tokens = sections.stream().mapToInt(Section::tokens).sum();
+        List<String> dropped = new ArrayList<>();
+        for (SectionKind kind : SectionKind.values()) {
+            if (!kind.droppable) {
+                break;
+            }
+            // Later sections of the same kind go first
+            for (int i = sections.size() - 1; i >= 0 && tokens > maxTokens; i--) {
+                Section section = sections.get(i);
+                if (section.kind() == kind) {
+                    sections.remove(i);
+                    tokens -= section.tokens();
+                    dropped.add(0, section.header());
+                }
+            }
+        }
+
+        StringBuilder kept = new StringBuilder(text.length());
+        for (Section section : sections) {
+            kept.append(section.text());
+        }
+        String result = tokens > maxTokens ? truncate(kept.toString(), maxTokens) : kept.toString();
+        return new TrimResult(result, originalTokens, TokenEstimator.estimate(result), List.copyOf(dropped));
+    }
+
+    /**
+     * Keeps the head of the text that fits in {@code maxTokens}, cut at a line boundary where
+     * possible, followed by a truncation marker.
+     */
+    public static String truncate(String text, int maxTokens) {
+        if (text == null || TokenEstimator.estimate(text) <= maxTokens) {
+            return text;
+        }
+        int remaining = maxTokens - TokenEstimator.estimate(TRUNCATION_MARKER);
+        if (remaining <= 0) {
+            return "";
+        }
+
+        StringBuilder out = new StringBuilder();
+        int start = 0;
+        while (start < text.length()) {
+            int end = text.indexOf('\n', start);
+            end = end < 0 ? text.length() : end + 1;
+            int lineTokens = TokenEstimator.estimate(text.subSequence(start, end));
+            if (lineTokens > remaining) {
+                if (out.isEmpty()) {
+                    // A single oversized line (text without line breaks): cut it by characters
+                    out.append(text, start, Math.min(end, start + remaining * 2));
+                }
+                break;
+            }
+            out.append(text, start, end);
+            remaining -= lineTokens;
+            start = end;
+        }
+        return out.append(TRUNCATION_MARKER).toString();
+    }
+
+    static SectionKind headerKind(String line) {
+        String trimmed = line.strip();
+        if (trimmed.isEmpty() || trimmed.length() > MAX_HEADER_LENGTH) {
+            return null;
+        }
+        return HEADERS.get(normalize(trimmed));
+    }
+
+    private static List<Section> split(String text) {
+        List<Section> sections = new ArrayList<>();
+        SectionKind kind = SectionKind.PROFILE; // name, contact details and any untitled opening summary
+        String header = "(opening)";
+        int sectionStart = 0;
+        int lineStart = 0;
+        while (lineStart < text.length()) {
+            int lineEnd = text.indexOf('\n', lineStart);
+            int next = lineEnd < 0 ? text.length() : lineEnd + 1;
+            SectionKind lineKind = headerKind(text.substring(lineStart, lineEnd < 0 ? text.length() : lineEnd));
+            if (lineKind != null) {
+                if (lineStart > sectionStart) {
+                    sections.add(Section.of(kind, header, text.substring(sectionStart, lineStart)));
+                }
+                kind = lineKind;
+                header = text.substring(lineStart, lineEnd < 0 ? text.length() : lineEnd).strip();
+                sectionStart = lineStart;
+            }
+            lineStart = next;
+        }
+        if (sectionStart < text.length()) {
+            sections.add(Section.of(kind, header, text.substring(sectionStart)));
+        }
+        return sections;
+    }
+
+    private static String dropRepeatedLines(String text) {
+        Map<String, Integer> counts = new HashMap<>();
+        text.lines()
+                .map(String::strip)
+                .filter(line -> !line.isEmpty() && line.length() <= MAX_REPEATED_LINE_LENGTH)
+                .forEach(line -> counts.merge(line, 1, Integer::sum));
+
+        Map<String, Boolean> seen = new HashMap<>();
+        StringBuilder out = new StringBuilder(text.length());
+        text.lines().forEach(line -> {
+            String key = line.strip();
+            boolean repeated = counts.getOrDefault(key, 0) >= REPEATS_TO_DROP;
+            if (repeated && seen.putIfAbsent(key, Boolean.TRUE) != null) {
+                return;
+            }
+            out.append(line).append('\n');
+        });
+        return out.toString();
+    }
+
+    private static String normalize(String header) {
+        StringBuilder out = new StringBuilder(header.length());
+        String lower = header.toLowerCase(Locale.ROOT).replace("&", " and ");
+        boolean space = false;
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            if (Character.isLetter(c)) {
+                if (space && !out.isEmpty()) {
+                    out.append(' ');
+                }
+                out.append(c);
+                space = false;
+            } else {
+                // Punctuation separates words ("Hobbies/Interests:", "WORK-EXPERIENCE")
+                space = true;
+            }
+        }
+        return out.toString();
+    }
+
+    private static void register(SectionKind kind, String... headers) {
+        for (String header : headers) {
+            HEADERS.put(header, kind);
+        }
+    }
+
+    private record Section(SectionKind kind, String header, String text, int tokens) {
+
+        static Section of(SectionKind kind, String header, String text) {
+            return new Section(kind, header, text, TokenEstimator.estimate(text));
+        }
+    }
+}
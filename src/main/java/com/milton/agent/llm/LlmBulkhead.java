@@ -0,0 +1,133 @@
+package com.milton.agent.llm;
+
+import com.milton.agent.exceptions.LlmBulkheadRejectedException;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Concurrency limit for calls to one LLM model.
+ * <p>
+ * At most {@code maxConcurrent} calls run at once. Further callers wait in a fair queue of at most
+ * {@code maxQueued} entries for up to {@code queueTimeout}; callers beyond the queue bound, or that
+ * time out while waiting, are rejected with {@link LlmBulkheadRejectedException} instead of piling
+ * up behind a slow model.
+ */
+public class LlmBulkhead {
+
+    private final String model;
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final Duration queueTimeout;
+
+    private final Semaphore permits;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder queueWaitNanos = new LongAdder();
+
+    public LlmBulkhead(String model, int maxConcurrent, int maxQueued, Duration queueTimeout) {
+        if (maxConcurrent <= 0 || maxQueued < 0 || queueTimeout.isNegative()) {
+            throw new IllegalArgumentException("Invalid bulkhead settings for " + model + ": maxConcurrent="
+                    + maxConcurrent + ", maxQueued=" + maxQueued + ", queueTimeout=" + queueTimeout);
+        }
+        this.model = model;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = maxQueued;
+        this.queueTimeout = queueTimeout;
+        this.permits = new Semaphore(maxConcurrent, true);
+    }
+
+    /**
+     * Runs the call once a slot is free.
+     *
+     * @throws LlmBulkheadRejectedException if the queue is full or the wait exceeds the queue timeout
+     */
+    public <T> T execute(Supplier<T> call) {
+        return execute(call, queueTimeout);
+    }
+
+    /**
+     * Runs the call once a slot is free, waiting no longer than {@code maxWait} or the queue
+     * timeout, whichever is shorter (for callers with less time left than the queue timeout).
+     *
+     * @throws LlmBulkheadRejectedException if the queue is full or the wait runs out
+     */
+    public <T> T execute(Supplier<T> call, Duration maxWait) {
+        acquire(maxWait.compareTo(queueTimeout) < 0 ? maxWait : queueTimeout);
+        inFlight.incrementAndGet();
+        try {
+            return call.get();
+        } finally {
+            inFlight.decrementAndGet();
+            permits.release();
+        }
+    }
+
+    private void acquire(Duration wait) {
+        if (permits.tryAcquire()) {
+            return;
+        }
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            rejected.increment();
+            throw new LlmBulkheadRejectedException(model,
+                    "Too many " + model + " calls waiting (" + maxQueued + " queued)");
+        }
+
+        long startTime = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(wait.toNanos(), TimeUnit.NANOSECONDS)) {
+                rejected.increment();
+                throw new LlmBulkheadRejectedException(model,
+                        "Waited more than " + wait.toMillis() + "ms for a " + model + " slot");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rejected.increment();
+            throw new LlmBulkheadRejectedException(model, "Interrupted while waiting for a " + model + " slot");
+        } finally {
+            queued.decrementAndGet();
+            queueWaitNanos.add(System.nanoTime() - startTime);
+        }
+    }
+
+    public String model() {
+        return model;
+    }
+
+    public int maxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int maxQueued() {
+        return maxQueued;
+    }
+
+    public Duration queueTimeout() {
+        return queueTimeout;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public int queued() {
+        return queued.get();
+    }
+
+    public long rejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * Total time callers spent queued, in seconds.
+     */
+    public double queueWaitSeconds() {
+        return queueWaitNanos.sum() / 1e9;
+    }
+}
@@ -0,0 +1,97 @@
+package com.milton.agent.llm;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * One {@link LlmBulkhead} per model, so a burst of slow GPT-5 scoring calls cannot take the
+ * capacity that cheap GPT-4.1-mini extractions need, and no model is driven past its provider
+ * rate limit.
+ * <p>
+ * Limits are read per model from {@code jobfit.llm.bulkhead.<model>.max-concurrent},
+ * {@code .max-queued} and {@code .queue-timeout}, falling back to
+ * {@code jobfit.llm.bulkhead.default.*}. In-flight and queued gauges and rejected and queue-wait
+ * counters are published per model under {@code jobfit.llm.bulkhead.*}.
+ */
+@Slf4j
+@Component
+public class LlmBulkheads {
+
+    private static final String PREFIX = "jobfit.llm.bulkhead.";
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, LlmBulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    public LlmBulkheads(Environment environment, MeterRegistry meterRegistry) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+        // Create the configured models up front so their meters exist before the first call
+        for (String model : environment.getProperty(PREFIX + "models", String[].class, new String[0])) {
+            forModel(model.trim());
+        }
+    }
+
+    /**
+     * Runs an LLM call within the bulkhead for its model.
+     */
+    public <T> T execute(String model, Supplier<T> call) {
+        return forModel(model).execute(call);
+    }
+
+    /**
+     * Runs an LLM call within the bulkhead for its model, queueing for at most {@code maxWait}.
+     */
+    public <T> T execute(String model, Duration maxWait, Supplier<T> call) {
+        return forModel(model).execute(call, maxWait);
+    }
+
+    public LlmBulkhead forModel(String model) {
+        return bulkheads.computeIfAbsent(model, this::create);
+    }
+
+    private LlmBulkhead create(String model) {
+        LlmBulkhead bulkhead = new LlmBulkhead(model,
+                setting(model, "max-concurrent", Integer.class, 8),
+                setting(model, "max-queued", Integer.class, 50),
+                setting(model, "queue-timeout", Duration.class, Duration.ofSeconds(15)));
+
+        Tags tags = Tags.of("model", model);
+        Gauge.builder(PREFIX + "in-flight", bulkhead, LlmBulkhead::inFlight)
+                .tags(tags)
+                .description("LLM calls currently running")
+                .register(meterRegistry);
+        Gauge.builder(PREFIX + "queued", bulkhead, LlmBulkhead::queued)
+                .tags(tags)
+                .description("LLM calls waiting for a slot")
+                .register(meterRegistry);
+        FunctionCounter.builder(PREFIX + "rejected", bulkhead, LlmBulkhead::rejected)
+                .tags(tags)
+                .description("LLM calls rejected because the queue was full or the wait timed out")
+                .register(meterRegistry);
+        FunctionCounter.builder(PREFIX + "queue-wait", bulkhead, LlmBulkhead::queueWaitSeconds)
+                .tags(tags)
+                .baseUnit("seconds")
+                .description("Total time LLM calls spent waiting for a slot")
+                .register(meterRegistry);
+
+        log.info("LLM bulkhead for {}: {} concurrent, {} queued, {} queue timeout", model,
+                bulkhead.maxConcurrent(), bulkhead.maxQueued(), bulkhead.queueTimeout());
+        return bulkhead;
+    }
+
+    private <T> T setting(String model, String name, Class<T> type, T fallback) {
+        T defaultValue = environment.getProperty(PREFIX + "default." + name, type, fallback);
+        return environment.getProperty(PREFIX + model + "." + name, type, defaultValue);
+    }
+}
@@ -0,0 +1,237 @@
+package com.milton.agent.llm;
+
+import com.milton.agent.exceptions.LlmBulkheadRejectedException;
+import com.milton.agent.exceptions.LlmCircuitOpenException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker for calls to one LLM model, so a degraded provider fails requests in
+ * microseconds instead of holding every caller for its full deadline.
+ * <p>
+ * While {@link State#CLOSED} the outcomes of the last {@code windowSize} calls are kept. Once at
+ * least {@code minimumCalls} are recorded and the share of failed calls reaches
+ * {@code failureRateThreshold} percent, or the share of calls slower than {@code slowCallDuration}
+ * reaches {@code slowCallRateThreshold} percent, the breaker opens and rejects every call with
+ * {@link LlmCircuitOpenException} for {@code openDuration}. The next call after that moves it to
+ * {@link State#HALF_OPEN}: up to {@code halfOpenCalls} trial calls go through, the breaker closes
+ * when all of them succeed quickly and opens again on the first failed or slow one.
+ * <p>
+ * Bulkhead rejections are local capacity limits, not provider failures, and are not recorded.
+ * Calls cancelled by their caller (the thread is interrupted, e.g. a sibling extraction failed or
+ * the request deadline passed) only count when they were already slow, so {@code slowCallDuration}
+ * must be well below the request deadlines for calls that hang until the deadline to be counted.
+ * Durations include any wait for a bulkhead slot.
+ */
+@Slf4j
+public class LlmCircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    public record Settings(int windowSize, int minimumCalls, double failureRateThreshold,
+                           Duration slowCallDuration, double slowCallRateThreshold,
+                           Duration openDuration, int halfOpenCalls) {
+
+        public Settings {
+            if (windowSize <= 0 || minimumCalls <= 0 || minimumCalls > windowSize
+                    || failureRateThreshold <= 0 || failureRateThreshold > 100
+                    || slowCallRateThreshold <= 0 || slowCallRateThreshold > 100
+                    || slowCallDuration.isNegative() || slowCallDuration.isZero()
+                    || openDuration.isNegative() || halfOpenCalls <= 0) {
+                throw new IllegalArgumentException("Invalid circuit breaker settings: windowSize=" + windowSize
+                        + ", minimumCalls=" + minimumCalls + ", failureRateThreshold=" + failureRateThreshold
+                        + ", slowCallDuration=" + slowCallDuration + ", slowCallRateThreshold=" + slowCallRateThreshold
+                        + ", openDuration=" + openDuration + ", halfOpenCalls=" + halfOpenCalls);
+            }
+        }
+    }
+
+    private final String model;
+    private final Settings settings;
+    private final LongSupplier nanoClock;
+
+    // Ring buffer of the last windowSize outcomes while closed
+    private final boolean[] failedCalls;
+    private final boolean[] slowCalls;
+    private int next;
+    private int recorded;
+    private int failures;
+    private int slow;
+
+    private State state = State.CLOSED;
+    // Incremented on every state change, so calls started before it do not count towards the new state
+    private long generation;
+    private long openedAtNanos;
+    private int halfOpenStarted;
+    private int halfOpenSucceeded;
+
+    private final LongAdder notPermitted = new LongAdder();
+
+    public LlmCircuitBreaker(String model, Settings settings) {
+        this(model, settings, System::nanoTime);
+    }
+
+    LlmCircuitBreaker(String model, Settings settings, LongSupplier nanoClock) {
+        this.model = model;
+        this.settings = settings;
+        this.nanoClock = nanoClock;
+        this.failedCalls = new boolean[settings.windowSize()];
+        this.slowCalls = new boolean[settings.windowSize()];
+    }
+
+    /**
+     * Runs the call if the breaker permits it and records how it went.
+     *
+     * @throws LlmCircuitOpenException if the breaker is open, or half-open with all trial calls taken
+     */
+    public <T> T execute(Supplier<T> call) {
+        long permit = acquire();
+        long startTime = nanoClock.getAsLong();
+        T result;
+        try {
+            result = call.get();
+        } catch (LlmBulkheadRejectedException e) {
+            release(permit);
+            throw e;
+        } catch (RuntimeException | Error e) {
+            long elapsed = nanoClock.getAsLong() - startTime;
+            if (Thread.currentThread().isInterrupted()) {
+                if (isSlow(elapsed)) {
+                    record(permit, false, true);
+                } else {
+                    release(permit);
+                }
+            } else {
+                record(permit, true, isSlow(elapsed));
+            }
+            throw e;
+        }
+        record(permit, false, isSlow(nanoClock.getAsLong() - startTime));
+        return result;
+    }
+
+    private synchronized long acquire() {
+        if (state == State.OPEN) {
+            long remaining = openedAtNanos + settings.openDuration().toNanos() - nanoClock.getAsLong();
+            if (remaining > 0) {
+                notPermitted.increment();
+                throw new LlmCircuitOpenException(model, Duration.ofNanos(remaining));
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenStarted >= settings.halfOpenCalls()) {
+                notPermitted.increment();
+                throw new LlmCircuitOpenException(model, settings.openDuration());
+            }
+            halfOpenStarted++;
+        }
+        return generation;
+    }
+
+    private synchronized void release(long permit) {
+        if (permit == generation && state == State.HALF_OPEN) {
+            halfOpenStarted--;
+        }
+    }
+
+    private synchronized void record(long permit, boolean failed, boolean slowCall) {
+        if (permit != generation) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            if (failed || slowCall) {
+                log.warn("Trial call to {} {}, reopening circuit breaker", model, failed ? "failed" : "was slow");
+                transitionTo(State.OPEN);
+            } else if (++halfOpenSucceeded >= settings.halfOpenCalls()) {
+                transitionTo(State.CLOSED);
+            }
+            return;
+        }
+
+        if (recorded == failedCalls.length) {
+            failures -= failedCalls[next] ? 1 : 0;
+            slow -= slowCalls[next] ? 1 : 0;
+        } else {
+            recorded++;
+        }
+        failedCalls[next] = failed;
+        slowCalls[next] = slowCall;
+        failures += failed ? 1 : 0;
+        slow += slowCall ? 1 : 0;
+        next = (next + 1) % failedCalls.length;
+
+        if (recorded >= settings.minimumCalls()
+                && (failureRate() >= settings.failureRateThreshold()
+                || slowCallRate() >= settings.slowCallRateThreshold())) {
+            log.warn("Opening circuit breaker for {}: {}% of the last {} calls failed, {}% were slower than {}",
+                    model, Math.round(failureRate()), recorded, Math.round(slowCallRate()),
+                    settings.slowCallDuration());
+            transitionTo(State.OPEN);
+        }
+    }
+
+    private void transitionTo(State newState) {
+        if (newState != State.OPEN) {
+            log.info("Circuit breaker for {} is now {}", model, newState);
+        }
+        state = newState;
+        generation++;
+        switch (newState) {
+            case OPEN -> openedAtNanos = nanoClock.getAsLong();
+            case HALF_OPEN -> {
+                halfOpenStarted = 0;
+                halfOpenSucceeded = 0;
+            }
+            case CLOSED -> {
+                next = 0;
+                recorded = 0;
+                failures = 0;
+                slow = 0;
+            }
+        }
+    }
+
+    private boolean isSlow(long elapsedNanos) {
+        return elapsedNanos >= settings.slowCallDuration().toNanos();
+    }
+
+    public String model() {
+        return model;
+    }
+
+    public Settings settings() {
+        return settings;
+    }
+
+    /**
+     * Current state; an open breaker whose open duration has passed reports OPEN until the next call.
+     */
+    public synchronized State state() {
+        return state;
+    }
+
+    /**
+     * Percentage of failed calls in the current window, 0 when nothing is recorded.
+     */
+    public synchronized double failureRate() {
+        return recorded == 0 ? 0 : failures * 100.0 / recorded;
+    }
+
+    /**
+     * Percentage of slow calls in the current window, 0 when nothing is recorded.
+     */
+    public synchronized double slowCallRate() {
+        return recorded == 0 ? 0 : slow * 100.0 / recorded;
+    }
+
+    public long notPermitted() {
+        return notPermitted.sum();
+    }
+}
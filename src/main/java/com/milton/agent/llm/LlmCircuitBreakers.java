@@ -0,0 +1,114 @@
+package com.milton.agent.llm;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * One {@link LlmCircuitBreaker} per model, so an outage of GPT-5 fails thoughtful scoring fast
+ * while GPT-4.1-mini extractions keep running.
+ * <p>
+ * Settings are read per model from {@code jobfit.llm.circuit-breaker.<model>.*}, falling back to
+ * {@code jobfit.llm.circuit-breaker.default.*}; {@code jobfit.llm.circuit-breaker.enabled=false}
+ * passes every call straight through. State (0 closed, 1 open, 2 half-open), failure and slow-call
+ * rate gauges and a not-permitted counter are published per model under
+ * {@code jobfit.llm.circuit-breaker.*}.
+ */
+@Slf4j
+@Component
+public class LlmCircuitBreakers {
+
+    private static final String PREFIX = "jobfit.llm.circuit-breaker.";
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Map<String, LlmCircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    public LlmCircuitBreakers(Environment environment, MeterRegistry meterRegistry) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+        this.enabled = environment.getProperty(PREFIX + "enabled", Boolean.class, true);
+        if (!enabled) {
+            log.info("LLM circuit breakers are disabled");
+            return;
+        }
+        // Create the configured models up front so their meters exist before the first call
+        for (String model : environment.getProperty(PREFIX + "models", String[].class, new String[0])) {
+            forModel(model.trim());
+        }
+    }
+
+    /**
+     * Runs an LLM call through the circuit breaker for its model.
+     *
+     * @throws com.milton.agent.exceptions.LlmCircuitOpenException if the model's breaker is open
+     */
+    public <T> T execute(String model, Supplier<T> call) {
+        return enabled ? forModel(model).execute(call) : call.get();
+    }
+
+    public LlmCircuitBreaker forModel(String model) {
+        return breakers.computeIfAbsent(model, this::create);
+    }
+
+    private LlmCircuitBreaker create(String model) {
+        LlmCircuitBreaker breaker = new LlmCircuitBreaker(model, new LlmCircuitBreaker.Settings(
+                setting(model, "window-size", Integer.class, 20),
+                setting(model, "minimum-calls", Integer.class, 10),
+                setting(model, "failure-rate-threshold", Double.class, 50.0),
+                setting(model, "slow-call-duration", Duration.class, Duration.ofSeconds(30)),
+                setting(model, "slow-call-rate-threshold", Double.class, 80.0),
+                setting(model, "open-duration", Duration.class, Duration.ofSeconds(30)),
+                setting(model, "half-open-calls", Integer.class, 2)));
+
+        Tags tags = Tags.of("model", model);
+        Gauge.builder(PREFIX + "state", breaker, b -> b.state().ordinal())
+                .tags(tags)
+                .description("Circuit breaker state: 0 closed, 1 open, 2 half-open")
+                .register(meterRegistry);
+        Gauge.builder(PREFIX + "failure-rate", breaker, LlmCircuitBreaker::failureRate)
+                .tags(tags)
+                .baseUnit("percent")
+                .description("Failed calls in the breaker's current window")
+                .register(meterRegistry);
+        Gauge.builder(PREFIX + "slow-call-rate", breaker, LlmCircuitBreaker::slowCallRate)
+                .tags(tags)
+                .baseUnit("percent")
+                .description("Calls slower than the slow-call duration in the breaker's current window")
+                .register(meterRegistry);
+        FunctionCounter.builder(PREFIX + "not-permitted", breaker, LlmCircuitBreaker::notPermitted)
+                .tags(tags)
+                .description("LLM calls rejected without being sent because the breaker was open")
+                .register(meterRegistry);
+
+        LlmCircuitBreaker.Settings settings = breaker.settings();
+        // A call cut off by its deadline only counts when it was already slow, so a hung provider
+        // can only open the breaker if slow calls are detected before the shortest deadline ends
+        Duration shortestDeadline = environment.getProperty("jobfit.deadline.analysis.quick", Duration.class,
+                Duration.ofSeconds(60));
+        if (settings.slowCallDuration().compareTo(shortestDeadline) >= 0) {
+            log.warn("LLM circuit breaker for {}: slow-call duration {} is not below the {} quick analysis deadline, "
+                    + "calls that hang until the deadline will not open it", model, settings.slowCallDuration(),
+                    shortestDeadline);
+        }
+        log.info("LLM circuit breaker for {}: opens at {}% failed or {}% slower than {} of the last {} calls, "
+                        + "stays open {}", model, settings.failureRateThreshold(), settings.slowCallRateThreshold(),
+                settings.slowCallDuration(), settings.windowSize(), settings.openDuration());
+        return breaker;
+    }
+
+    private <T> T setting(String model, String name, Class<T> type, T fallback) {
+        T defaultValue = environment.getProperty(PREFIX + "default." + name, type, fallback);
+        return environment.getProperty(PREFIX + model + "." + name, type, defaultValue);
+    }
+}
@@ -0,0 +1,93 @@
+package com.milton.agent.llm;
+
+import com.milton.agent.config.PromptLoader;
+import com.milton.agent.config.PromptTemplate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Renders a prompt within the input token budget of its action.
+ * <p>
+ * Budgets are read from {@code jobfit.llm.token-budget.<prompt>} (the prompt file name without
+ * {@code .txt}), falling back to {@code jobfit.llm.token-budget.default}. When the rendered prompt
+ * is over budget, the CV slot ({@code cvText} or {@code originalCv}) is trimmed section by section
+ * with {@link CvSectionTrimmer} and the {@code jobDescription} slot is cut to at most a third of
+ * the space left after the instructions, or more if the CV needs less. Everything else in the
+ * prompt is sent as is.
+ */
+@Slf4j
+@Component
+public class PromptAssembler {
+
+    private static final String PREFIX = "jobfit.llm.token-budget.";
+    private static final int DEFAULT_BUDGET = 12_000;
+    private static final List<String> CV_SLOTS = List.of("cvText", "originalCv");
+    private static final String JOB_DESCRIPTION_SLOT = "jobDescription";
+
+    private final PromptLoader promptLoader;
+    private final Environment environment;
+
+    public PromptAssembler(PromptLoader promptLoader, Environment environment) {
+        this.promptLoader = promptLoader;
+        this.environment = environment;
+    }
+
+    /**
+     * Renders the prompt file with the given slot values, trimming the CV and job description
+     * if the result would exceed the prompt's token budget.
+     */
+    public String assemble(String promptFile, Map<String, ?> values) {
+        PromptTemplate template = promptLoader.template(promptFile);
+        String prompt = template.render(values);
+        int budget = budgetFor(promptFile);
+        int totalTokens = TokenEstimator.estimate(prompt);
+        if (totalTokens <= budget) {
+            return prompt;
+        }
+
+        String cvSlot = CV_SLOTS.stream().filter(template.slotNames()::contains).findFirst().orElse(null);
+        String cvText = cvSlot == null ? null : stringValue(values, cvSlot);
+        String jobDescription = template.slotNames().contains(JOB_DESCRIPTION_SLOT)
+                ? stringValue(values, JOB_DESCRIPTION_SLOT) : null;
+        int cvTokens = TokenEstimator.estimate(cvText);
+        int jobDescriptionTokens = TokenEstimator.estimate(jobDescription);
+
+        int available = Math.max(0, budget - (totalTokens - cvTokens - jobDescriptionTokens));
+        int jobDescriptionBudget = cvText == null ? available
+                : Math.min(jobDescriptionTokens, Math.max(available / 3, available - cvTokens));
+        int cvBudget = available - Math.min(jobDescriptionTokens, jobDescriptionBudget);
+
+        Map<String, Object> trimmed = new HashMap<>(values);
+        List<String> droppedSections = List.of();
+        if (cvText != null) {
+            CvSectionTrimmer.TrimResult result = CvSectionTrimmer.trim(cvText, cvBudget);
+            trimmed.put(cvSlot, result.text());
+            droppedSections = result.droppedSections();
+        }
+        if (jobDescription != null && jobDescriptionTokens > jobDescriptionBudget) {
+            trimmed.put(JOB_DESCRIPTION_SLOT, CvSectionTrimmer.truncate(jobDescription, jobDescriptionBudget));
+        }
+
+        String trimmedPrompt = template.render(trimmed);
+        int trimmedTokens = TokenEstimator.estimate(trimmedPrompt);
+        log.info("Prompt {} trimmed from ~{} to ~{} tokens (budget {}, saved ~{}), dropped CV sections {}",
+                promptFile, totalTokens, trimmedTokens, budget, totalTokens - trimmedTokens, droppedSections);
+        return trimmedPrompt;
+    }
+
+    int budgetFor(String promptFile) {
+        String name = promptFile.endsWith(".txt") ? promptFile.substring(0, promptFile.length() - 4) : promptFile;
+        int fallback = environment.getProperty(PREFIX + "default", Integer.class, DEFAULT_BUDGET);
+        return environment.getProperty(PREFIX + name, Integer.class, fallback);
+    }
+
+    private static String stringValue(Map<String, ?> values, String slot) {
+        Object value = values.get(slot);
+        return value == null ? null : String.valueOf(value);
+    }
+}
@@ -0,0 +1,195 @@
+package com.milton.agent.llm;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Builds schema-valid sample JSON for the structured-output calls the agent makes, so an
+ * OpenAI-compatible stub can answer {@code CvSkills}, {@code JobRequirements}, {@code FitScore}
+ * and every other record without a hand-written fixture per type.
+ * <p>
+ * The schema is the one Spring AI's output converter sends: either {@code response_format.json_schema}
+ * or the fenced JSON schema appended to the prompt. Array items are drawn from a CV/job vocabulary
+ * and free-text fields get a sentence of configurable length, so response sizes resemble real ones.
+ */
+public final class SchemaSampleGenerator {
+
+    // Fenced JSON block, as in "Here is the JSON Schema instance your output must adhere to: ```{...}```"
+    private static final Pattern FENCED_JSON = Pattern.compile("```(?:json)?\\s*(\\{.*?})\\s*```", Pattern.DOTALL);
+
+    private static final List<String> VOCABULARY = List.of(
+            "Java", "Spring Boot", "REST APIs", "PostgreSQL", "Kubernetes", "AWS", "Docker", "Kafka",
+            "Microservices", "CI/CD", "Terraform", "React", "TypeScript", "Python", "System design",
+            "Stakeholder management", "Mentoring", "Agile delivery", "Communication", "Problem solving",
+            "BSc Computer Science", "AWS Certified Developer", "Observability", "Unit testing");
+
+    private static final int MAX_DEPTH = 8;
+
+    private final ObjectMapper objectMapper;
+    private final int arrayItems;
+    private final int sentenceWords;
+
+    public SchemaSampleGenerator(ObjectMapper objectMapper, int arrayItems, int sentenceWords) {
+        this.objectMapper = objectMapper;
+        this.arrayItems = Math.max(1, arrayItems);
+        this.sentenceWords = Math.max(1, sentenceWords);
+    }
+
+    /**
+     * The last fenced JSON schema in {@code text}, if any.
+     */
+    public Optional<JsonNode> findSchema(String text) {
+        if (text == null) {
+            return Optional.empty();
+        }
+        JsonNode found = null;
+        Matcher matcher = FENCED_JSON.matcher(text);
+        while (matcher.find()) {
+            try {
+                JsonNode candidate = objectMapper.readTree(matcher.group(1));
+                if (candidate.has("properties") || candidate.has("type") || candidate.has("$ref")) {
+                    found = candidate;
+                }
+            } catch (JsonProcessingException e) {
+                // Not a schema; prompts may contain other fenced text
+            }
+        }
+        return Optional.ofNullable(found);
+    }
+
+    /**
+     * A value valid against {@code schema}; local {@code $ref}s into {@code $defs} or
+     * {@code definitions} are resolved against the schema itself.
+     */
+    public JsonNode sample(JsonNode schema, Random random) {
+        return sample(schema, schema, false, random, 0);
+    }
+
+    private JsonNode sample(JsonNode root, JsonNode schema, boolean arrayItem, Random random, int depth) {
+        schema = resolve(root, schema);
+        if (depth > MAX_DEPTH) {
+            return objectMapper.nullNode();
+        }
+        if (schema.has("const")) {
+            return schema.get("const");
+        }
+        if (schema.has("enum") && !schema.get("enum").isEmpty()) {
+            JsonNode values = schema.get("enum");
+            return values.get(random.nextInt(values.size()));
+        }
+        for (String combinator : new String[]{"anyOf", "oneOf", "allOf"}) {
+            JsonNode options = schema.get(combinator);
+            if (options != null && !options.isEmpty()) {
+                return sample(root, firstNonNull(root, options), arrayItem, random, depth + 1);
+            }
+        }
+
+        return switch (typeOf(schema)) {
+            case "object" -> sampleObject(root, schema, random, depth);
+            case "array" -> sampleArray(root, schema, random, depth);
+            case "integer" -> objectMapper.getNodeFactory().numberNode(Math.round(between(schema, 0, 100, random)));
+            case "number" -> objectMapper.getNodeFactory().numberNode(between(schema, 0, 1, random));
+            case "boolean" -> objectMapper.getNodeFactory().booleanNode(random.nextBoolean());
+            case "null" -> objectMapper.nullNode();
+            default -> objectMapper.getNodeFactory().textNode(arrayItem ? term(random) : sentence(random));
+        };
+    }
+
+    private ObjectNode sampleObject(JsonNode root, JsonNode schema, Random random, int depth) {
+        ObjectNode object = objectMapper.createObjectNode();
+        JsonNode properties = schema.get("properties");
+        if (properties == null) {
+            return object;
+        }
+        Iterator<Map.Entry<String, JsonNode>> fields = properties.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            object.set(field.getKey(), sample(root, field.getValue(), false, random, depth + 1));
+        }
+        return object;
+    }
+
+    private ArrayNode sampleArray(JsonNode root, JsonNode schema, Random random, int depth) {
+        ArrayNode array = objectMapper.createArrayNode();
+        JsonNode items = schema.has("items") ? schema.get("items") : objectMapper.createObjectNode();
+        int size = Math.max(arrayItems, schema.path("minItems").asInt(0));
+        if (schema.has("maxItems")) {
+            size = Math.min(size, schema.get("maxItems").asInt());
+        }
+        for (int i = 0; i < size; i++) {
+            array.add(sample(root, items, true, random, depth + 1));
+        }
+        return array;
+    }
+
+    private JsonNode resolve(JsonNode root, JsonNode schema) {
+        for (int hops = 0; schema.has("$ref") && hops < MAX_DEPTH; hops++) {
+            String ref = schema.get("$ref").asText();
+            if (!ref.startsWith("#")) {
+                break;
+            }
+            JsonNode target = root.at(ref.substring(1));
+            if (target.isMissingNode()) {
+                break;
+            }
+            schema = target;
+        }
+        return schema;
+    }
+
+    private JsonNode firstNonNull(JsonNode root, JsonNode options) {
+        for (JsonNode option : options) {
+            if (!"null".equals(typeOf(resolve(root, option)))) {
+                return option;
+            }
+        }
+        return options.get(0);
+    }
+
+    // "type" may be a single name or a list such as ["string", "null"]
+    private static String typeOf(JsonNode schema) {
+        JsonNode type = schema.get("type");
+        if (type == null) {
+            return schema.has("properties") ? "object" : schema.has("items") ? "array" : "string";
+        }
+        if (type.isArray()) {
+            for (JsonNode name : type) {
+                if (!"null".equals(name.asText())) {
+                    return name.asText();
+                }
+            }
+            return "null";
+        }
+        return type.asText();
+    }
+
+    private static double between(JsonNode schema, double defaultMin, double defaultMax, Random random) {
+        double min = schema.path("minimum").asDouble(defaultMin);
+        double max = schema.path("maximum").asDouble(Math.max(min, defaultMax));
+        return max <= min ? min : min + random.nextDouble() * (max - min);
+    }
+
+    private String term(Random random) {
+        return VOCABULARY.get(random.nextInt(VOCABULARY.size()));
+    }
+
+    private String sentence(Random random) {
+        StringBuilder text = new StringBuilder("Stub response:");
+        for (int i = 0; i < sentenceWords; i++) {
+            text.append(' ').append(term(random).toLowerCase(Locale.ROOT));
+        }
+        return text.append('.').toString();
+    }
+}
@@ -0,0 +1,49 @@
+package com.milton.agent.llm;
+
+import java.time.Duration;
+import java.util.Random;
+
+/**
+ * Response time model for the OpenAI-compatible stub.
+ * <p>
+ * {@code LOG_NORMAL} is the default because LLM latencies are right-skewed: it is parameterised by
+ * the median and the 99th percentile, which is how provider latency is usually reported, and every
+ * sample is clamped to {@code [min, max]}. {@code UNIFORM} draws between {@code min} and
+ * {@code max}; {@code FIXED} always answers after {@code median}.
+ */
+public record StubLatency(Distribution distribution, Duration min, Duration median, Duration p99, Duration max) {
+
+    public enum Distribution {
+        FIXED,
+        UNIFORM,
+        LOG_NORMAL
+    }
+
+    // 99th percentile of the standard normal distribution
+    private static final double Z_99 = 2.326;
+
+    public StubLatency {
+        if (distribution == null || min == null || median == null || p99 == null || max == null) {
+            throw new IllegalArgumentException("Stub latency settings must all be set");
+        }
+        if (min.isNegative() || min.compareTo(max) > 0) {
+            throw new IllegalArgumentException("Stub latency needs 0 <= min <= max, got min=" + min + " max=" + max);
+        }
+        if (distribution == Distribution.LOG_NORMAL && (median.isZero() || p99.compareTo(median) < 0)) {
+            throw new IllegalArgumentException("Log-normal stub latency needs 0 < median <= p99, got median="
+                    + median + " p99=" + p99);
+        }
+    }
+
+    public Duration sample(Random random) {
+        long nanos = switch (distribution) {
+            case FIXED -> median.toNanos();
+            case UNIFORM -> min.toNanos() + (long) (random.nextDouble() * (max.toNanos() - min.toNanos()));
+            case LOG_NORMAL -> {
+                double sigma = Math.log((double) p99.toNanos() / median.toNanos()) / Z_99;
+                yield (long) (median.toNanos() * Math.exp(sigma * random.nextGaussian()));
+            }
+        };
+        return Duration.ofNanos(Math.max(min.toNanos(), Math.min(max.toNanos(), nanos)));
+    }
+}
@@ -0,0 +1,148 @@
+package com.milton.agent.metrics;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.milton.agent.exceptions.DeadlineExceededException;
+import com.milton.agent.exceptions.LlmBulkheadRejectedException;
+import com.milton.agent.exceptions.LlmCircuitOpenException;
+import com.milton.agent.llm.TokenEstimator;
+import io.micrometer.common.KeyValues;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Observations (a timer plus a trace span each) for the stages of an analysis, tagged by outcome
+ * ({@code success}, {@code deadline_exceeded}, {@code rejected}, {@code circuit_open} or {@code error}):
+ * <ul>
+ *     <li>{@code jobfit.agent.invocation}: each {@code AgentInvocation} made for a page, tagged by goal
+ *     and mode. One invocation runs several actions on different models, so it has no model tag.</li>
+ *     <li>{@code jobfit.agent.action}: each agent {@code @Action}, tagged by action, model and mode.</li>
+ *     <li>{@code jobfit.llm.call}: each LLM call including its bulkhead wait, tagged by model.</li>
+ *     <li>{@code jobfit.pdf}: CV text extraction and PDF rendering, tagged by stage.</li>
+ * </ul>
+ * Each observation is the current one while its block runs, so nested stages become child spans,
+ * also on the agent executor (see ExecutorConfig). The gap between an invocation span and its
+ * first action span is Embabel planning.
+ * <p>
+ * {@code jobfit.llm.tokens} counts input and output tokens per model, estimated with
+ * {@link TokenEstimator} from the prompt and the JSON form of the result. Percentile histograms
+ * are switched on in application.properties, so they are scraped from /actuator/prometheus.
+ */
+@Component
+public class JobFitMetrics {
+
+    public static final String ACTION_TIMER = "jobfit.agent.action";
+    public static final String INVOCATION_TIMER = "jobfit.agent.invocation";
+    public static final String LLM_CALL_TIMER = "jobfit.llm.call";
+    public static final String PDF_TIMER = "jobfit.pdf";
+    public static final String TOKEN_COUNTER = "jobfit.llm.tokens";
+
+    /**
+     * Tag value for actions that are not tied to one model or analysis mode.
+     */
+    public static final String NONE = "none";
+
+    private final ObservationRegistry observationRegistry;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+
+    public JobFitMetrics(ObservationRegistry observationRegistry, MeterRegistry meterRegistry,
+                         ObjectMapper objectMapper) {
+        this.observationRegistry = observationRegistry;
+        this.meterRegistry = meterRegistry;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * A timed block; {@code E} lets checked exceptions such as {@code IOException} pass through.
+     */
+    @FunctionalInterface
+    public interface TimedCall<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    public static String mode(boolean quickResponse) {
+        return quickResponse ? "quick" : "thoughtful";
+    }
+
+    public <T, E extends Exception> T recordAction(String action, String model, String mode, TimedCall<T, E> call)
+            throws E {
+        return observe(ACTION_TIMER, action, KeyValues.of("action", action, "model", model, "mode", mode), call);
+    }
+
+    public <T, E extends Exception> T recordInvocation(String goal, String mode, TimedCall<T, E> call) throws E {
+        return observe(INVOCATION_TIMER, "invoke " + goal, KeyValues.of("goal", goal, "mode", mode), call);
+    }
+
+    public <T, E extends Exception> T recordLlmCall(String model, TimedCall<T, E> call) throws E {
+        return observe(LLM_CALL_TIMER, "chat " + model, KeyValues.of("model", model), call);
+    }
+
+    public <T, E extends Exception> T recordPdf(String stage, TimedCall<T, E> call) throws E {
+        return observe(PDF_TIMER, "pdf " + stage, KeyValues.of("stage", stage), call);
+    }
+
+    /**
+     * Counts the estimated tokens of one LLM call: the prompt sent and the object it was parsed into.
+     */
+    public void recordTokens(String model, String prompt, Object result) {
+        counter(model, "input").increment(TokenEstimator.estimate(prompt));
+        if (result != null) {
+            counter(model, "output").increment(TokenEstimator.estimate(json(result)));
+        }
+    }
+
+    static String outcomeOf(Throwable failure) {
+        if (failure == null) {
+            return "success";
+        }
+        if (failure instanceof DeadlineExceededException) {
+            return "deadline_exceeded";
+        }
+        if (failure instanceof LlmBulkheadRejectedException) {
+            return "rejected";
+        }
+        if (failure instanceof LlmCircuitOpenException) {
+            return "circuit_open";
+        }
+        return "error";
+    }
+
+    private <T, E extends Exception> T observe(String name, String spanName, KeyValues keyValues,
+                                               TimedCall<T, E> call) throws E {
+        Observation observation = Observation.createNotStarted(name, observationRegistry)
+                .contextualName(spanName)
+                .lowCardinalityKeyValues(keyValues)
+                .start();
+        Throwable failure = null;
+        try (Observation.Scope ignored = observation.openScope()) {
+            return call.call();
+        } catch (Exception | Error e) {
+            failure = e;
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.lowCardinalityKeyValue("outcome", outcomeOf(failure));
+            observation.stop();
+        }
+    }
+
+    private Counter counter(String model, String type) {
+        return Counter.builder(TOKEN_COUNTER)
+                .tags("model", model, "type", type)
+                .baseUnit("tokens")
+                .description("Estimated LLM tokens sent (input) and received (output)")
+                .register(meterRegistry);
+    }
+
+    private String json(Object result) {
+        try {
+            return objectMapper.writeValueAsString(result);
+        } catch (JsonProcessingException e) {
+            return String.valueOf(result);
+        }
+    }
+}
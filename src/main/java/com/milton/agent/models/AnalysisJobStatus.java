@@ -0,0 +1,21 @@
+package com.milton.agent.models;
+
+import java.util.List;
+
+/**
+ * Snapshot of an asynchronous analysis job returned by the status endpoint.
+ */
+public record AnalysisJobStatus(
+        String jobId,
+        AnalysisStage stage,
+        List<StageUpdate> stages,
+        FitScore fitScore,
+        String error
+) {
+
+    /**
+     * A stage reached by the job, with the time since the job was accepted.
+     */
+    public record StageUpdate(AnalysisStage stage, long elapsedMs, FitScore fitScore) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.milton.agent.models;
+
+/**
+ * Application event published by the agent as an analysis moves through its stages.
+ *
+ * @param request  request object of the agent invocation that reached the stage; listeners match it
+ *                 by identity, since equal requests may belong to different invocations
+ * @param stage    stage that was just reached
+ * @param fitScore provisional or final score for scoring stages, otherwise null
+ */
+public record AnalysisProgressEvent(Object request, AnalysisStage stage, FitScore fitScore) {
+}
@@ -0,0 +1,15 @@
+package com.milton.agent.models;
+
+/**
+ * Progress stages reported for an analysis, in the order they normally occur.
+ */
+public enum AnalysisStage {
+    QUEUED,
+    RUNNING,
+    CV_EXTRACTED,
+    REQUIREMENTS_EXTRACTED,
+    PROVISIONAL_SCORE,
+    SCORED,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,16 @@
+package com.milton.agent.models;
+
+/**
+ * Fit score for one job description of a batch.
+ *
+ * @param index    position of the job description in the request
+ * @param title    first line of the job description, for display
+ * @param fitScore score, or null if this job description failed
+ * @param error    failure message, or null on success
+ */
+public record BatchScoreResult(int index, String title, FitScore fitScore, String error) {
+
+    public boolean succeeded() {
+        return fitScore != null;
+    }
+}
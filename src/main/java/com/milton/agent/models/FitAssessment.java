@@ -0,0 +1,8 @@
+package com.milton.agent.models;
+
+/**
+ * What the fit-score LLM call returns. Turned into a {@link FitScore} by the agent; kept apart from
+ * it so the output schema the model is given only holds fields the model should produce.
+ */
+public record FitAssessment(int score, String explanation) {
+}
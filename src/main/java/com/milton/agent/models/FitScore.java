@@ -1,4 +1,13 @@
 package com.milton.agent.models;
 
-public record FitScore(int score, String explanation) {
+/**
+ * @param provisional true for a local estimate made without the LLM (see LocalFitScorer); shown
+ *                    as such and never cached. The LLM answers with a {@link FitAssessment}, which
+ *                    has no such field.
+ */
+public record FitScore(int score, String explanation, boolean provisional) {
+
+    public FitScore(int score, String explanation) {
+        this(score, explanation, false);
+    }
 }
@@ -0,0 +1,11 @@
+package com.milton.agent.models;
+
+/**
+ * The follow-up a result page offers for a fit score band (see {@code jobfit.score.*}).
+ */
+public enum FollowUpAction {
+    SUGGESTIONS,
+    IMPROVE_SCORE,
+    UPGRADE_CV,
+    INTERVIEW_PREP
+}
@@ -0,0 +1,7 @@
+package com.milton.agent.models;
+
+/**
+ * A CV kept in a recruiter ranking. Only the file name and score are retained, not the CV text.
+ */
+public record RankedCandidate(String fileName, FitScore fitScore) {
+}
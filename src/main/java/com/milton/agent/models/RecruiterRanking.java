@@ -0,0 +1,13 @@
+package com.milton.agent.models;
+
+import java.util.List;
+
+/**
+ * Result of ranking many CVs against one job description.
+ *
+ * @param processed  CVs scored successfully
+ * @param failed     CVs that could not be read or scored
+ * @param candidates best-scoring CVs, highest first, at most the requested top K
+ */
+public record RecruiterRanking(int processed, int failed, List<RankedCandidate> candidates) {
+}
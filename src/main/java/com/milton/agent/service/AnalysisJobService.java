@@ -0,0 +1,288 @@
+package com.milton.agent.service;
+
+import com.embabel.agent.api.common.autonomy.AgentInvocation;
+import com.embabel.agent.core.AgentPlatform;
+import com.milton.agent.exceptions.LlmCircuitOpenException;
+import com.milton.agent.models.AnalysisJobStatus;
+import com.milton.agent.models.AnalysisJobStatus.StageUpdate;
+import com.milton.agent.models.AnalysisProgressEvent;
+import com.milton.agent.models.AnalysisStage;
+import com.milton.agent.models.FitScore;
+import com.milton.agent.models.JobFitRequest;
+import com.milton.agent.util.TimedOperation;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs fit score analyses in the background so the submitting request returns immediately.
+ * <p>
+ * Jobs execute on a bounded worker pool that is independent of the servlet container's threads;
+ * when every worker is busy and the queue is full, submissions are rejected rather than piling up.
+ * Stage progress published by the agent ({@link AnalysisProgressEvent}) is recorded for the job
+ * whose invocation published it and pushed to any Server-Sent Events subscribers. Finished jobs are kept for a retention period so
+ * clients can still collect the result, then evicted.
+ */
+@Slf4j
+@Service
+public class AnalysisJobService {
+
+    private final AgentPlatform agentPlatform;
+    private final RequestDeadlines requestDeadlines;
+    private final ThreadPoolExecutor executor;
+    private final Duration retention;
+    private final Duration emitterTimeout;
+
+    // Key: job id, Value: job state (queued, running and recently finished jobs)
+    private final Map<String, AnalysisJob> jobs = new ConcurrentHashMap<>();
+
+    public AnalysisJobService(AgentPlatform agentPlatform,
+                              RequestDeadlines requestDeadlines,
+                              @Value("${jobfit.analysis.async.workers:4}") int workers,
+                              @Value("${jobfit.analysis.async.queue-capacity:50}") int queueCapacity,
+                              @Value("${jobfit.analysis.async.retention:15m}") Duration retention,
+                              @Value("${jobfit.analysis.async.sse-timeout:5m}") Duration emitterTimeout) {
+        this.agentPlatform = agentPlatform;
+        this.requestDeadlines = requestDeadlines;
+        this.retention = retention;
+        this.emitterTimeout = emitterTimeout;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "analysis-job-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Queues a fit score analysis and returns its job id. The role and company are kept with the
+     * job so the result can later be applied alongside the inputs it was computed from.
+     *
+     * @throws RejectedExecutionException if all workers are busy and the queue is full
+     */
+    public String submit(JobFitRequest request, String role, String company, Long userId) {
+        String jobId = UUID.randomUUID().toString();
+        AnalysisJob job = new AnalysisJob(jobId, userId, new JobInputs(request, role, company));
+        job.record(AnalysisStage.QUEUED, null);
+        jobs.put(jobId, job);
+
+        try {
+            executor.execute(() -> run(job, request));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(jobId);
+            log.warn("Analysis queue full ({} queued), rejecting job for user {}", executor.getQueue().size(), userId);
+            throw e;
+        }
+        log.info("Queued analysis job {} for user {} ({} queued, {} active)",
+                jobId, userId, executor.getQueue().size(), executor.getActiveCount());
+        return jobId;
+    }
+
+    /**
+     * Returns the current state of a job, or empty if it is unknown, expired or owned by another user.
+     */
+    public Optional<AnalysisJobStatus> status(String jobId, Long userId) {
+        return find(jobId, userId).map(AnalysisJob::snapshot);
+    }
+
+    /**
+     * Returns the inputs a job was submitted with, or empty if it is unknown, expired or owned by
+     * another user.
+     */
+    public Optional<JobInputs> inputs(String jobId, Long userId) {
+        return find(jobId, userId).map(job -> job.inputs);
+    }
+
+    /**
+     * Opens an event stream for a job. Stages already reached are replayed first; the stream
+     * completes after the terminal COMPLETED or FAILED event.
+     */
+    public Optional<SseEmitter> subscribe(String jobId, Long userId) {
+        return find(jobId, userId).map(job -> {
+            SseEmitter emitter = new SseEmitter(emitterTimeout.toMillis());
+            job.attach(emitter);
+            return emitter;
+        });
+    }
+
+    /**
+     * Records a stage for the job that invoked the agent with the event's request. Matched by
+     * identity: a synchronous analysis, another user's job or a job in the other mode may be
+     * analysing an equal CV and job description at the same time.
+     */
+    @EventListener
+    public void onProgress(AnalysisProgressEvent event) {
+        for (AnalysisJob job : jobs.values()) {
+            if (job.inputs.request() == event.request()) {
+                job.record(event.stage(), event.fitScore());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jobfit.analysis.async.cleanup-interval:60000}")
+    public void evictExpiredJobs() {
+        long cutoff = System.nanoTime() - retention.toNanos();
+        int before = jobs.size();
+        jobs.values().removeIf(job -> job.finishedBefore(cutoff));
+        int evicted = before - jobs.size();
+        if (evicted > 0) {
+            log.debug("Evicted {} finished analysis jobs", evicted);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(AnalysisJob job, JobFitRequest request) {
+        job.record(AnalysisStage.RUNNING, null);
+        try (TimedOperation ignored = TimedOperation.start(log, "Async fit score agent invocation")) {
+            FitScore fitScore = requestDeadlines.within(request, requestDeadlines.forAnalysis(request.QuickResponse()),
+                    () -> AgentInvocation.create(agentPlatform, FitScore.class).invoke(request));
+            job.complete(fitScore);
+            log.info("Analysis job {} completed with score {}", job.id, fitScore.score());
+        } catch (LlmCircuitOpenException e) {
+            log.warn("Analysis job {} failed fast: {}", job.id, e.getMessage());
+            job.fail(LlmCircuitOpenException.USER_MESSAGE);
+        } catch (RuntimeException e) {
+            log.error("Analysis job {} failed", job.id, e);
+            job.fail("Analysis failed. Please try again.");
+        }
+    }
+
+    private Optional<AnalysisJob> find(String jobId, Long userId) {
+        AnalysisJob job = jobs.get(jobId);
+        if (job == null || !job.ownerId.equals(userId)) {
+            return Optional.empty();
+        }
+        return Optional.of(job);
+    }
+
+    /**
+     * What a job was submitted with. Not part of {@link AnalysisJobStatus}, which is sent to clients.
+     */
+    public record JobInputs(JobFitRequest request, String role, String company) {
+    }
+
+    /**
+     * Mutable job state. All access goes through the job's monitor so stage updates, the result
+     * and SSE pushes are observed in order.
+     */
+    private static final class AnalysisJob {
+
+        private final String id;
+        private final Long ownerId;
+        private final JobInputs inputs;
+        private final long acceptedAtNanos = System.nanoTime();
+
+        private final List<StageUpdate> stages = new ArrayList<>();
+        private final List<SseEmitter> emitters = new ArrayList<>();
+        private AnalysisStage stage;
+        private FitScore fitScore;
+        private String error;
+        private long finishedAtNanos;
+
+        private AnalysisJob(String id, Long ownerId, JobInputs inputs) {
+            this.id = id;
+            this.ownerId = ownerId;
+            this.inputs = inputs;
+        }
+
+        synchronized void record(AnalysisStage newStage, FitScore stageScore) {
+            // Cache hits and the planner calling both extraction actions can report a stage twice
+            if (isFinished() || stages.stream().anyMatch(update -> update.stage() == newStage)) {
+                return;
+            }
+            StageUpdate update = new StageUpdate(newStage,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - acceptedAtNanos), stageScore);
+            stages.add(update);
+            stage = newStage;
+            emitters.removeIf(emitter -> !send(emitter, update));
+        }
+
+        synchronized void complete(FitScore result) {
+            fitScore = result;
+            finish(AnalysisStage.COMPLETED, result);
+        }
+
+        synchronized void fail(String message) {
+            error = message;
+            finish(AnalysisStage.FAILED, null);
+        }
+
+        synchronized void attach(SseEmitter emitter) {
+            for (StageUpdate update : stages) {
+                if (!send(emitter, update)) {
+                    return;
+                }
+            }
+            if (isFinished()) {
+                emitter.complete();
+                return;
+            }
+            emitter.onCompletion(() -> detach(emitter));
+            emitter.onTimeout(() -> detach(emitter));
+            emitters.add(emitter);
+        }
+
+        synchronized AnalysisJobStatus snapshot() {
+            return new AnalysisJobStatus(id, stage, List.copyOf(stages), fitScore, error);
+        }
+
+        synchronized boolean finishedBefore(long cutoffNanos) {
+            return isFinished() && finishedAtNanos - cutoffNanos < 0;
+        }
+
+        private synchronized void detach(SseEmitter emitter) {
+            emitters.remove(emitter);
+        }
+
+        private void finish(AnalysisStage terminalStage, FitScore result) {
+            record(terminalStage, result);
+            finishedAtNanos = System.nanoTime();
+            emitters.forEach(SseEmitter::complete);
+            emitters.clear();
+        }
+
+        private boolean isFinished() {
+            return stage == AnalysisStage.COMPLETED || stage == AnalysisStage.FAILED;
+        }
+
+        private static boolean send(SseEmitter emitter, StageUpdate update) {
+            try {
+                emitter.send(SseEmitter.event()
+                        .name(update.stage().name().toLowerCase(Locale.ROOT))
+                        .data(update));
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; the job carries on and the result stays available for polling
+                emitter.completeWithError(e);
+                return false;
+            }
+        }
+    }
+}
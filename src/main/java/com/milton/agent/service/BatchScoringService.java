@@ -0,0 +1,198 @@
+package com.milton.agent.service;
+
+import com.embabel.agent.api.common.autonomy.AgentInvocation;
+import com.embabel.agent.core.AgentPlatform;
+import com.milton.agent.config.ExecutorConfig;
+import com.milton.agent.exceptions.LlmCircuitOpenException;
+import com.milton.agent.models.BatchScoreResult;
+import com.milton.agent.models.FitScore;
+import com.milton.agent.models.JobFitRequest;
+import com.milton.agent.util.TimedOperation;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+/**
+ * Scores one CV against many job descriptions.
+ * <p>
+ * Each job description runs as its own agent invocation on a virtual thread, with at most
+ * {@code jobfit.batch.max-concurrency} in flight per batch. The CV is extracted once: concurrent
+ * invocations join the same CV skills extraction and later ones read it from the CV skills cache,
+ * so only job requirement extraction and scoring fan out.
+ */
+@Slf4j
+@Service
+public class BatchScoringService {
+
+    // Orders successful results by score, best first, then failures, each in request order
+    static final Comparator<BatchScoreResult> RANKING = Comparator
+            .comparing(BatchScoreResult::succeeded).reversed()
+            .thenComparingInt(result -> result.succeeded() ? -result.fitScore().score() : 0)
+            .thenComparingInt(BatchScoreResult::index);
+
+    private static final int MAX_TITLE_LENGTH = 80;
+    private static final String CANCELLED = "Batch was cancelled";
+
+    private final AgentPlatform agentPlatform;
+    private final RequestDeadlines requestDeadlines;
+    private final int maxJobDescriptions;
+    private final int maxConcurrency;
+    private final Duration streamTimeout;
+
+    public BatchScoringService(AgentPlatform agentPlatform,
+                               RequestDeadlines requestDeadlines,
+                               @Value("${jobfit.batch.max-job-descriptions:50}") int maxJobDescriptions,
+                               @Value("${jobfit.batch.max-concurrency:4}") int maxConcurrency,
+                               @Value("${jobfit.batch.stream-timeout:10m}") Duration streamTimeout) {
+        this.agentPlatform = agentPlatform;
+        this.requestDeadlines = requestDeadlines;
+        this.maxJobDescriptions = maxJobDescriptions;
+        this.maxConcurrency = maxConcurrency;
+        this.streamTimeout = streamTimeout;
+    }
+
+    public int getMaxJobDescriptions() {
+        return maxJobDescriptions;
+    }
+
+    /**
+     * Scores every job description and returns the results ranked by score.
+     */
+    public List<BatchScoreResult> scoreAll(String cvText, List<String> jobDescriptions, boolean quickResponse) {
+        return scoreAll(cvText, jobDescriptions, quickResponse, result -> { });
+    }
+
+    /**
+     * Scores every job description, handing each result to {@code onResult} as soon as it completes
+     * (on the scoring thread), and returns all results ranked by score once the batch has finished.
+     */
+    public List<BatchScoreResult> scoreAll(String cvText, List<String> jobDescriptions, boolean quickResponse,
+                                           Consumer<BatchScoreResult> onResult) {
+        if (jobDescriptions.size() > maxJobDescriptions) {
+            throw new IllegalArgumentException("A batch can contain at most " + maxJobDescriptions + " job descriptions");
+        }
+
+        Semaphore permits = new Semaphore(maxConcurrency);
+        List<BatchScoreResult> results = new ArrayList<>(jobDescriptions.size());
+
+        try (TimedOperation ignored = TimedOperation.start(log, "Batch scoring of " + jobDescriptions.size() + " job descriptions");
+             ExecutorService executor = ExecutorConfig.propagatingContext(Executors.newVirtualThreadPerTaskExecutor())) {
+            for (int i = 0; i < jobDescriptions.size(); i++) {
+                int index = i;
+                String jobDescription = jobDescriptions.get(i);
+                executor.execute(() -> {
+                    BatchScoreResult result = scoreOne(index, cvText, jobDescription, quickResponse, permits);
+                    synchronized (results) {
+                        results.add(result);
+                    }
+                    onResult.accept(result);
+                });
+            }
+            // ExecutorService.close() waits for every task to finish; interrupted, it cancels the ones still running
+        }
+
+        results.sort(RANKING);
+        return results;
+    }
+
+    /**
+     * Runs the batch on a virtual thread and streams it as Server-Sent Events: one {@code result}
+     * event per job description as it completes, then a {@code ranked} event with the full ranking.
+     * The batch is cancelled when the stream ends early (the client disconnects, the stream times
+     * out, or an event cannot be delivered): job descriptions not yet scored are skipped.
+     */
+    public SseEmitter stream(String cvText, List<String> jobDescriptions, boolean quickResponse) {
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        Thread scoring = Thread.ofVirtual().name("batch-stream").unstarted(() -> {
+            Thread streamThread = Thread.currentThread();
+            try {
+                List<BatchScoreResult> ranked = scoreAll(cvText, jobDescriptions, quickResponse, result -> {
+                    if (!send(emitter, "result", result)) {
+                        streamThread.interrupt();
+                    }
+                });
+                if (streamThread.isInterrupted()) {
+                    log.info("Batch stream cancelled, {} of {} job descriptions not scored",
+                            ranked.stream().filter(result -> CANCELLED.equals(result.error())).count(), ranked.size());
+                } else {
+                    send(emitter, "ranked", ranked);
+                }
+                emitter.complete();
+            } catch (RuntimeException e) {
+                log.error("Batch scoring stream failed", e);
+                emitter.completeWithError(e);
+            }
+        });
+        // Interrupting the stream thread cancels the batch (see scoreAll's executor)
+        emitter.onCompletion(scoring::interrupt);
+        emitter.onTimeout(scoring::interrupt);
+        emitter.onError(e -> scoring.interrupt());
+        scoring.start();
+        return emitter;
+    }
+
+    private BatchScoreResult scoreOne(int index, String cvText, String jobDescription, boolean quickResponse,
+                                      Semaphore permits) {
+        String title = titleOf(jobDescription);
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new BatchScoreResult(index, title, null, CANCELLED);
+        }
+        try {
+            JobFitRequest request = new JobFitRequest(cvText, jobDescription, quickResponse);
+            FitScore fitScore = requestDeadlines.within(request, requestDeadlines.forAnalysis(request.QuickResponse()),
+                    () -> AgentInvocation.create(agentPlatform, FitScore.class).invoke(request));
+            log.info("Batch item {} scored {}", index, fitScore.score());
+            return new BatchScoreResult(index, title, fitScore, null);
+        } catch (LlmCircuitOpenException e) {
+            log.warn("Batch item {} failed fast: {}", index, e.getMessage());
+            return new BatchScoreResult(index, title, null, LlmCircuitOpenException.USER_MESSAGE);
+        } catch (RuntimeException e) {
+            if (Thread.currentThread().isInterrupted()) {
+                return new BatchScoreResult(index, title, null, CANCELLED);
+            }
+            // One failing job description must not sink the rest of the batch
+            log.warn("Batch item {} failed", index, e);
+            return new BatchScoreResult(index, title, null, "Scoring failed for this job description");
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Sends one event, returning false if the client can no longer receive it.
+     */
+    private static boolean send(SseEmitter emitter, String name, Object data) {
+        try {
+            synchronized (emitter) {
+                emitter.send(SseEmitter.event().name(name).data(data));
+            }
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropped batch {} event for disconnected client", name);
+            return false;
+        }
+    }
+
+    static String titleOf(String jobDescription) {
+        return jobDescription.lines()
+                .map(String::strip)
+                .filter(line -> !line.isEmpty())
+                .findFirst()
+                .map(line -> line.length() > MAX_TITLE_LENGTH ? line.substring(0, MAX_TITLE_LENGTH) + "…" : line)
+                .orElse("");
+    }
+}
@@ -0,0 +1,303 @@
+package com.milton.agent.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntConsumer;
+
+/**
+ * Normalizes extracted document text before it reaches the LLM as billable tokens.
+ * <p>
+ * Text is streamed through a {@link Sink} (a {@link Writer} that {@code PDFTextStripper} writes
+ * into directly), which collapses whitespace runs, drops blank-line runs, turns bullet glyphs into
+ * {@code "- "} and re-joins words hyphenated across a line break. Characters go into one reused
+ * line buffer; only finished lines are materialised. When the document is complete, lines that
+ * open or close most pages (running headers, footers, page numbers) are dropped.
+ */
+@Service
+public class CvTextCompactor {
+
+    /** Page separator the extractor writes between pages. */
+    public static final char PAGE_BREAK = '\f';
+
+    private static final int EDGE_LINES = 3;
+    private static final double BOILERPLATE_PAGE_SHARE = 0.6;
+    // Bullet glyphs, including the private-use code points Word's Symbol and Wingdings bullets extract as
+    private static final String BULLETS = "\u2022\u25CF\u25AA\u25E6\u2023\u2219\u00B7\u25A0\u25A1\u27A2\u25BA\u25B6"
+            + "\u2756\u2713\u2714\uF0B7\uF0A7\uF076\uF0D8\uF0FC";
+
+    private final boolean enabled;
+
+    public CvTextCompactor(@Value("${jobfit.cv.compaction.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Size of the text before and after compaction.
+     */
+    public record CompactionResult(String text, int originalLength, int droppedBoilerplateLines) {
+
+        public int compactedLength() {
+            return text.length();
+        }
+
+        /**
+         * Compacted length as a fraction of the original; 1.0 means nothing was removed.
+         */
+        public double ratio() {
+            return originalLength == 0 ? 1.0 : (double) text.length() / originalLength;
+        }
+    }
+
+    /**
+     * Compacts text that is already in memory. Pages may be separated by {@link #PAGE_BREAK}.
+     */
+    public CompactionResult compact(String text) {
+        Sink sink = newSink();
+        sink.write(text, 0, text.length());
+        return sink.finish();
+    }
+
+    public Sink newSink() {
+        return new Sink();
+    }
+
+    /**
+     * Streaming stage: write raw text in, then call {@link #finish()} once.
+     */
+    public static final class Sink extends Writer {
+
+        private final StringBuilder line = new StringBuilder(256);
+        private final List<List<String>> pages = new ArrayList<>();
+        private List<String> page = new ArrayList<>();
+        private boolean pendingSpace;
+        private int originalLength;
+
+        private Sink() {
+        }
+
+        @Override
+        public void write(char[] buffer, int offset, int length) {
+            for (int i = offset; i < offset + length; i++) {
+                accept(buffer[i]);
+            }
+        }
+
+        @Override
+        public void write(String text, int offset, int length) {
+            for (int i = offset; i < offset + length; i++) {
+                accept(text.charAt(i));
+            }
+        }
+
+        @Override
+        public void write(int c) {
+            accept((char) c);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        /**
+         * Ends the stream, removes page boilerplate and returns the compacted text.
+         */
+        public CompactionResult finish() {
+            endPage();
+            int dropped = dropBoilerplate(pages);
+
+            StringBuilder out = new StringBuilder(originalLength);
+            for (List<String> lines : pages) {
+                for (String text : lines) {
+                    if (text.isEmpty() && (out.isEmpty() || endsWithBlankLine(out))) {
+                        continue;
+                    }
+                    out.append(text).append('\n');
+                }
+            }
+            while (!out.isEmpty() && Character.isWhitespace(out.charAt(out.length() - 1))) {
+                out.setLength(out.length() - 1);
+            }
+            return new CompactionResult(out.toString(), originalLength, dropped);
+        }
+
+        private void accept(char c) {
+            originalLength++;
+            if (c == PAGE_BREAK) {
+                endLine();
+                endPage();
+            } else if (c == '\n') {
+                endLine();
+            } else if (c == '\r') {
+                // Dropped; '\n' ends the line
+            } else if (Character.isWhitespace(c) || Character.isSpaceChar(c)) {
+                pendingSpace = !line.isEmpty();
+            } else if (!Character.isISOControl(c)) {
+                if (pendingSpace) {
+                    line.append(' ');
+                    pendingSpace = false;
+                }
+                line.append(c);
+            }
+        }
+
+        private void endLine() {
+            pendingSpace = false;
+            if (line.isEmpty()) {
+                if (!page.isEmpty() && !page.get(page.size() - 1).isEmpty()) {
+                    page.add("");
+                }
+                return;
+            }
+            if (BULLETS.indexOf(line.charAt(0)) >= 0) {
+                line.setCharAt(0, '-');
+                if (line.length() > 1 && line.charAt(1) != ' ') {
+                    line.insert(1, ' ');
+                }
+            }
+
+            int last = page.size() - 1;
+            if (last >= 0 && endsWithHyphenatedWord(page.get(last)) && Character.isLowerCase(line.charAt(0))) {
+                String previous = page.get(last);
+                page.set(last, previous.substring(0, previous.length() - 1) + line);
+            } else {
+                page.add(line.toString());
+            }
+            line.setLength(0);
+        }
+
+        private void endPage() {
+            endLine();
+            while (!page.isEmpty() && page.get(page.size() - 1).isEmpty()) {
+                page.remove(page.size() - 1);
+            }
+            if (!page.isEmpty()) {
+                pages.add(page);
+                page = new ArrayList<>();
+            }
+        }
+
+        private static boolean endsWithHyphenatedWord(String text) {
+            int length = text.length();
+            return length >= 2 && text.charAt(length - 1) == '-' && Character.isLetter(text.charAt(length - 2));
+        }
+
+        private static boolean endsWithBlankLine(StringBuilder out) {
+            return out.length() >= 2 && out.charAt(out.length() - 1) == '\n' && out.charAt(out.length() - 2) == '\n';
+        }
+    }
+
+    /**
+     * Removes lines that appear among the first or last few lines of most pages. Digits are
+     * ignored when comparing, so "Page 2 of 5" matches "Page 3 of 5".
+     */
+    static int dropBoilerplate(List<List<String>> pages) {
+        if (pages.size() < 2) {
+            return 0;
+        }
+
+        Map<String, Integer> pageCounts = new HashMap<>();
+        for (List<String> lines : pages) {
+            Set<String> seenOnPage = new HashSet<>();
+            forEachEdgeLine(lines, index -> {
+                String key = boilerplateKey(lines.get(index));
+                if (seenOnPage.add(key)) {
+                    pageCounts.merge(key, 1, Integer::sum);
+                }
+            });
+        }
+
+        int threshold = Math.max(2, (int) Math.ceil(pages.size() * BOILERPLATE_PAGE_SHARE));
+        // The first occurrence stays: a running header is often the candidate's name and contact line
+        Set<String> keptOnce = new HashSet<>();
+        int dropped = 0;
+        for (List<String> lines : pages) {
+            Set<Integer> remove = new HashSet<>();
+            Set<String> keptOnPage = new HashSet<>();
+            forEachEdgeLine(lines, index -> {
+                String key = boilerplateKey(lines.get(index));
+                if (isPageNumber(key)) {
+                    remove.add(index);
+                } else if (pageCounts.getOrDefault(key, 0) >= threshold) {
+                    if (keptOnce.add(key)) {
+                        keptOnPage.add(key);
+                    } else if (!keptOnPage.contains(key)) {
+                        remove.add(index);
+                    }
+                }
+            });
+            for (int index = lines.size() - 1; index >= 0; index--) {
+                if (remove.contains(index)) {
+                    lines.remove(index);
+                    dropped++;
+                }
+            }
+        }
+        return dropped;
+    }
+
+    private static void forEachEdgeLine(List<String> lines, IntConsumer action) {
+        int seen = 0;
+        for (int i = 0; i < lines.size() && seen < EDGE_LINES; i++) {
+            if (!lines.get(i).isEmpty()) {
+                action.accept(i);
+                seen++;
+            }
+        }
+        seen = 0;
+        for (int i = lines.size() - 1; i >= 0 && seen < EDGE_LINES; i--) {
+            if (!lines.get(i).isEmpty()) {
+                action.accept(i);
+                seen++;
+            }
+        }
+    }
+
+    // "3", "- 3 -", "Page 3", "3 / 5", "Page 3 of 5" once digits are replaced by '#'; years such as
+    // "2019 - 2021" have four-digit runs and are kept
+    private static boolean isPageNumber(String key) {
+        String rest = key.toLowerCase(Locale.ROOT).replace("page", "").replace("of", "");
+        boolean number = false;
+        int digits = 0;
+        for (int i = 0; i < rest.length(); i++) {
+            char c = rest.charAt(i);
+            if (c == '#') {
+                number = true;
+                if (++digits > 3) {
+                    return false;
+                }
+                continue;
+            }
+            digits = 0;
+            if (c != ' ' && c != '-' && c != '/' && c != '|') {
+                return false;
+            }
+        }
+        return number;
+    }
+
+    private static String boilerplateKey(String line) {
+        StringBuilder key = new StringBuilder(line.length());
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            key.append(Character.isDigit(c) ? '#' : c);
+        }
+        return key.toString();
+    }
+}
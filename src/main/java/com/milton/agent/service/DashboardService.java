@@ -1,6 +1,7 @@
 package com.milton.agent.service;
 
 import com.milton.agent.models.DashboardEntry;
+import com.milton.agent.models.FollowUpAction;
 import com.milton.agent.repository.DashboardEntryRepository;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -90,6 +91,26 @@ public class DashboardService {
         repository.save(entry);
     }
 
+    /**
+     * The follow-up offered for a score, using the same bands as the dashboard flags, or
+     * {@code null} when the score falls between bands.
+     */
+    public FollowUpAction followUpFor(int score) {
+        if (score < suggestionsThreshold) {
+            return FollowUpAction.SUGGESTIONS;
+        }
+        if (score >= improveScoreLower && score <= improveScoreUpper) {
+            return FollowUpAction.IMPROVE_SCORE;
+        }
+        if (score >= cvUpgradeLower && score <= cvUpgradeUpper) {
+            return FollowUpAction.UPGRADE_CV;
+        }
+        if (score > interviewPrepThreshold) {
+            return FollowUpAction.INTERVIEW_PREP;
+        }
+        return null;
+    }
+
     private String calculateRecommendation(int score) {
         if (score >= excellentThreshold) {
             return "🟢 Apply Now";
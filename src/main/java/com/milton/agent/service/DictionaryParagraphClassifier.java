@@ -0,0 +1,158 @@
+package com.milton.agent.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Rule-based classifier backed by a phrase dictionary on the classpath
+ * ({@code cleaning/jd-boilerplate.txt} by default). Headings are matched on their longest known
+ * word prefix; paragraphs are boilerplate when phrases of one category outnumber the keep phrases
+ * and appear densely enough that a whole pasted job description is never mistaken for one.
+ */
+@Slf4j
+@Component
+public class DictionaryParagraphClassifier implements JdParagraphClassifier {
+
+    private static final String HEADING_PREFIX = "heading:";
+    // A paragraph needs at least one boilerplate phrase per this many words to be dropped
+    private static final int WORDS_PER_HIT = 60;
+
+    // Normalized heading -> category
+    private final Map<String, String> headings = new HashMap<>();
+    // Category -> normalized phrases padded with spaces
+    private final Map<String, List<String>> phrases = new LinkedHashMap<>();
+
+    public DictionaryParagraphClassifier(
+            @Value("${jobfit.jd-cleaner.dictionary:cleaning/jd-boilerplate.txt}") String dictionaryResource) {
+        loadDictionary(dictionaryResource);
+    }
+
+    @Override
+    public String classifyHeading(String heading) {
+        String normalized = normalize(heading);
+        while (!normalized.isEmpty()) {
+            String category = headings.get(normalized);
+            if (category != null) {
+                return category;
+            }
+            int lastSpace = normalized.lastIndexOf(' ');
+            normalized = lastSpace < 0 ? "" : normalized.substring(0, lastSpace);
+        }
+        return null;
+    }
+
+    @Override
+    public String classifyParagraph(String paragraph) {
+        String padded = " " + normalize(paragraph) + " ";
+        int words = 0;
+        for (int i = 1; i < padded.length(); i++) {
+            if (padded.charAt(i) == ' ') {
+                words++;
+            }
+        }
+
+        String bestCategory = null;
+        int bestHits = 0;
+        int keepHits = 0;
+        for (Map.Entry<String, List<String>> entry : phrases.entrySet()) {
+            int hits = 0;
+            for (String phrase : entry.getValue()) {
+                if (padded.contains(phrase)) {
+                    hits++;
+                }
+            }
+            if (KEEP.equals(entry.getKey())) {
+                keepHits = hits;
+            } else if (hits > bestHits) {
+                bestCategory = entry.getKey();
+                bestHits = hits;
+            }
+        }
+
+        if (bestHits > keepHits && bestHits * WORDS_PER_HIT >= words) {
+            return bestCategory;
+        }
+        return keepHits > 0 ? KEEP : null;
+    }
+
+    /**
+     * Lower case, "&amp;" read as "and", apostrophes removed and other punctuation turned into single spaces.
+     */
+    static String normalize(String text) {
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            if (c == '\'' || c == '\u2019') {
+                continue;
+            }
+            if (c == '&') {
+                normalized.append(normalized.isEmpty() ? "and" : " and");
+                pendingSpace = true;
+            } else if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && !normalized.isEmpty()) {
+                    normalized.append(' ');
+                }
+                normalized.append(c);
+                pendingSpace = false;
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return normalized.toString();
+    }
+
+    private void loadDictionary(String resource) {
+        String category = null;
+        int entries = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new ClassPathResource(resource).getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.strip();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                if (line.startsWith("[") && line.endsWith("]")) {
+                    category = line.substring(1, line.length() - 1).strip().toLowerCase(Locale.ROOT);
+                    phrases.computeIfAbsent(category, key -> new ArrayList<>());
+                    continue;
+                }
+                if (category == null) {
+                    continue;
+                }
+                if (line.toLowerCase(Locale.ROOT).startsWith(HEADING_PREFIX)) {
+                    String heading = normalize(line.substring(HEADING_PREFIX.length()));
+                    if (!heading.isEmpty()) {
+                        headings.put(heading, category);
+                        entries++;
+                    }
+                } else {
+                    String phrase = normalize(line);
+                    if (!phrase.isEmpty()) {
+                        phrases.get(category).add(" " + phrase + " ");
+                        entries++;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load job description dictionary: " + resource, e);
+        }
+        log.debug("Loaded {} job description cleaning entries in {} categories from {}",
+                entries, phrases.size(), resource);
+    }
+}
@@ -0,0 +1,316 @@
+package com.milton.agent.service;
+
+import com.embabel.agent.api.common.autonomy.AgentInvocation;
+import com.embabel.agent.api.models.OpenAiModels;
+import com.embabel.agent.core.AgentPlatform;
+import com.milton.agent.llm.LlmBulkhead;
+import com.milton.agent.llm.LlmBulkheads;
+import com.milton.agent.models.CareerSuggestions;
+import com.milton.agent.models.CvRewriteRequest;
+import com.milton.agent.models.FollowUpAction;
+import com.milton.agent.models.ImproveScore;
+import com.milton.agent.models.ImproveScoreRequest;
+import com.milton.agent.models.InterviewPrep;
+import com.milton.agent.models.InterviewPrepRequest;
+import com.milton.agent.models.PreparationResult;
+import com.milton.agent.models.SuggestionsRequest;
+import com.milton.agent.models.UpgradedCv;
+import com.milton.agent.util.TimedOperation;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+/**
+ * Speculatively starts the follow-up a user is most likely to open next (suggestions, improve,
+ * upgraded CV or interview prep, chosen by score band) as soon as a fit score is known, so the
+ * result page can usually be served without waiting for the LLM.
+ * <p>
+ * Opt-in via {@code jobfit.prefetch.enabled}. Prefetches run on a small pool of minimum-priority
+ * threads, are skipped while the target model's bulkhead has no free slot (interactive calls come
+ * first) and are capped per user per day. Each user has at most one prefetch; a newer analysis
+ * cancels the previous one. A result is only handed out for a request equal to the one it was
+ * computed for, so an edited or dashboard-loaded analysis never gets a stale answer.
+ */
+@Slf4j
+@Service
+public class FollowUpPrefetchService {
+
+    private final RequestDeadlines requestDeadlines;
+    private final DashboardService dashboardService;
+    private final LlmBulkheads llmBulkheads;
+    private final BiFunction<Object, PreparationResult, Object> invoker;
+    private final ThreadPoolExecutor executor;
+    private final boolean enabled;
+    private final int maxPerUserPerDay;
+    private final Duration resultTtl;
+
+    // Key: userId, Value: the user's latest prefetch (running or finished, not yet claimed)
+    private final Map<Long, Prefetch> prefetches = new ConcurrentHashMap<>();
+
+    // Key: userId, Value: prefetches started today
+    private final Map<Long, DailyPrefetchInfo> dailyCounts = new ConcurrentHashMap<>();
+
+    @Autowired
+    public FollowUpPrefetchService(AgentPlatform agentPlatform,
+                                   PreparationService preparationService,
+                                   RequestDeadlines requestDeadlines,
+                                   DashboardService dashboardService,
+                                   LlmBulkheads llmBulkheads,
+                                   @Value("${jobfit.prefetch.enabled:false}") boolean enabled,
+                                   @Value("${jobfit.prefetch.max-per-user-per-day:5}") int maxPerUserPerDay,
+                                   @Value("${jobfit.prefetch.workers:2}") int workers,
+                                   @Value("${jobfit.prefetch.queue-capacity:20}") int queueCapacity,
+                                   @Value("${jobfit.prefetch.result-ttl:30m}") Duration resultTtl) {
+        this(requestDeadlines, dashboardService, llmBulkheads,
+                (request, preparation) -> invokeAgent(agentPlatform, preparationService, request, preparation),
+                enabled, maxPerUserPerDay, workers, queueCapacity, resultTtl);
+    }
+
+    FollowUpPrefetchService(RequestDeadlines requestDeadlines,
+                            DashboardService dashboardService,
+                            LlmBulkheads llmBulkheads,
+                            BiFunction<Object, PreparationResult, Object> invoker,
+                            boolean enabled,
+                            int maxPerUserPerDay,
+                            int workers,
+                            int queueCapacity,
+                            Duration resultTtl) {
+        this.requestDeadlines = requestDeadlines;
+        this.dashboardService = dashboardService;
+        this.llmBulkheads = llmBulkheads;
+        this.invoker = invoker;
+        this.enabled = enabled;
+        this.maxPerUserPerDay = maxPerUserPerDay;
+        this.resultTtl = resultTtl;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "follow-up-prefetch-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Starts the follow-up for the score band in the background, unless prefetching is disabled,
+     * the same follow-up is already prefetched, the model is busy or the user's daily cap is used up.
+     * The analysis's {@code preparation}, when known, saves the prefetch from extracting again.
+     */
+    public void prefetch(Long userId, String cvText, String jobDescription, int fitScore, String fitExplanation,
+                         PreparationResult preparation) {
+        if (!enabled || cvText == null || jobDescription == null) {
+            return;
+        }
+        FollowUpAction action = dashboardService.followUpFor(fitScore);
+        if (action == null) {
+            return;
+        }
+        Object request = requestFor(action, cvText, jobDescription, fitScore, fitExplanation);
+        Prefetch existing = prefetches.get(userId);
+        if (existing != null && existing.matches(action, request)) {
+            return;
+        }
+
+        LlmBulkhead bulkhead = llmBulkheads.forModel(modelFor(action));
+        if (bulkhead.queued() > 0 || bulkhead.inFlight() >= bulkhead.maxConcurrent()) {
+            log.debug("Skipping {} prefetch for user {}: {} has no free slot", action, userId, bulkhead.model());
+            return;
+        }
+        if (!tryAcquire(userId)) {
+            log.debug("Skipping {} prefetch for user {}: daily cap of {} reached", action, userId, maxPerUserPerDay);
+            return;
+        }
+
+        Prefetch prefetch = new Prefetch(action, request, preparation, System.nanoTime());
+        Prefetch replaced = prefetches.put(userId, prefetch);
+        if (replaced != null) {
+            replaced.cancel();
+        }
+        try {
+            prefetch.task = executor.submit(() -> run(prefetch, userId));
+        } catch (RejectedExecutionException e) {
+            prefetches.remove(userId, prefetch);
+            log.debug("Prefetch queue full, dropping {} prefetch for user {}", action, userId);
+        }
+    }
+
+    /**
+     * Hands over the prefetched result for exactly this request, waiting for it if it is still
+     * running. Empty when there is no matching prefetch or it failed; the caller then invokes the
+     * agent itself. A prefetch is handed out at most once.
+     */
+    public <T> Optional<T> claim(Long userId, FollowUpAction action, Object request, Class<T> type) {
+        Prefetch prefetch = prefetches.get(userId);
+        if (prefetch == null || !prefetch.matches(action, request) || prefetch.expired(resultTtl)
+                || !prefetches.remove(userId, prefetch)) {
+            return Optional.empty();
+        }
+
+        // The prefetch started earlier under the same deadline as a fresh call, so waiting never loses time
+        try {
+            Object result = prefetch.result.get(requestDeadlines.forDefault().remaining().toNanos(), TimeUnit.NANOSECONDS);
+            log.info("Serving {} for user {} from prefetch", action, userId);
+            return Optional.of(type.cast(result));
+        } catch (ExecutionException e) {
+            log.debug("{} prefetch for user {} failed, invoking again", action, userId, e.getCause());
+        } catch (TimeoutException e) {
+            prefetch.cancel();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Prefetches started by the user today.
+     */
+    public int usedToday(Long userId) {
+        DailyPrefetchInfo info = dailyCounts.get(userId);
+        return info == null || !info.date.equals(LocalDate.now()) ? 0 : info.count;
+    }
+
+    @Scheduled(fixedDelayString = "${jobfit.prefetch.cleanup-interval:300000}")
+    public void evictExpired() {
+        prefetches.values().removeIf(prefetch -> {
+            if (prefetch.expired(resultTtl)) {
+                prefetch.cancel();
+                return true;
+            }
+            return false;
+        });
+        LocalDate today = LocalDate.now();
+        dailyCounts.values().removeIf(info -> info.date.isBefore(today));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Builds the request record the result page sends for this action, so a prefetch and a later
+     * click compare equal.
+     */
+    public static Object requestFor(FollowUpAction action, String cvText, String jobDescription, int fitScore,
+                                    String fitExplanation) {
+        String explanation = fitExplanation != null ? fitExplanation : "";
+        return switch (action) {
+            case SUGGESTIONS -> new SuggestionsRequest(cvText, jobDescription, fitScore, explanation);
+            case IMPROVE_SCORE -> new ImproveScoreRequest(cvText, jobDescription, fitScore, explanation);
+            case UPGRADE_CV -> new CvRewriteRequest(cvText, jobDescription, fitScore, explanation);
+            case INTERVIEW_PREP -> new InterviewPrepRequest(cvText, jobDescription, fitScore, explanation);
+        };
+    }
+
+    // Mirrors the model each follow-up action uses in JobFitProviderAgent
+    private static String modelFor(FollowUpAction action) {
+        return switch (action) {
+            case SUGGESTIONS -> OpenAiModels.GPT_41_MINI;
+            case IMPROVE_SCORE, INTERVIEW_PREP -> OpenAiModels.GPT_41;
+            case UPGRADE_CV -> OpenAiModels.GPT_5;
+        };
+    }
+
+    private static Object invokeAgent(AgentPlatform agentPlatform, PreparationService preparationService,
+                                      Object request, PreparationResult preparation) {
+        Class<?> resultType = switch (request) {
+            case SuggestionsRequest ignored -> CareerSuggestions.class;
+            case ImproveScoreRequest ignored -> ImproveScore.class;
+            case CvRewriteRequest ignored -> UpgradedCv.class;
+            case InterviewPrepRequest ignored -> InterviewPrep.class;
+            default -> throw new IllegalArgumentException("Not a follow-up request: " + request.getClass());
+        };
+        return preparationService.invoke(AgentInvocation.create(agentPlatform, resultType), request, preparation);
+    }
+
+    private void run(Prefetch prefetch, Long userId) {
+        try (TimedOperation ignored = TimedOperation.start(log, "Prefetch " + prefetch.action + " agent invocation")) {
+            Object result = requestDeadlines.within(prefetch.request, requestDeadlines.forDefault(),
+                    () -> invoker.apply(prefetch.request, prefetch.preparation));
+            prefetch.result.complete(result);
+        } catch (RuntimeException e) {
+            log.debug("{} prefetch for user {} failed", prefetch.action, userId, e);
+            prefetch.result.completeExceptionally(e);
+        }
+    }
+
+    private boolean tryAcquire(Long userId) {
+        LocalDate today = LocalDate.now();
+        DailyPrefetchInfo info = dailyCounts.computeIfAbsent(userId, k -> new DailyPrefetchInfo(today));
+        synchronized (info) {
+            if (!info.date.equals(today)) {
+                info.date = today;
+                info.count = 0;
+            }
+            if (info.count >= maxPerUserPerDay) {
+                return false;
+            }
+            info.count++;
+            return true;
+        }
+    }
+
+    private static final class Prefetch {
+        final FollowUpAction action;
+        final Object request;
+        final PreparationResult preparation;
+        final long startedAtNanos;
+        final CompletableFuture<Object> result = new CompletableFuture<>();
+        volatile Future<?> task;
+
+        Prefetch(FollowUpAction action, Object request, PreparationResult preparation, long startedAtNanos) {
+            this.action = action;
+            this.request = request;
+            this.preparation = preparation;
+            this.startedAtNanos = startedAtNanos;
+        }
+
+        boolean matches(FollowUpAction otherAction, Object otherRequest) {
+            return action == otherAction && request.equals(otherRequest);
+        }
+
+        boolean expired(Duration ttl) {
+            return System.nanoTime() - startedAtNanos > ttl.toNanos();
+        }
+
+        void cancel() {
+            Future<?> running = task;
+            if (running != null) {
+                running.cancel(true);
+            }
+            result.cancel(false);
+        }
+    }
+
+    private static class DailyPrefetchInfo {
+        int count = 0;
+        LocalDate date;
+
+        DailyPrefetchInfo(LocalDate date) {
+            this.date = date;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.milton.agent.service;
+
+/**
+ * Decides which parts of a job description are boilerplate. Answers are a boilerplate category
+ * such as {@code "benefits"}, {@link #KEEP} for role content, or {@code null} when the classifier
+ * has no opinion.
+ * <p>
+ * {@link JobDescriptionCleaner} asks every registered classifier in order and uses the first
+ * non-null answer, so a more specific classifier can be registered ahead of the dictionary one.
+ */
+public interface JdParagraphClassifier {
+
+    String KEEP = "keep";
+
+    /**
+     * Classifies a short line that looks like a section heading.
+     */
+    String classifyHeading(String heading);
+
+    /**
+     * Classifies a block of text between blank lines or headings.
+     */
+    String classifyParagraph(String paragraph);
+}
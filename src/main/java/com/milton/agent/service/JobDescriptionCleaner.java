@@ -0,0 +1,160 @@
+package com.milton.agent.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Strips boilerplate (equal-opportunity statements, benefits, "about us", cookie banners, how to
+ * apply) from a job description before it is sent for requirement extraction and stored in the
+ * session and dashboard.
+ * <p>
+ * Text is split into paragraphs at blank lines and at short heading lines. A heading that a
+ * {@link JdParagraphClassifier} recognises as boilerplate drops everything under it until the next
+ * recognised heading or a paragraph that reads like role content; other paragraphs are classified
+ * one at a time.
+ */
+@Slf4j
+@Service
+public class JobDescriptionCleaner {
+
+    private static final int MAX_HEADING_LENGTH = 60;
+    private static final int MAX_HEADING_WORDS = 8;
+    // List items and sentences are never treated as headings
+    private static final String BULLETS = "-*\u2022\u00B7\u25CF\u25AA";
+    private static final String SENTENCE_ENDINGS = ".,;";
+
+    private final List<JdParagraphClassifier> classifiers;
+    private final boolean enabled;
+
+    public JobDescriptionCleaner(List<JdParagraphClassifier> classifiers,
+                                 @Value("${jobfit.jd-cleaner.enabled:true}") boolean enabled) {
+        this.classifiers = List.copyOf(classifiers);
+        this.enabled = enabled;
+    }
+
+    /**
+     * Cleaned text and the characters removed, by boilerplate category.
+     */
+    public record CleaningResult(String text, int originalLength, Map<String, Integer> removedByCategory) {
+
+        public int removedChars() {
+            return originalLength - text.length();
+        }
+    }
+
+    /**
+     * Convenience for callers that only need the cleaned text; logs what was removed.
+     */
+    public String clean(String jobDescription) {
+        CleaningResult result = cleanWithReport(jobDescription);
+        if (result.removedChars() > 0) {
+            log.info("Job description cleaned from {} to {} chars ({} removed: {})", result.originalLength(),
+                    result.text().length(), result.removedChars(), result.removedByCategory());
+        }
+        return result.text();
+    }
+
+    public CleaningResult cleanWithReport(String jobDescription) {
+        String text = jobDescription == null ? "" : jobDescription.strip();
+        int originalLength = jobDescription == null ? 0 : jobDescription.length();
+        if (!enabled || text.isEmpty()) {
+            return new CleaningResult(text, originalLength, Map.of());
+        }
+
+        Map<String, Integer> removed = new LinkedHashMap<>();
+        StringBuilder out = new StringBuilder(text.length());
+        StringBuilder paragraph = new StringBuilder();
+        String sectionCategory = null;
+
+        for (String line : text.split("\\r?\\n")) {
+            String stripped = line.strip();
+            if (stripped.isEmpty()) {
+                sectionCategory = flush(paragraph, sectionCategory, out, removed);
+                continue;
+            }
+            String headingCategory = looksLikeHeading(stripped) ? classifyHeading(stripped) : null;
+            if (headingCategory == null) {
+                paragraph.append(stripped).append('\n');
+                continue;
+            }
+
+            sectionCategory = flush(paragraph, sectionCategory, out, removed);
+            if (JdParagraphClassifier.KEEP.equals(headingCategory)) {
+                sectionCategory = null;
+                paragraph.append(stripped).append('\n');
+            } else {
+                sectionCategory = headingCategory;
+                removed.merge(headingCategory, stripped.length(), Integer::sum);
+            }
+        }
+        flush(paragraph, sectionCategory, out, removed);
+
+        String cleaned = out.toString().strip();
+        // Nothing recognisable as role content: send the original rather than an empty description
+        if (removed.isEmpty() || cleaned.isEmpty()) {
+            return new CleaningResult(text, originalLength, Map.of());
+        }
+        return new CleaningResult(cleaned, originalLength, Map.copyOf(removed));
+    }
+
+    /**
+     * Keeps or drops the buffered paragraph and returns the boilerplate section still in effect.
+     */
+    private String flush(StringBuilder paragraph, String sectionCategory, StringBuilder out,
+                         Map<String, Integer> removed) {
+        if (paragraph.isEmpty()) {
+            return sectionCategory;
+        }
+        String text = paragraph.toString().strip();
+        paragraph.setLength(0);
+
+        String category = classifyParagraph(text);
+        // An unrecognised heading with content under it ("The Tech") also ends a boilerplate section
+        int firstLineEnd = text.indexOf('\n');
+        boolean headed = firstLineEnd > 0 && looksLikeHeading(text.substring(0, firstLineEnd));
+        if (sectionCategory != null && !JdParagraphClassifier.KEEP.equals(category)
+                && (category != null || !headed)) {
+            removed.merge(category != null ? category : sectionCategory, text.length(), Integer::sum);
+            return sectionCategory;
+        }
+        if (category != null && !JdParagraphClassifier.KEEP.equals(category)) {
+            removed.merge(category, text.length(), Integer::sum);
+            return null;
+        }
+        out.append(text).append("\n\n");
+        return null;
+    }
+
+    private String classifyHeading(String heading) {
+        for (JdParagraphClassifier classifier : classifiers) {
+            String category = classifier.classifyHeading(heading);
+            if (category != null) {
+                return category;
+            }
+        }
+        return null;
+    }
+
+    private String classifyParagraph(String paragraph) {
+        for (JdParagraphClassifier classifier : classifiers) {
+            String category = classifier.classifyParagraph(paragraph);
+            if (category != null) {
+                return category;
+            }
+        }
+        return null;
+    }
+
+    private static boolean looksLikeHeading(String line) {
+        if (line.length() > MAX_HEADING_LENGTH || BULLETS.indexOf(line.charAt(0)) >= 0
+                || SENTENCE_ENDINGS.indexOf(line.charAt(line.length() - 1)) >= 0) {
+            return false;
+        }
+        return line.split("\\s+").length <= MAX_HEADING_WORDS;
+    }
+}
@@ -6,18 +6,34 @@ import com.embabel.agent.api.annotation.Agent;
 import com.embabel.agent.api.common.OperationContext;
 import com.embabel.agent.api.models.OpenAiModels;
 import com.embabel.common.ai.model.LlmOptions;
+import com.milton.agent.cache.BoundedCache;
+import com.milton.agent.cache.ExtractionStore;
+import com.milton.agent.cache.SingleFlight;
 import com.milton.agent.config.PromptLoader;
+import com.milton.agent.config.PromptTemplate;
+import com.milton.agent.exceptions.DeadlineExceededException;
+import com.milton.agent.llm.CanonicalRecords;
+import com.milton.agent.llm.LlmBulkheads;
+import com.milton.agent.llm.LlmCircuitBreakers;
+import com.milton.agent.llm.PromptAssembler;
+import com.milton.agent.metrics.JobFitMetrics;
 import com.milton.agent.models.*;
+import com.milton.agent.util.ContentDigest;
+import com.milton.agent.util.Deadline;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Profile;
 import org.springframework.util.Assert;
 
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Slf4j
 @Agent(name = "job-fit-provider",
@@ -30,12 +46,48 @@ public class JobFitProviderAgent {
 
     private final PromptLoader promptLoader;
 
-    // Java 21 virtual thread executor for parallel LLM calls
-    private static final ExecutorService VIRTUAL_EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+    // Size- and TTL-bounded cache for parallel extraction results (see CacheConfig)
+    // Key: SHA-256 digest of CV text + job description, Value: PreparationResult
+    private final BoundedCache<String, PreparationResult> extractionCache;
 
-    // Thread-safe cache for parallel extraction results (per request scope)
-    // Key: cvTextHash + jobDescHash, Value: PreparationResult
-    private final ConcurrentHashMap<String, PreparationResult> extractionCache = new ConcurrentHashMap<>();
+    // Pending parallel extractions keyed like extractionCache, so concurrent identical requests share one run
+    private final SingleFlight<String, PreparationResult> extractionSingleFlight;
+
+    // Cross-user job requirements cache, keyed by normalized JD digest and independent of the CV
+    private final BoundedCache<String, JobRequirements> jobRequirementsCache;
+    private final SingleFlight<String, JobRequirements> jobRequirementsSingleFlight;
+
+    // Restart-surviving store of extracted CV skills and job requirements, consulted before any LLM call
+    private final ExtractionStore extractionStore;
+    private final BoundedCache<String, CvSkills> cvSkillsCache;
+    private final SingleFlight<String, CvSkills> cvSkillsSingleFlight;
+
+    // Fit score results keyed by digest of extracted CV skills, job requirements and analysis mode
+    private final BoundedCache<String, FitScore> fitScoreCache;
+
+    // Deterministic scorer used when the fit-score LLM call fails
+    private final LocalFitScorer localFitScorer;
+
+    // Per-model concurrency limits for every LLM call made by this agent
+    private final LlmBulkheads llmBulkheads;
+
+    // Per-model circuit breakers that fail LLM calls fast while a model is degraded
+    private final LlmCircuitBreakers llmCircuitBreakers;
+
+    // Keeps CV and job description slots within each prompt's input token budget
+    private final PromptAssembler promptAssembler;
+
+    // Stage progress for asynchronous analysis jobs (see AnalysisJobService)
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Request-level deadlines registered by the caller of each agent invocation
+    private final RequestDeadlines requestDeadlines;
+
+    // Managed Java 21 virtual thread executor for LLM calls (see ExecutorConfig)
+    private final ExecutorService agentExecutor;
+
+    // Per-action and per-LLM-call timers and spans, LLM token counters
+    private final JobFitMetrics metrics;
 
     /**
      * Generic CV skills extraction action that works with ANY request containing CV text.
@@ -44,29 +96,21 @@ public class JobFitProviderAgent {
      */
     @Action(description = "Extracts technical skills, soft skills, and experience from the candidate's CV")
     public CvSkills extractSkillsFromCv(CvTextProvider request, OperationContext context) {
+        return metrics.recordAction("extractSkillsFromCv", OpenAiModels.GPT_41_MINI, modeOf(request),
+                () -> skillsForRequest(request, context));
+    }
+
+    private CvSkills skillsForRequest(CvTextProvider request, OperationContext context) {
         // If this is the first extraction call and we also need job requirements, do both in parallel
         if (request instanceof JobDescriptionProvider) {
             String cvText = request.getCvText();
             String jobDescText = ((JobDescriptionProvider) request).getJobDescriptionText();
-            String cacheKey = getCacheKey(cvText, jobDescText);
-
-            // Check cache first
-            PreparationResult cached = extractionCache.get(cacheKey);
-            if (cached != null) {
-                log.info("Using CV skills from parallel extraction cache");
-                return cached.cvSkills();
-            }
-
-            // Not in cache - run parallel extraction
-            log.info("Running CV skills and job requirements extraction IN PARALLEL");
-            PreparationResult result = runParallelExtraction(cvText, jobDescText, context);
-            extractionCache.put(cacheKey, result);
-            return result.cvSkills();
+            return preparationFor(request, cvText, jobDescText, context, requestDeadlines.deadlineFor(request)).cvSkills();
         }
 
         // Fallback to single extraction if request doesn't have job description
         log.info("Running single CV skills extraction (no parallel opportunity)");
-        return extractCvSkills(request.getCvText(), context, "");
+        return skillsFor(request.getCvText(), context, requestDeadlines.deadlineFor(request));
     }
 
     /**
@@ -76,65 +120,163 @@ public class JobFitProviderAgent {
      */
     @Action(description = "Extracts job requirements from the job description")
     public JobRequirements extractJobRequirements(JobDescriptionProvider request, OperationContext context) {
+        return metrics.recordAction("extractJobRequirements", OpenAiModels.GPT_41_MINI, modeOf(request),
+                () -> requirementsForRequest(request, context));
+    }
+
+    private JobRequirements requirementsForRequest(JobDescriptionProvider request, OperationContext context) {
         // If this is the first extraction call and we also need CV skills, do both in parallel
         if (request instanceof CvTextProvider) {
             String cvText = ((CvTextProvider) request).getCvText();
             String jobDescText = request.getJobDescriptionText();
-            String cacheKey = getCacheKey(cvText, jobDescText);
+            return preparationFor(request, cvText, jobDescText, context, requestDeadlines.deadlineFor(request)).jobRequirements();
+        }
+
+        // Fallback to single extraction if request doesn't have CV text
+        log.info("Running single job requirements extraction (no parallel opportunity)");
+        return requirementsFor(request.getJobDescriptionText(), context, requestDeadlines.deadlineFor(request));
+    }
 
-            // Check cache first
-            PreparationResult cached = extractionCache.get(cacheKey);
-            if (cached != null) {
-                log.info("Using job requirements from parallel extraction cache");
-                return cached.jobRequirements();
+    /**
+     * Returns the cached extraction for this CV/JD pair, or runs the parallel extraction.
+     * Concurrent callers for the same pair (parallel requests, or the planner calling both
+     * extraction actions) join the extraction already in flight instead of starting their own,
+     * waiting no longer than their own deadline. Stage progress is published for {@code request}.
+     */
+    private PreparationResult preparationFor(Object request, String cvText, String jobDescText,
+                                             OperationContext context, Deadline deadline) {
+        String cacheKey = getCacheKey(cvText, jobDescText);
+
+        // Check cache first
+        PreparationResult cached = extractionCache.get(cacheKey);
+        if (cached != null) {
+            log.info("Using CV skills and job requirements from parallel extraction cache");
+            publishStage(request, AnalysisStage.CV_EXTRACTED, null);
+            publishStage(request, AnalysisStage.REQUIREMENTS_EXTRACTED, null);
+            return cached;
+        }
+
+        // Not in cache - run parallel extraction, or join the one already running for this pair
+        PreparationResult result = extractionSingleFlight.execute(cacheKey, deadline, () -> {
+            log.info("Running CV skills and job requirements extraction IN PARALLEL");
+            PreparationResult extracted = runParallelExtraction(request, cvText, jobDescText, context, deadline);
+            extractionCache.put(cacheKey, extracted);
+            log.debug("Extraction cache stats: {}, coalesced calls: {}",
+                    extractionCache.stats(), extractionSingleFlight.coalesced());
+            return extracted;
+        });
+        // The branches only report to the request that ran them; a caller that joined them hears about both now
+        publishStage(request, AnalysisStage.CV_EXTRACTED, null);
+        publishStage(request, AnalysisStage.REQUIREMENTS_EXTRACTED, null);
+        return result;
+    }
+
+    /**
+     * Returns job requirements for a job description from the shared JD cache or the persistent store,
+     * extracting them at most once per normalized JD. Whitespace and case differences between pasted
+     * copies of the same ad share one entry.
+     */
+    private JobRequirements requirementsFor(String jobDescription, OperationContext context, Deadline deadline) {
+        String jdKey = ContentDigest.ofNormalized(jobDescription);
+
+        JobRequirements cached = jobRequirementsCache.get(jdKey);
+        if (cached != null) {
+            log.info("Using job requirements from shared JD cache");
+            return cached;
+        }
+
+        return jobRequirementsSingleFlight.execute(jdKey, deadline, () -> {
+            JobRequirements requirements = extractionStore.findJobRequirements(jdKey).orElse(null);
+            if (requirements != null) {
+                log.info("Using job requirements from persistent extraction store");
+            } else {
+                requirements = extractJobRequirements(jobDescription, context, "", deadline);
+                extractionStore.saveJobRequirements(jdKey, requirements);
             }
+            jobRequirementsCache.put(jdKey, requirements);
+            return requirements;
+        });
+    }
 
-            // Not in cache - run parallel extraction
-            log.info("Running job requirements and CV skills extraction IN PARALLEL");
-            PreparationResult result = runParallelExtraction(cvText, jobDescText, context);
-            extractionCache.put(cacheKey, result);
-            return result.jobRequirements();
+    /**
+     * Returns CV skills from the CV skills cache or the persistent extraction store, extracting them
+     * at most once per CV text. Scoring one CV against many job descriptions shares this extraction.
+     */
+    private CvSkills skillsFor(String cvText, OperationContext context, Deadline deadline) {
+        String cvKey = ContentDigest.of(cvText);
+
+        CvSkills cached = cvSkillsCache.get(cvKey);
+        if (cached != null) {
+            log.info("Using CV skills from CV skills cache");
+            return cached;
         }
 
-        // Fallback to single extraction if request doesn't have CV text
-        log.info("Running single job requirements extraction (no parallel opportunity)");
-        return extractJobRequirements(request.getJobDescriptionText(), context, "");
+        return cvSkillsSingleFlight.execute(cvKey, deadline, () -> {
+            CvSkills cvSkills = extractionStore.findCvSkills(cvKey).orElse(null);
+            if (cvSkills != null) {
+                log.info("Using CV skills from persistent extraction store");
+            } else {
+                cvSkills = extractCvSkills(cvText, context, "", deadline);
+                extractionStore.saveCvSkills(cvKey, cvSkills);
+            }
+            cvSkillsCache.put(cvKey, cvSkills);
+            return cvSkills;
+        });
     }
 
     /**
-     * Generates a cache key from CV text and job description text.
+     * Generates a collision-safe cache key (SHA-256 content digest) from CV text and job description text.
      */
     private String getCacheKey(String cvText, String jobDescText) {
-        int cvHash = cvText != null ? cvText.hashCode() : 0;
-        int jdHash = jobDescText != null ? jobDescText.hashCode() : 0;
-        return cvHash + "_" + jdHash;
+        return ContentDigest.of(cvText, jobDescText);
     }
 
     /**
-     * Runs CV skills and job requirements extraction in PARALLEL using CompletableFuture and virtual threads.
+     * Runs CV skills and job requirements extraction in PARALLEL on virtual threads.
      * This method fires both LLM calls concurrently, reducing total time from ~1300ms (sequential) to ~700ms (parallel).
+     * Both branches are bounded by the request deadline; if one branch fails or the deadline passes,
+     * the other branch is cancelled (its thread interrupted) instead of running on unobserved.
      * Results are cached so subsequent extractions with the same data reuse results.
      */
-    private PreparationResult runParallelExtraction(String cvText, String jobDescriptionText, OperationContext context) {
+    private PreparationResult runParallelExtraction(Object request, String cvText, String jobDescriptionText,
+                                                    OperationContext context, Deadline deadline) {
         long startTime = System.currentTimeMillis();
 
-        // Fire both LLM calls concurrently using virtual threads
-        CompletableFuture<CvSkills> cvSkillsFuture = CompletableFuture.supplyAsync(
-            () -> extractCvSkills(cvText, context, ""),
-            VIRTUAL_EXECUTOR
-        );
-
-        CompletableFuture<JobRequirements> jobReqFuture = CompletableFuture.supplyAsync(
-            () -> extractJobRequirements(jobDescriptionText, context, ""),
-            VIRTUAL_EXECUTOR
-        );
-
-        // Wait for both to complete
-        CompletableFuture.allOf(cvSkillsFuture, jobReqFuture).join();
+        // Shutdown-on-failure scope: branches complete into one queue so the first failure is seen immediately
+        ExecutorCompletionService<Object> scope = new ExecutorCompletionService<>(agentExecutor);
+        Future<Object> cvSkillsFuture = scope.submit(() -> {
+            CvSkills cvSkills = skillsFor(cvText, context, deadline);
+            publishStage(request, AnalysisStage.CV_EXTRACTED, null);
+            return cvSkills;
+        });
+        Future<Object> jobReqFuture = scope.submit(() -> {
+            JobRequirements requirements = requirementsFor(jobDescriptionText, context, deadline);
+            publishStage(request, AnalysisStage.REQUIREMENTS_EXTRACTED, null);
+            return requirements;
+        });
+
+        try {
+            for (int completed = 0; completed < 2; completed++) {
+                Future<Object> done = scope.poll(deadline.remaining().toNanos(), TimeUnit.NANOSECONDS);
+                if (done == null) {
+                    throw new DeadlineExceededException(
+                            "CV and job description extraction did not finish before the request deadline");
+                }
+                done.get();
+            }
+        } catch (ExecutionException e) {
+            throw propagate(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DeadlineExceededException("Extraction was cancelled", e);
+        } finally {
+            // No-op for finished branches; interrupts the sibling of a failed or timed-out branch
+            cvSkillsFuture.cancel(true);
+            jobReqFuture.cancel(true);
+        }
 
-        // Get results
-        CvSkills cvSkills = cvSkillsFuture.join();
-        JobRequirements jobRequirements = jobReqFuture.join();
+        CvSkills cvSkills = (CvSkills) cvSkillsFuture.resultNow();
+        JobRequirements jobRequirements = (JobRequirements) jobReqFuture.resultNow();
 
         long duration = System.currentTimeMillis() - startTime;
         log.info("✅ Parallel extraction completed in {}ms (instead of ~1300ms sequential)", duration);
@@ -142,50 +284,114 @@ public class JobFitProviderAgent {
         return new PreparationResult(cvSkills, jobRequirements);
     }
 
+    /**
+     * Analysis mode tag of an extraction: only the fit-score request carries one.
+     */
+    private static String modeOf(Object request) {
+        return request instanceof JobFitRequest jobFitRequest
+                ? JobFitMetrics.mode(jobFitRequest.QuickResponse())
+                : JobFitMetrics.NONE;
+    }
+
+    /**
+     * Publishes analysis progress for the agent invocation of {@code request}. Only asynchronous
+     * jobs listen, each for the request instance it invoked the agent with.
+     */
+    private void publishStage(Object request, AnalysisStage stage, FitScore fitScore) {
+        if (request != null) {
+            eventPublisher.publishEvent(new AnalysisProgressEvent(request, stage, fitScore));
+        }
+    }
 
 
     @AchievesGoal(description = "Computes the fit score between CV and job description")
     @Action
     public FitScore calculateFitScore(JobFitRequest request, CvSkills cvSkills, JobRequirements jobRequirements, OperationContext context) {
+        boolean quickResponseRequested = request != null && request.QuickResponse();
+        String model = quickResponseRequested ? OpenAiModels.GPT_41_MINI : OpenAiModels.GPT_5;
+        return metrics.recordAction("calculateFitScore", model, JobFitMetrics.mode(quickResponseRequested),
+                () -> scoreFit(request, quickResponseRequested, model, cvSkills, jobRequirements, context));
+    }
+
+    private FitScore scoreFit(JobFitRequest request, boolean quickResponseRequested, String model, CvSkills cvSkills,
+                              JobRequirements jobRequirements, OperationContext context) {
         log.info("Calculating fit score for CV skills and job requirements");
 
-        String promptTemplate = promptLoader.loadPrompt("jobfit-fit-score.txt");
-        String finalPrompt = promptTemplate.formatted(
-                cvSkills,
-                jobRequirements
-        );
-        log.debug("Final Prompt: {}", finalPrompt);
+        Deadline deadline = requestDeadlines.deadlineFor(request);
+        PromptTemplate fitScorePrompt = promptLoader.template("jobfit-fit-score.txt");
+        String fitScoreKey = getFitScoreKey(cvSkills, jobRequirements, quickResponseRequested, fitScorePrompt.version());
+        FitScore cachedFitScore = fitScoreCache.get(fitScoreKey);
+        if (cachedFitScore != null) {
+            log.info("Using fit score from result cache");
+            publishStage(request, AnalysisStage.SCORED, cachedFitScore);
+            return cachedFitScore;
+        }
 
-        boolean quickResponseRequested = request != null && request.QuickResponse();
-        var llmOptions = LlmOptions
-                .withModel(quickResponseRequested ? OpenAiModels.GPT_41_MINI : OpenAiModels.GPT_5);
+        // Sub-millisecond local estimate so asynchronous jobs can show something while the LLM scores
+        publishStage(request, AnalysisStage.PROVISIONAL_SCORE, localFitScorer.score(cvSkills, jobRequirements));
+
+        String finalPrompt = fitScorePrompt.render(Map.of(
+                "cvSkills", CanonicalRecords.format(cvSkills),
+                "jobRequirements", CanonicalRecords.format(jobRequirements)));
+        log.debug("Final Prompt: {}", finalPrompt);
 
-        FitScore fitScore = context.ai()
-                .withLlm(llmOptions)
-                .createObject(finalPrompt, FitScore.class);
+        FitAssessment assessment;
+        try {
+            assessment = createObject(context, model, LlmOptions.withModel(model), finalPrompt, FitAssessment.class, deadline);
+        } catch (DeadlineExceededException e) {
+            // The caller's time is up: let it report that rather than show a result it did not wait for
+            throw e;
+        } catch (RuntimeException e) {
+            // Provider unavailable (failure, open circuit, full bulkhead): answer with the local estimate,
+            // marked provisional and not cached, so the next attempt gets a full LLM assessment again
+            log.warn("Fit score LLM call failed, returning local provisional score instead", e);
+            FitScore provisional = localFitScorer.score(cvSkills, jobRequirements);
+            publishStage(request, AnalysisStage.SCORED, provisional);
+            return provisional;
+        }
 
-        Assert.notNull(fitScore, "Fit score cannot be null");
+        Assert.notNull(assessment, "Fit score cannot be null");
+        FitScore fitScore = new FitScore(assessment.score(), assessment.explanation());
+        fitScoreCache.put(fitScoreKey, fitScore);
+        publishStage(request, AnalysisStage.SCORED, fitScore);
         return fitScore;
     }
 
+    /**
+     * Generates the fit score cache key from the canonical form of the extracted records (the exact text
+     * the prompt receives), the analysis mode and the prompt version.
+     * Quick and thoughtful modes use different models, so they are cached separately; a reloaded
+     * scoring prompt starts a fresh set of entries.
+     */
+    private String getFitScoreKey(CvSkills cvSkills, JobRequirements jobRequirements, boolean quickResponse,
+                                  int promptVersion) {
+        return ContentDigest.of(
+                CanonicalRecords.format(cvSkills),
+                CanonicalRecords.format(jobRequirements),
+                quickResponse ? "quick" : "thoughtful",
+                "v" + promptVersion
+        );
+    }
+
     @AchievesGoal(description = "Rewrites candidate CV tailored to target role using ATS keywords")
     @Action
     public UpgradedCv rewriteCvForRole(CvRewriteRequest request, OperationContext context) {
+        return metrics.recordAction("rewriteCvForRole", OpenAiModels.GPT_5, JobFitMetrics.NONE,
+                () -> rewriteCv(request, context));
+    }
+
+    private UpgradedCv rewriteCv(CvRewriteRequest request, OperationContext context) {
         log.info("Rewriting CV for upgraded version with fit score {}", request.fitScore());
 
-        String promptTemplate = promptLoader.loadPrompt("cv-rewriter.txt");
-        String prompt = promptTemplate.formatted(
-                request.fitScore(),
-                request.fitExplanation(),
-                request.jobDescription(),
-                request.originalCv()
-        );
+        String prompt = promptAssembler.assemble("cv-rewriter.txt", Map.of(
+                "fitScore", request.fitScore(),
+                "fitExplanation", String.valueOf(request.fitExplanation()),
+                "jobDescription", String.valueOf(request.jobDescription()),
+                "originalCv", String.valueOf(request.originalCv())));
 
-        UpgradedCv upgradedCv = context.ai()
-                .withLlm(LlmOptions
-                        .withModel(OpenAiModels.GPT_5)
-                )
-                .createObject(prompt, UpgradedCv.class);
+        UpgradedCv upgradedCv = createObject(context, OpenAiModels.GPT_5,
+                LlmOptions.withModel(OpenAiModels.GPT_5), prompt, UpgradedCv.class,
+                requestDeadlines.deadlineFor(request));
 
         Assert.notNull(upgradedCv, "Upgraded CV cannot be null");
         return upgradedCv;
@@ -194,28 +400,28 @@ public class JobFitProviderAgent {
     @AchievesGoal(description = "Generates personalized career suggestions based on CV and job description analysis")
     @Action
     public CareerSuggestions generateCareerSuggestions(SuggestionsRequest request, CvSkills cvSkills, JobRequirements jobRequirements, OperationContext context) {
-        log.info("Generating career suggestions for fit score {}", request.fitScore());
+        return metrics.recordAction("generateCareerSuggestions", OpenAiModels.GPT_41_MINI, JobFitMetrics.NONE,
+                () -> careerSuggestionsFor(request, cvSkills, jobRequirements, context));
+    }
 
-        String promptTemplate = promptLoader.loadPrompt("suggestions.txt");
+    private CareerSuggestions careerSuggestionsFor(SuggestionsRequest request, CvSkills cvSkills, JobRequirements jobRequirements, OperationContext context) {
+        log.info("Generating career suggestions for fit score {}", request.fitScore());
 
-        String cvSkillsStr = cvSkills != null ? cvSkills.toString() : "";
-        String jobReqStr = jobRequirements != null ? jobRequirements.toString() : "";
+        String cvSkillsStr = CanonicalRecords.format(cvSkills);
+        String jobReqStr = CanonicalRecords.format(jobRequirements);
         String fitExplanation = request.fitExplanation() != null ? request.fitExplanation() : "";
         String cvText = request.candidateCv() != null ? request.candidateCv() : "";
 
-        String prompt = promptTemplate
-                .replace("%s", "%s") // keep placeholders literal safety
-                .replace("- FIT SCORE (0-100): %s", "- FIT SCORE (0-100): " + request.fitScore())
-                .replace("- FIT EXPLANATION: %s", "- FIT EXPLANATION: " + fitExplanation)
-                .replace("- EXTRACTED CV SKILLS: %s", "- EXTRACTED CV SKILLS: " + cvSkillsStr)
-                .replace("- JOB REQUIREMENTS: %s", "- JOB REQUIREMENTS: " + jobReqStr)
-                .replace("- CV TEXT: %s", "- CV TEXT: " + cvText);
+        String prompt = promptAssembler.assemble("suggestions.txt", Map.of(
+                "fitScore", request.fitScore(),
+                "fitExplanation", fitExplanation,
+                "cvSkills", cvSkillsStr,
+                "jobRequirements", jobReqStr,
+                "cvText", cvText));
 
-        CareerSuggestions suggestions = context.ai()
-                .withLlm(LlmOptions
-                        .withModel(OpenAiModels.GPT_41_MINI)
-                )
-                .createObject(prompt, CareerSuggestions.class);
+        CareerSuggestions suggestions = createObject(context, OpenAiModels.GPT_41_MINI,
+                LlmOptions.withModel(OpenAiModels.GPT_41_MINI), prompt, CareerSuggestions.class,
+                requestDeadlines.deadlineFor(request));
 
         Assert.notNull(suggestions, "Career suggestions cannot be null");
         return suggestions;
@@ -224,29 +430,30 @@ public class JobFitProviderAgent {
     @AchievesGoal(description = "Generates improvement recommendations for candidates with moderate fit scores (40-74%)")
     @Action
     public ImproveScore generateImproveScore(ImproveScoreRequest request, CvSkills cvSkills, JobRequirements jobRequirements, OperationContext context) {
-        log.info("Generating improvement recommendations for fit score {}", request.fitScore());
+        return metrics.recordAction("generateImproveScore", OpenAiModels.GPT_41, JobFitMetrics.NONE,
+                () -> improveScoreFor(request, cvSkills, jobRequirements, context));
+    }
 
-        String promptTemplate = promptLoader.loadPrompt("improve.txt");
+    private ImproveScore improveScoreFor(ImproveScoreRequest request, CvSkills cvSkills, JobRequirements jobRequirements, OperationContext context) {
+        log.info("Generating improvement recommendations for fit score {}", request.fitScore());
 
-        String cvSkillsStr = cvSkills != null ? cvSkills.toString() : "";
-        String jobReqStr = jobRequirements != null ? jobRequirements.toString() : "";
+        String cvSkillsStr = CanonicalRecords.format(cvSkills);
+        String jobReqStr = CanonicalRecords.format(jobRequirements);
         String fitExplanation = request.fitExplanation() != null ? request.fitExplanation() : "";
         String cvText = request.candidateCv() != null ? request.candidateCv() : "";
         String jobDesc = request.jobDescription() != null ? request.jobDescription() : "";
 
-        String prompt = promptTemplate
-                .replace("- FIT SCORE (0-100): %s", "- FIT SCORE (0-100): " + request.fitScore())
-                .replace("- FIT EXPLANATION: %s", "- FIT EXPLANATION: " + fitExplanation)
-                .replace("- EXTRACTED CV SKILLS: %s", "- EXTRACTED CV SKILLS: " + cvSkillsStr)
-                .replace("- JOB REQUIREMENTS: %s", "- JOB REQUIREMENTS: " + jobReqStr)
-                .replace("- CV TEXT: %s", "- CV TEXT: " + cvText)
-                .replace("- JOB DESCRIPTION: %s", "- JOB DESCRIPTION: " + jobDesc);
+        String prompt = promptAssembler.assemble("improve.txt", Map.of(
+                "fitScore", request.fitScore(),
+                "fitExplanation", fitExplanation,
+                "cvSkills", cvSkillsStr,
+                "jobRequirements", jobReqStr,
+                "cvText", cvText,
+                "jobDescription", jobDesc));
 
-        ImproveScore improveScore = context.ai()
-                .withLlm(LlmOptions
-                        .withModel(OpenAiModels.GPT_41)
-                )
-                .createObject(prompt, ImproveScore.class);
+        ImproveScore improveScore = createObject(context, OpenAiModels.GPT_41,
+                LlmOptions.withModel(OpenAiModels.GPT_41), prompt, ImproveScore.class,
+                requestDeadlines.deadlineFor(request));
 
         Assert.notNull(improveScore, "Improve score recommendations cannot be null");
         return improveScore;
@@ -255,73 +462,117 @@ public class JobFitProviderAgent {
     @AchievesGoal(description = "Generates interview preparation content for candidates with excellent fit scores (>85%)")
     @Action
     public InterviewPrep generateInterviewPrep(InterviewPrepRequest request, CvSkills cvSkills, JobRequirements jobRequirements, OperationContext context) {
-        log.info("Generating interview prep for fit score {}", request.fitScore());
+        return metrics.recordAction("generateInterviewPrep", OpenAiModels.GPT_41, JobFitMetrics.NONE,
+                () -> interviewPrepFor(request, cvSkills, jobRequirements, context));
+    }
 
-        String promptTemplate = promptLoader.loadPrompt("getready.txt");
+    private InterviewPrep interviewPrepFor(InterviewPrepRequest request, CvSkills cvSkills, JobRequirements jobRequirements, OperationContext context) {
+        log.info("Generating interview prep for fit score {}", request.fitScore());
 
-        String cvSkillsStr = cvSkills != null ? cvSkills.toString() : "";
-        String jobReqStr = jobRequirements != null ? jobRequirements.toString() : "";
+        String cvSkillsStr = CanonicalRecords.format(cvSkills);
+        String jobReqStr = CanonicalRecords.format(jobRequirements);
         String fitExplanation = request.fitExplanation() != null ? request.fitExplanation() : "";
         String cvText = request.candidateCv() != null ? request.candidateCv() : "";
         String jobDesc = request.jobDescription() != null ? request.jobDescription() : "";
 
-        String prompt = promptTemplate
-                .replace("- FIT SCORE (0-100): %s", "- FIT SCORE (0-100): " + request.fitScore())
-                .replace("- FIT EXPLANATION: %s", "- FIT EXPLANATION: " + fitExplanation)
-                .replace("- EXTRACTED CV SKILLS: %s", "- EXTRACTED CV SKILLS: " + cvSkillsStr)
-                .replace("- JOB REQUIREMENTS: %s", "- JOB REQUIREMENTS: " + jobReqStr)
-                .replace("- CV TEXT: %s", "- CV TEXT: " + cvText)
-                .replace("- JOB DESCRIPTION: %s", "- JOB DESCRIPTION: " + jobDesc);
+        String prompt = promptAssembler.assemble("getready.txt", Map.of(
+                "fitScore", request.fitScore(),
+                "fitExplanation", fitExplanation,
+                "cvSkills", cvSkillsStr,
+                "jobRequirements", jobReqStr,
+                "cvText", cvText,
+                "jobDescription", jobDesc));
 
-        InterviewPrep interviewPrep = context.ai()
-                .withLlm(LlmOptions
-                        .withModel(OpenAiModels.GPT_41)
-                )
-                .createObject(prompt, InterviewPrep.class);
+        InterviewPrep interviewPrep = createObject(context, OpenAiModels.GPT_41,
+                LlmOptions.withModel(OpenAiModels.GPT_41), prompt, InterviewPrep.class,
+                requestDeadlines.deadlineFor(request));
 
         Assert.notNull(interviewPrep, "Interview prep cannot be null");
         return interviewPrep;
     }
 
-    private CvSkills extractCvSkills(String cvText, OperationContext context, String logSuffix) {
+    /**
+     * Sends a prompt to the model through that model's circuit breaker and bulkhead, so no single
+     * model can exhaust shared capacity or burst past its provider rate limit, and calls to a
+     * degraded model fail at once instead of waiting out the deadline.
+     */
+    private <T> T createObject(OperationContext context, String model, LlmOptions llmOptions, String prompt,
+                               Class<T> type, Deadline deadline) {
+        if (deadline.isExpired()) {
+            throw new DeadlineExceededException("No time left for " + model + " call before the request deadline");
+        }
+
+        // Runs on the managed executor so the wait is bounded by the deadline and the call can be interrupted
+        Future<T> call = agentExecutor.submit(() -> metrics.recordLlmCall(model,
+                () -> llmCircuitBreakers.execute(model,
+                        () -> llmBulkheads.execute(model, deadline.remaining(), () -> context.ai()
+                                .withLlm(llmOptions)
+                                .createObject(prompt, type)))));
+        try {
+            T result = call.get(deadline.remaining().toNanos(), TimeUnit.NANOSECONDS);
+            metrics.recordTokens(model, prompt, result);
+            return result;
+        } catch (TimeoutException e) {
+            throw new DeadlineExceededException(model + " call did not finish before the request deadline");
+        } catch (ExecutionException e) {
+            throw propagate(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DeadlineExceededException(model + " call was cancelled", e);
+        } finally {
+            call.cancel(true);
+        }
+    }
+
+    /**
+     * Rethrows the cause of a failed branch or call unchanged where possible.
+     */
+    private static RuntimeException propagate(ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(cause);
+    }
+
+    private CvSkills extractCvSkills(String cvText, OperationContext context, String logSuffix, Deadline deadline) {
         log.info("Extracting key skills from CV{}", logSuffix);
 
-        String skillsExtractorPrompt = promptLoader.loadPrompt("skills-extractor.txt");
-        String prompt = skillsExtractorPrompt + "\n\nCV TEXT:\n" + (cvText == null ? "" : cvText);
+        String prompt = promptAssembler.assemble("skills-extractor.txt",
+                Map.of("cvText", cvText == null ? "" : cvText));
 
-        CvSkills cvSkills = context.ai()
-                .withLlm(LlmOptions
+        CvSkills cvSkills = createObject(context, OpenAiModels.GPT_41_MINI, LlmOptions
                         .withModel(OpenAiModels.GPT_41_MINI)
                         .withTemperature(0.1)
                         .withTopP(0.90)
                         .withFrequencyPenalty(0.0)
                         .withPresencePenalty(0.0)
-                        .withMaxTokens(1000)
-                )
-                .createObject(prompt, CvSkills.class);
+                        .withMaxTokens(1000),
+                prompt, CvSkills.class, deadline);
 
         Assert.notNull(cvSkills, "CV skills cannot be null");
         log.info("Skills extracted from CV{}", logSuffix);
         return cvSkills;
     }
 
-    private JobRequirements extractJobRequirements(String jobDescription, OperationContext context, String logSuffix) {
+    private JobRequirements extractJobRequirements(String jobDescription, OperationContext context, String logSuffix,
+                                                   Deadline deadline) {
         log.info("Extracting job requirements{}", logSuffix);
 
-        String jobDescriptionPrompt = promptLoader.loadPrompt("job-description-extractor.txt");
-        String prompt = jobDescriptionPrompt + "\n\nJOB DESCRIPTION:\n" +
-                (jobDescription == null ? "" : jobDescription);
+        String prompt = promptAssembler.assemble("job-description-extractor.txt",
+                Map.of("jobDescription", jobDescription == null ? "" : jobDescription));
 
-        JobRequirements requirements = context.ai()
-                .withLlm(LlmOptions
+        JobRequirements requirements = createObject(context, OpenAiModels.GPT_41_MINI, LlmOptions
                         .withModel(OpenAiModels.GPT_41_MINI)
                         .withTemperature(0.2)
                         .withTopP(0.90)
                         .withFrequencyPenalty(0.0)
                         .withPresencePenalty(0.0)
-                        .withMaxTokens(1000)
-                )
-                .createObject(prompt, JobRequirements.class);
+                        .withMaxTokens(1000),
+                prompt, JobRequirements.class, deadline);
 
         Assert.notNull(requirements, "Job requirements cannot be null");
         log.info("Job requirements extracted{}", logSuffix);
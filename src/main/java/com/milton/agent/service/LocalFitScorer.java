@@ -0,0 +1,277 @@
+package com.milton.agent.service;
+
+import com.milton.agent.models.CvSkills;
+import com.milton.agent.models.FitScore;
+import com.milton.agent.models.JobRequirements;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Deterministic, LLM-free fit scorer.
+ * <p>
+ * Matches extracted {@link CvSkills} against {@link JobRequirements} through a synonym-normalized
+ * term index and applies the same weighting as jobfit-fit-score.txt: critical 60, important 25,
+ * supporting 15 points, full match 1.0 / partial 0.5, and hard caps of 35 and 55 when less than
+ * 30% / 50% of critical requirements are met. Runs in well under a millisecond for typical CVs,
+ * so it can serve an instant provisional score or stand in when the LLM is unavailable.
+ */
+@Slf4j
+@Service
+public class LocalFitScorer {
+
+    private static final double CRITICAL_WEIGHT = 60;
+    private static final double IMPORTANT_WEIGHT = 25;
+    private static final double SUPPORTING_WEIGHT = 15;
+    private static final double FULL_MATCH_COVERAGE = 0.66;
+    private static final int MAX_ALIAS_TOKENS = 4;
+
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "an", "and", "or", "the", "of", "in", "on", "with", "for", "to", "at", "by", "as", "is",
+            "using", "use", "experience", "experienced", "year", "years", "skill", "skills", "knowledge",
+            "strong", "proven", "good", "excellent", "solid", "ability", "able", "understanding",
+            "proficiency", "proficient", "familiarity", "familiar", "working", "hands-on", "demonstrated",
+            "plus", "etc", "including", "background", "expertise", "required", "preferred", "desirable",
+            "essential", "certification", "certified", "level", "minimum", "least", "such", "similar");
+
+    // Alias (tokens joined by single spaces) -> canonical term
+    private final Map<String, String> synonyms;
+
+    public LocalFitScorer(@Value("${jobfit.local-scorer.synonyms:scoring/skill-synonyms.txt}") String synonymsResource) {
+        this.synonyms = loadSynonyms(synonymsResource);
+    }
+
+    /**
+     * Computes a provisional fit score from already extracted records.
+     */
+    public FitScore score(CvSkills cvSkills, JobRequirements jobRequirements) {
+        long startTime = System.nanoTime();
+
+        // Search pools per tier mirror the fit-score prompt
+        Set<String> hardSkills = index(cvSkills == null ? Stream.empty() : Stream.of(
+                cvSkills.technicalSkills(), cvSkills.professionalSkills(), cvSkills.qualifications()));
+        Set<String> allSkills = new HashSet<>(hardSkills);
+        allSkills.addAll(index(cvSkills == null ? Stream.empty() : Stream.of(cvSkills.softSkills())));
+
+        TierResult critical = scoreTier(jobRequirements == null ? null : jobRequirements.criticalRequirements(),
+                hardSkills, CRITICAL_WEIGHT);
+        TierResult important = scoreTier(jobRequirements == null ? null : jobRequirements.importantRequirements(),
+                allSkills, IMPORTANT_WEIGHT);
+        TierResult supporting = scoreTier(jobRequirements == null ? null : jobRequirements.supportingRequirements(),
+                allSkills, SUPPORTING_WEIGHT);
+
+        double preliminary = critical.points() + important.points() + supporting.points();
+        Integer hardCap = null;
+        if (critical.total() > 0 && critical.matchRatio() < 0.30) {
+            hardCap = 35;
+        } else if (critical.total() > 0 && critical.matchRatio() < 0.50) {
+            hardCap = 55;
+        }
+        double capped = hardCap == null ? preliminary : Math.min(preliminary, hardCap);
+        int score = (int) Math.max(0, Math.min(100, Math.round(capped)));
+
+        log.debug("Local fit score {} computed in {}us", score, (System.nanoTime() - startTime) / 1_000);
+        return new FitScore(score, explain(score, critical, important, supporting, hardCap), true);
+    }
+
+    private TierResult scoreTier(List<String> requirements, Set<String> pool, double weight) {
+        if (requirements == null || requirements.isEmpty()) {
+            // No requirements in this tier: candidate is not penalised
+            return new TierResult(weight, 1.0, 0, 0, List.of());
+        }
+
+        double sum = 0;
+        int matched = 0;
+        List<String> missing = new ArrayList<>();
+        for (String requirement : requirements) {
+            double match = matchRequirement(requirement, pool);
+            sum += match;
+            if (match > 0) {
+                matched++;
+            } else {
+                missing.add(requirement);
+            }
+        }
+        double ratio = sum / requirements.size();
+        return new TierResult(ratio * weight, ratio, matched, requirements.size(), missing);
+    }
+
+    private double matchRequirement(String requirement, Set<String> pool) {
+        Set<String> terms = terms(requirement);
+        if (terms.isEmpty()) {
+            return 0.0;
+        }
+        int found = 0;
+        for (String term : terms) {
+            if (pool.contains(term)) {
+                found++;
+            }
+        }
+        double coverage = (double) found / terms.size();
+        if (coverage >= FULL_MATCH_COVERAGE) {
+            return 1.0;
+        }
+        return found > 0 ? 0.5 : 0.0;
+    }
+
+    private Set<String> index(Stream<List<String>> categories) {
+        Set<String> index = new HashSet<>();
+        categories.forEach(items -> {
+            if (items != null) {
+                for (String item : items) {
+                    index.addAll(terms(item));
+                }
+            }
+        });
+        return index;
+    }
+
+    /**
+     * Splits a skill or requirement into canonical terms: lower-cased tokens, longest synonym
+     * alias first, stopwords and bare numbers dropped, simple plurals folded.
+     */
+    Set<String> terms(String text) {
+        Set<String> terms = new HashSet<>();
+        if (text == null || text.isBlank()) {
+            return terms;
+        }
+        List<String> tokens = tokenize(text);
+        int i = 0;
+        while (i < tokens.size()) {
+            int consumed = 0;
+            for (int length = Math.min(MAX_ALIAS_TOKENS, tokens.size() - i); length > 0; length--) {
+                String canonical = synonyms.get(String.join(" ", tokens.subList(i, i + length)));
+                if (canonical != null) {
+                    terms.add(canonical);
+                    consumed = length;
+                    break;
+                }
+            }
+            if (consumed == 0) {
+                String token = tokens.get(i);
+                if (!STOPWORDS.contains(token) && !isNumeric(token)) {
+                    String singular = singular(token);
+                    terms.add(synonyms.getOrDefault(singular, singular));
+                }
+                consumed = 1;
+            }
+            i += consumed;
+        }
+        return terms;
+    }
+
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            char c = i < lower.length() ? lower.charAt(i) : ' ';
+            boolean tokenChar = Character.isLetterOrDigit(c) || c == '#' || c == '+' || c == '.'
+                    || c == '/' || c == '-' || c == '\'';
+            if (tokenChar && start < 0) {
+                start = i;
+            } else if (!tokenChar && start >= 0) {
+                String token = trimPunctuation(lower.substring(start, i));
+                if (!token.isEmpty()) {
+                    tokens.add(token);
+                }
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    // Keeps ".net", "c#", "c++"; drops sentence punctuation around words
+    private static String trimPunctuation(String token) {
+        int begin = 0;
+        int end = token.length();
+        while (begin < end && "/-'".indexOf(token.charAt(begin)) >= 0) {
+            begin++;
+        }
+        while (end > begin && ".,/-'".indexOf(token.charAt(end - 1)) >= 0) {
+            end--;
+        }
+        return token.substring(begin, end);
+    }
+
+    private static boolean isNumeric(String token) {
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (!Character.isDigit(c) && c != '+' && c != '.') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String singular(String token) {
+        if (token.length() > 4 && token.endsWith("s") && !token.endsWith("ss")) {
+            return token.substring(0, token.length() - 1);
+        }
+        return token;
+    }
+
+    private static String explain(int score, TierResult critical, TierResult important, TierResult supporting,
+                                  Integer hardCap) {
+        StringBuilder explanation = new StringBuilder()
+                .append("Provisional estimate of ").append(score).append("% computed locally without AI review. ")
+                .append("Matched ").append(critical.matched()).append(" of ").append(critical.total())
+                .append(" critical, ").append(important.matched()).append(" of ").append(important.total())
+                .append(" important and ").append(supporting.matched()).append(" of ").append(supporting.total())
+                .append(" supporting requirements.");
+        if (!critical.missing().isEmpty()) {
+            explanation.append(" Missing critical requirements: ")
+                    .append(String.join(", ", critical.missing())).append('.');
+        }
+        if (hardCap != null) {
+            explanation.append(" Score capped at ").append(hardCap)
+                    .append(" because too few critical requirements are met.");
+        }
+        return explanation.toString();
+    }
+
+    private Map<String, String> loadSynonyms(String resource) {
+        Map<String, String> loaded = new HashMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new ClassPathResource(resource).getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.strip();
+                int separator = line.indexOf('=');
+                if (line.isEmpty() || line.startsWith("#") || separator < 0) {
+                    continue;
+                }
+                String canonical = line.substring(0, separator).strip().toLowerCase(Locale.ROOT);
+                loaded.put(canonical, canonical);
+                for (String alias : line.substring(separator + 1).split(",")) {
+                    String key = String.join(" ", tokenize(alias));
+                    if (!key.isEmpty()) {
+                        loaded.put(key, canonical);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load synonym dictionary: " + resource, e);
+        }
+        log.debug("Loaded {} skill synonyms from {}", loaded.size(), resource);
+        return Map.copyOf(loaded);
+    }
+
+    private record TierResult(double points, double matchRatio, int matched, int total, List<String> missing) {
+    }
+}
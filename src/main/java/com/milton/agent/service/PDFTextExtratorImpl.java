@@ -1,5 +1,7 @@
 package com.milton.agent.service;
 
+import com.milton.agent.metrics.JobFitMetrics;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.text.PDFTextStripper;
 import org.springframework.stereotype.Service;
@@ -7,18 +9,42 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 
+@Slf4j
 @Service
 public class PDFTextExtratorImpl implements TextExtractor{
+
+    private final CvTextCompactor cvTextCompactor;
+    private final JobFitMetrics metrics;
+
+    public PDFTextExtratorImpl(CvTextCompactor cvTextCompactor, JobFitMetrics metrics) {
+        this.cvTextCompactor = cvTextCompactor;
+        this.metrics = metrics;
+    }
+
     @Override
     public String extractText(MultipartFile filename) throws IOException {
+        return metrics.recordPdf("extract", () -> extract(filename));
+    }
 
+    private String extract(MultipartFile filename) throws IOException {
         try(PDDocument document = PDDocument.load(filename.getInputStream())) {
             if(document.isEncrypted()) {
                 throw new IOException("File is encrypted, please decrypt and upload again.");
             }
             PDFTextStripper pdfStripper = new PDFTextStripper();
-            return pdfStripper.getText(document);
+            if (!cvTextCompactor.isEnabled()) {
+                return pdfStripper.getText(document);
+            }
+
+            // Stream the stripper output straight into the compaction stage, one page at a time
+            pdfStripper.setPageEnd(String.valueOf(CvTextCompactor.PAGE_BREAK));
+            CvTextCompactor.Sink sink = cvTextCompactor.newSink();
+            pdfStripper.writeText(document, sink);
+            CvTextCompactor.CompactionResult result = sink.finish();
+            log.info("Compacted {} ({} pages) from {} to {} chars, ratio {}, dropped {} boilerplate lines",
+                    filename.getOriginalFilename(), document.getNumberOfPages(), result.originalLength(),
+                    result.compactedLength(), String.format("%.2f", result.ratio()), result.droppedBoilerplateLines());
+            return result.text();
         }
     }
 }
-
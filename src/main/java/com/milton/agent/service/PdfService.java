@@ -1,5 +1,6 @@
 package com.milton.agent.service;
 
+import com.milton.agent.metrics.JobFitMetrics;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
@@ -19,7 +20,17 @@ import java.util.List;
 @Service
 public class PdfService {
 
+    private final JobFitMetrics metrics;
+
+    public PdfService(JobFitMetrics metrics) {
+        this.metrics = metrics;
+    }
+
     public byte[] renderPdfFromText(String text) throws IOException {
+        return metrics.recordPdf("render", () -> render(text));
+    }
+
+    private byte[] render(String text) throws IOException {
         try (TimedOperation ignored = TimedOperation.start(log, "PDF rendering");
              PDDocument document = new PDDocument(); ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
             PDType1Font font = PDType1Font.HELVETICA;
@@ -85,7 +96,8 @@ public class PdfService {
         return baseName + suffix;
     }
 
-    private List<String> wrapText(String text, PDType1Font font, float fontSize, float availableWidth) throws IOException {
+    // Package-private for PdfRenderBenchmark
+    List<String> wrapText(String text, PDType1Font font, float fontSize, float availableWidth) throws IOException {
         List<String> wrappedLines = new ArrayList<>();
         String[] rawLines = text.split("\\R", -1);
 
@@ -116,7 +128,8 @@ public class PdfService {
         return wrappedLines;
     }
 
-    private String sanitizeForPdf(String text) {
+    // Package-private for PdfRenderBenchmark
+    String sanitizeForPdf(String text) {
         if (text == null) {
             return "";
         }
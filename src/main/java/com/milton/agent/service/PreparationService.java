@@ -0,0 +1,57 @@
+package com.milton.agent.service;
+
+import com.embabel.agent.api.common.autonomy.AgentInvocation;
+import com.milton.agent.cache.BoundedCache;
+import com.milton.agent.models.PreparationResult;
+import com.milton.agent.util.ContentDigest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * Carries the CV skills and job requirements extracted by an analysis over to its follow-up
+ * actions. Suggestions, improve-fit and interview prep all need both records; invoked with them
+ * already on the blackboard, the planner skips the extraction actions and their two LLM calls.
+ */
+@Slf4j
+@Service
+public class PreparationService {
+
+    private final BoundedCache<String, PreparationResult> extractionCache;
+
+    public PreparationService(BoundedCache<String, PreparationResult> extractionCache) {
+        this.extractionCache = extractionCache;
+    }
+
+    /**
+     * The extraction behind the analysis that just ran for this CV/JD pair. The agent stores it
+     * in the extraction cache under {@link #keyFor}, so it is there right after the invocation;
+     * empty for agents that do not cache extractions (the dev mock).
+     */
+    public Optional<PreparationResult> find(String cvText, String jobDescriptionText) {
+        if (cvText == null || jobDescriptionText == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(extractionCache.get(keyFor(cvText, jobDescriptionText)));
+    }
+
+    /**
+     * Identifies the CV/JD pair a preparation was extracted from.
+     */
+    public String keyFor(String cvText, String jobDescriptionText) {
+        return ContentDigest.of(cvText, jobDescriptionText);
+    }
+
+    /**
+     * Invokes the agent for a follow-up request, adding the preparation's records to the
+     * blackboard when there is one so they are not extracted again.
+     */
+    public <T> T invoke(AgentInvocation<T> invocation, Object request, PreparationResult preparation) {
+        if (preparation == null || preparation.cvSkills() == null || preparation.jobRequirements() == null) {
+            return invocation.invoke(request);
+        }
+        log.debug("Reusing analysis extraction for {}", request.getClass().getSimpleName());
+        return invocation.invoke(request, preparation.cvSkills(), preparation.jobRequirements());
+    }
+}
@@ -34,6 +34,18 @@ public class RateLimitService {
      * @return true if request is allowed, false if limit exceeded
      */
     public boolean isAllowed(Long userId) {
+        return isAllowed(userId, 1);
+    }
+
+    /**
+     * Check whether a user has enough of today's quota left for several analyses at once, such
+     * as a batch. Either all of them are counted or, if they do not fit, none are.
+     *
+     * @param userId   The user ID to check
+     * @param requests Number of analyses the request will run
+     * @return true if the requests are allowed, false if they would exceed the limit
+     */
+    public boolean isAllowed(Long userId, int requests) {
         LocalDate today = LocalDate.now();
         DailyRequestInfo info = userRequestMap.computeIfAbsent(userId, k -> new DailyRequestInfo(today));
 
@@ -45,12 +57,12 @@ public class RateLimitService {
                 info.requestCount = 0;
             }
 
-            if (info.requestCount >= maxRequestsPerDay) {
-                log.warn("Daily rate limit exceeded for user: {} (Date: {})", userId, today);
+            if (info.requestCount + requests > maxRequestsPerDay) {
+                log.warn("Daily rate limit exceeded for user: {} (Date: {}, requested: {})", userId, today, requests);
                 return false;
             }
 
-            info.requestCount++;
+            info.requestCount += requests;
             log.info("Request count for user {} on {}: {}/{}", userId, today, info.requestCount, maxRequestsPerDay);
             return true;
         }
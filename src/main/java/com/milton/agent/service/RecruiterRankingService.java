@@ -0,0 +1,258 @@
+package com.milton.agent.service;
+
+import com.embabel.agent.api.common.autonomy.AgentInvocation;
+import com.embabel.agent.core.AgentPlatform;
+import com.milton.agent.config.ExecutorConfig;
+import com.milton.agent.exceptions.LlmCircuitOpenException;
+import com.milton.agent.models.FitScore;
+import com.milton.agent.models.JobFitRequest;
+import com.milton.agent.models.RankedCandidate;
+import com.milton.agent.models.RecruiterRanking;
+import com.milton.agent.util.BoundedTopK;
+import com.milton.agent.util.Deadline;
+import com.milton.agent.util.FileValidationUtil;
+import com.milton.agent.util.TimedOperation;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Recruiter mode: ranks many CVs against one job description and keeps the best K.
+ * <p>
+ * Job requirements are extracted once and shared by every CV through the job requirements cache.
+ * Each CV is read and scored on its own virtual thread, but a new CV is only started when one of
+ * {@code jobfit.recruiter.max-concurrency} permits is free, so at most that many CV texts are held
+ * at once. Scored CVs are reduced to a file name and {@link FitScore} and offered to a bounded
+ * top-K heap; memory therefore stays proportional to the concurrency and K, not the number of CVs.
+ * <p>
+ * A ranking has an overall deadline of {@code jobfit.recruiter.timeout}. No CV is started after it
+ * and CVs in flight are held to it; CVs left unscored are counted as failed. Likewise no CV is
+ * started once a model's circuit breaker has rejected a call; if no CV was scored at all, the
+ * {@link LlmCircuitOpenException} is rethrown instead of returning an empty ranking.
+ */
+@Slf4j
+@Service
+public class RecruiterRankingService {
+
+    static final Comparator<RankedCandidate> BY_SCORE = Comparator
+            .comparingInt((RankedCandidate candidate) -> candidate.fitScore().score())
+            .thenComparing(RankedCandidate::fileName, Comparator.reverseOrder());
+
+    // Time after the ranking deadline for CVs in flight to stop and the final event to be sent
+    private static final Duration SHUTDOWN_GRACE = Duration.ofSeconds(30);
+
+    private final AgentPlatform agentPlatform;
+    private final RequestDeadlines requestDeadlines;
+    private final TextExtractor textExtractor;
+    private final int maxConcurrency;
+    private final int maxTopK;
+    private final int maxCvs;
+    private final Duration timeout;
+
+    public RecruiterRankingService(AgentPlatform agentPlatform,
+                                   RequestDeadlines requestDeadlines,
+                                   TextExtractor textExtractor,
+                                   @Value("${jobfit.recruiter.max-concurrency:8}") int maxConcurrency,
+                                   @Value("${jobfit.recruiter.max-top-k:100}") int maxTopK,
+                                   @Value("${jobfit.recruiter.max-cvs:200}") int maxCvs,
+                                   @Value("${jobfit.recruiter.timeout:10m}") Duration timeout) {
+        this.agentPlatform = agentPlatform;
+        this.requestDeadlines = requestDeadlines;
+        this.textExtractor = textExtractor;
+        this.maxConcurrency = maxConcurrency;
+        this.maxTopK = maxTopK;
+        this.maxCvs = maxCvs;
+        this.timeout = timeout;
+    }
+
+    public int getMaxTopK() {
+        return maxTopK;
+    }
+
+    public int getMaxCvs() {
+        return maxCvs;
+    }
+
+    /**
+     * Scores every CV against the job description and returns the {@code topK} best, highest first.
+     * Uploads that are not PDFs are counted as failed without being read.
+     */
+    public RecruiterRanking rank(String jobDescription, List<MultipartFile> cvs, int topK, boolean quickResponse) {
+        return rank(jobDescription, cvs, topK, quickResponse, progress -> { });
+    }
+
+    /**
+     * Scores every CV, handing the ranking so far to {@code onProgress} each time a CV finishes
+     * (on the scoring thread), and returns the final ranking once every CV is done or the
+     * deadline has passed.
+     */
+    public RecruiterRanking rank(String jobDescription, List<MultipartFile> cvs, int topK, boolean quickResponse,
+                                 Consumer<RecruiterRanking> onProgress) {
+        validate(cvs, topK);
+
+        Deadline deadline = Deadline.after(timeout);
+        BoundedTopK<RankedCandidate> best = new BoundedTopK<>(topK, BY_SCORE);
+        Semaphore permits = new Semaphore(maxConcurrency);
+        AtomicInteger processed = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        AtomicReference<LlmCircuitOpenException> circuitOpen = new AtomicReference<>();
+        int started = 0;
+
+        try (TimedOperation ignored = TimedOperation.start(log, "Recruiter ranking of " + cvs.size() + " CVs");
+             ExecutorService executor = ExecutorConfig.propagatingContext(Executors.newVirtualThreadPerTaskExecutor())) {
+            for (MultipartFile cv : cvs) {
+                // Back-pressure: do not start reading the next CV until a slot is free
+                if (!acquire(permits, deadline)) {
+                    break;
+                }
+                if (circuitOpen.get() != null) {
+                    permits.release();
+                    break;
+                }
+                started++;
+                executor.execute(() -> {
+                    try {
+                        RankedCandidate candidate = score(cv, jobDescription, quickResponse, deadline);
+                        best.offer(candidate);
+                        processed.incrementAndGet();
+                    } catch (LlmCircuitOpenException e) {
+                        circuitOpen.compareAndSet(null, e);
+                        failed.incrementAndGet();
+                    } catch (IOException | RuntimeException e) {
+                        log.warn("Skipping CV {}: {}", cv.getOriginalFilename(), e.getMessage());
+                        failed.incrementAndGet();
+                    } finally {
+                        permits.release();
+                    }
+                    onProgress.accept(new RecruiterRanking(processed.get(), failed.get(), best.toSortedList()));
+                });
+            }
+            awaitInFlight(executor, deadline);
+        }
+
+        if (circuitOpen.get() != null && processed.get() == 0) {
+            throw circuitOpen.get();
+        }
+        int unscored = cvs.size() - started;
+        if (unscored > 0) {
+            log.warn("Recruiter ranking stopped with {} of {} CVs not started ({})", unscored, cvs.size(),
+                    circuitOpen.get() != null ? circuitOpen.get().getMessage()
+                            : Thread.currentThread().isInterrupted() ? "cancelled"
+                            : "deadline of " + timeout + " reached");
+        }
+        log.info("Ranked {} CVs ({} failed), keeping top {}", processed.get(), failed.get() + unscored, best.size());
+        return new RecruiterRanking(processed.get(), failed.get() + unscored, best.toSortedList());
+    }
+
+    /**
+     * Runs the ranking on a virtual thread and streams it as Server-Sent Events: a {@code progress}
+     * event with the counts and current top K after each CV, then a {@code ranked} event with the
+     * final ranking, or an {@code error} event if the LLM provider is unavailable. The ranking is
+     * cancelled when the stream ends early (the client disconnects, the stream times out, or an
+     * event cannot be delivered): no further CVs are started.
+     */
+    public SseEmitter stream(String jobDescription, List<MultipartFile> cvs, int topK, boolean quickResponse) {
+        validate(cvs, topK);
+        SseEmitter emitter = new SseEmitter(timeout.plus(SHUTDOWN_GRACE).toMillis());
+        Thread ranking = Thread.ofVirtual().name("recruiter-stream").unstarted(() -> {
+            Thread streamThread = Thread.currentThread();
+            try {
+                RecruiterRanking result = rank(jobDescription, cvs, topK, quickResponse, progress -> {
+                    if (!send(emitter, "progress", progress)) {
+                        streamThread.interrupt();
+                    }
+                });
+                if (!streamThread.isInterrupted()) {
+                    send(emitter, "ranked", result);
+                }
+                emitter.complete();
+            } catch (LlmCircuitOpenException e) {
+                log.warn("Recruiter ranking stream failed fast: {}", e.getMessage());
+                send(emitter, "error", LlmCircuitOpenException.USER_MESSAGE);
+                emitter.complete();
+            } catch (RuntimeException e) {
+                log.error("Recruiter ranking stream failed", e);
+                emitter.completeWithError(e);
+            }
+        });
+        // Interrupting the stream thread stops the ranking loop and the CVs in flight (see awaitInFlight)
+        emitter.onCompletion(ranking::interrupt);
+        emitter.onTimeout(ranking::interrupt);
+        emitter.onError(e -> ranking.interrupt());
+        ranking.start();
+        return emitter;
+    }
+
+    private void validate(List<MultipartFile> cvs, int topK) {
+        if (topK <= 0 || topK > maxTopK) {
+            throw new IllegalArgumentException("topK must be between 1 and " + maxTopK);
+        }
+        if (cvs.size() > maxCvs) {
+            throw new IllegalArgumentException("A ranking can contain at most " + maxCvs + " CVs");
+        }
+    }
+
+    private RankedCandidate score(MultipartFile cv, String jobDescription, boolean quickResponse, Deadline rankingDeadline)
+            throws IOException {
+        if (!FileValidationUtil.isPdfFile(cv)) {
+            throw new IllegalArgumentException("not a PDF");
+        }
+        String cvText = textExtractor.extractText(cv);
+        JobFitRequest request = new JobFitRequest(cvText, jobDescription, quickResponse);
+        Deadline deadline = requestDeadlines.forAnalysis(request.QuickResponse()).earlierOf(rankingDeadline);
+        FitScore fitScore = requestDeadlines.within(request, deadline,
+                () -> AgentInvocation.create(agentPlatform, FitScore.class).invoke(request));
+        return new RankedCandidate(cv.getOriginalFilename(), fitScore);
+    }
+
+    private static boolean acquire(Semaphore permits, Deadline deadline) {
+        try {
+            return permits.tryAcquire(deadline.remaining().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void awaitInFlight(ExecutorService executor, Deadline deadline) {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(deadline.remaining().plus(SHUTDOWN_GRACE).toNanos(), TimeUnit.NANOSECONDS)) {
+                log.warn("Recruiter ranking CVs still running after the deadline, interrupting them");
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Sends one event, returning false if the client can no longer receive it.
+     */
+    private static boolean send(SseEmitter emitter, String name, Object data) {
+        try {
+            synchronized (emitter) {
+                emitter.send(SseEmitter.event().name(name).data(data));
+            }
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropped recruiter {} event for disconnected client", name);
+            return false;
+        }
+    }
+}
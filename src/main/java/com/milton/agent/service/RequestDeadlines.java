@@ -0,0 +1,96 @@
+package com.milton.agent.service;
+
+import com.milton.agent.util.Deadline;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Carries a request-level {@link Deadline} from the caller of an agent invocation into the agent's
+ * actions. Embabel passes the request object through the blackboard unchanged, so the deadline is
+ * registered against that instance (by identity) for the duration of the invocation and looked up
+ * by each action.
+ */
+@Slf4j
+@Component
+public class RequestDeadlines {
+
+    private final Duration quickAnalysisBudget;
+    private final Duration thoughtfulAnalysisBudget;
+    private final Duration defaultBudget;
+
+    private final Map<IdentityKey, Deadline> deadlines = new ConcurrentHashMap<>();
+
+    public RequestDeadlines(@Value("${jobfit.deadline.analysis.quick:60s}") Duration quickAnalysisBudget,
+                            @Value("${jobfit.deadline.analysis.thoughtful:150s}") Duration thoughtfulAnalysisBudget,
+                            @Value("${jobfit.deadline.default:120s}") Duration defaultBudget) {
+        this.quickAnalysisBudget = quickAnalysisBudget;
+        this.thoughtfulAnalysisBudget = thoughtfulAnalysisBudget;
+        this.defaultBudget = defaultBudget;
+    }
+
+    /**
+     * Deadline for a fit score analysis in the given mode, starting now.
+     */
+    public Deadline forAnalysis(boolean quickResponse) {
+        return Deadline.after(quickResponse ? quickAnalysisBudget : thoughtfulAnalysisBudget);
+    }
+
+    /**
+     * Deadline for other agent invocations (rewrites and recommendations), starting now.
+     */
+    public Deadline forDefault() {
+        return Deadline.after(defaultBudget);
+    }
+
+    /**
+     * Runs an agent invocation with the deadline registered for its request.
+     */
+    public <T> T within(Object request, Deadline deadline, Supplier<T> invocation) {
+        IdentityKey key = new IdentityKey(request);
+        deadlines.put(key, deadline);
+        try {
+            return invocation.get();
+        } finally {
+            deadlines.remove(key);
+        }
+    }
+
+    /**
+     * Returns the deadline registered for the request, or the default budget from now if the
+     * request was invoked without one.
+     */
+    public Deadline deadlineFor(Object request) {
+        Deadline deadline = request == null ? null : deadlines.get(new IdentityKey(request));
+        if (deadline == null) {
+            log.debug("No deadline registered for {}, using default budget", request == null ? null : request.getClass().getSimpleName());
+            return forDefault();
+        }
+        return deadline;
+    }
+
+    // Requests are records with value equality; two identical requests in flight must keep separate deadlines
+    private static final class IdentityKey {
+
+        private final Object target;
+
+        private IdentityKey(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof IdentityKey key && key.target == target;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(target);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.milton.agent.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the {@code k} greatest elements offered to it, in O(k) memory regardless of how many
+ * elements are offered. Backed by a min-heap whose root is the weakest element kept, so each
+ * offer costs O(log k) and most losing offers are rejected after a single comparison.
+ * Thread-safe.
+ *
+ * @param <T> element type, ordered by the supplied comparator (greater is better)
+ */
+public final class BoundedTopK<T> {
+
+    private final int k;
+    private final Comparator<? super T> comparator;
+    private final PriorityQueue<T> heap;
+
+    public BoundedTopK(int k, Comparator<? super T> comparator) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k must be positive: " + k);
+        }
+        this.k = k;
+        this.comparator = comparator;
+        this.heap = new PriorityQueue<>(k, comparator);
+    }
+
+    /**
+     * Offers an element and returns whether it is currently among the top k.
+     */
+    public synchronized boolean offer(T element) {
+        if (heap.size() < k) {
+            heap.add(element);
+            return true;
+        }
+        if (comparator.compare(element, heap.peek()) <= 0) {
+            return false;
+        }
+        heap.poll();
+        heap.add(element);
+        return true;
+    }
+
+    public synchronized int size() {
+        return heap.size();
+    }
+
+    /**
+     * Returns the kept elements, greatest first.
+     */
+    public synchronized List<T> toSortedList() {
+        List<T> sorted = new ArrayList<>(heap);
+        sorted.sort(comparator.reversed());
+        return sorted;
+    }
+}
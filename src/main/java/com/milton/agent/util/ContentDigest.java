@@ -0,0 +1,84 @@
+package com.milton.agent.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+
+/**
+ * Utility class for building collision-safe cache keys from text content.
+ * Each part is length-prefixed before hashing so ("ab", "c") and ("a", "bc") never share a key.
+ */
+public final class ContentDigest {
+
+    // Private constructor to prevent instantiation
+    private ContentDigest() {
+        throw new UnsupportedOperationException("Utility class should not be instantiated");
+    }
+
+    /**
+     * Computes a SHA-256 digest over the given parts.
+     *
+     * @param parts text fragments to hash, null parts are allowed
+     * @return lowercase hex encoded digest (64 characters)
+     */
+    public static String of(String... parts) {
+        MessageDigest sha256 = newSha256();
+        for (String part : parts) {
+            if (part == null) {
+                sha256.update(ByteBuffer.allocate(Integer.BYTES).putInt(-1).array());
+                continue;
+            }
+            byte[] bytes = part.getBytes(StandardCharsets.UTF_8);
+            sha256.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+            sha256.update(bytes);
+        }
+        return HexFormat.of().formatHex(sha256.digest());
+    }
+
+    /**
+     * Computes a digest that ignores case and whitespace layout, so the same job ad pasted
+     * with different line breaks or indentation maps to the same key.
+     *
+     * @param text free text such as a job description
+     * @return lowercase hex encoded digest of the normalized text
+     */
+    public static String ofNormalized(String text) {
+        return of(normalize(text));
+    }
+
+    /**
+     * Collapses every whitespace run to a single space, trims and lower-cases the text.
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c) || Character.isSpaceChar(c)) {
+                pendingSpace = normalized.length() > 0;
+                continue;
+            }
+            if (pendingSpace) {
+                normalized.append(' ');
+                pendingSpace = false;
+            }
+            normalized.append(c);
+        }
+        return normalized.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every compliant JVM ships SHA-256
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.milton.agent.util;
+
+import java.time.Duration;
+
+/**
+ * Point in time by which a request must finish, on the monotonic {@link System#nanoTime()} clock.
+ */
+public record Deadline(long expiresAtNanos) {
+
+    public static Deadline after(Duration budget) {
+        return new Deadline(System.nanoTime() + budget.toNanos());
+    }
+
+    /**
+     * Time left before the deadline, never negative.
+     */
+    public Duration remaining() {
+        long remainingNanos = expiresAtNanos - System.nanoTime();
+        return remainingNanos > 0 ? Duration.ofNanos(remainingNanos) : Duration.ZERO;
+    }
+
+    /**
+     * Whichever of this deadline and {@code other} expires first.
+     */
+    public Deadline earlierOf(Deadline other) {
+        return expiresAtNanos - other.expiresAtNanos <= 0 ? this : other;
+    }
+
+    public boolean isExpired() {
+        return expiresAtNanos - System.nanoTime() <= 0;
+    }
+}
@@ -4,7 +4,7 @@ import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "jobfit.extraction-store.enabled=false")
 @Disabled("Temporarily disabling context test")
 class AgentApplicationTests {
 
@@ -0,0 +1,109 @@
+package com.milton.agent.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void lru_ShouldEvictLeastRecentlyUsedEntry() {
+        // Arrange
+        BoundedCache<String, String> cache = BoundedCache.create("test",
+                new CacheSettings(EvictionPolicy.LRU, 2, Duration.ofMinutes(5)), clock::get);
+        cache.put("a", "A");
+        cache.put("b", "B");
+        cache.get("a");
+
+        // Act
+        cache.put("c", "C");
+
+        // Assert
+        assertEquals("A", cache.get("a"));
+        assertNull(cache.get("b"), "Least recently used entry should have been evicted");
+        assertEquals("C", cache.get("c"));
+        assertEquals(1, cache.stats().evictions());
+        assertEquals(2, cache.stats().size());
+    }
+
+    @Test
+    void lru_ShouldExpireEntriesAfterTtl() {
+        // Arrange
+        BoundedCache<String, String> cache = BoundedCache.create("test",
+                new CacheSettings(EvictionPolicy.LRU, 10, Duration.ofSeconds(30)), clock::get);
+        cache.put("a", "A");
+
+        // Act
+        clock.addAndGet(Duration.ofSeconds(31).toNanos());
+
+        // Assert
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.stats().size());
+    }
+
+    @Test
+    void tinyLfu_ShouldExpireEntriesAfterTtl() {
+        // Arrange
+        BoundedCache<String, String> cache = BoundedCache.create("test",
+                new CacheSettings(EvictionPolicy.W_TINY_LFU, 10, Duration.ofSeconds(30)), clock::get);
+        cache.put("a", "A");
+        assertEquals("A", cache.get("a"));
+
+        // Act
+        clock.addAndGet(Duration.ofSeconds(31).toNanos());
+
+        // Assert
+        assertNull(cache.get("a"));
+    }
+
+    @Test
+    void tinyLfu_ShouldStayWithinMaxSize() {
+        // Arrange
+        BoundedCache<Integer, Integer> cache = BoundedCache.create("test",
+                new CacheSettings(EvictionPolicy.W_TINY_LFU, 50, Duration.ofMinutes(5)), clock::get);
+
+        // Act
+        for (int i = 0; i < 500; i++) {
+            cache.put(i, i);
+        }
+
+        // Assert
+        CacheStats stats = cache.stats();
+        assertTrue(stats.size() <= 50, "Cache size should be bounded, was " + stats.size());
+        assertTrue(stats.evictions() >= 450, "Evictions should be counted, was " + stats.evictions());
+    }
+
+    @Test
+    void stats_ShouldCountHitsAndMisses() {
+        for (EvictionPolicy policy : EvictionPolicy.values()) {
+            // Arrange
+            BoundedCache<String, String> cache = BoundedCache.create("test",
+                    new CacheSettings(policy, 10, Duration.ofMinutes(5)), clock::get);
+            cache.put("a", "A");
+
+            // Act
+            cache.get("a");
+            cache.get("a");
+            cache.get("missing");
+
+            // Assert
+            CacheStats stats = cache.stats();
+            assertEquals(2, stats.hits(), policy + " hits");
+            assertEquals(1, stats.misses(), policy + " misses");
+            assertEquals(2.0 / 3, stats.hitRatio(), 1e-9);
+        }
+    }
+
+    @Test
+    void settings_ShouldRejectNonPositiveBounds() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new CacheSettings(EvictionPolicy.LRU, 0, Duration.ofMinutes(1)));
+        assertThrows(IllegalArgumentException.class,
+                () -> new CacheSettings(EvictionPolicy.LRU, 10, Duration.ZERO));
+    }
+}
@@ -0,0 +1,241 @@
+package com.milton.agent.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.milton.agent.models.CvSkills;
+import com.milton.agent.models.JobRequirements;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExtractionStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final AtomicLong clock = new AtomicLong(Duration.ofDays(365).toMillis());
+    private ExtractionStore store;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    @Test
+    void find_ShouldReturnSavedEntries() throws IOException {
+        // Arrange
+        store = openStore();
+        CvSkills skills = new CvSkills(List.of("Java"), List.of("Agile"), List.of("Communication"), List.of("BSc"));
+        JobRequirements requirements = new JobRequirements(List.of("Java"), List.of("AWS"), List.of("Teamwork"));
+
+        // Act
+        store.saveCvSkills("cv-key", skills);
+        store.saveJobRequirements("jd-key", requirements);
+
+        // Assert
+        assertEquals(Optional.of(skills), store.findCvSkills("cv-key"));
+        assertEquals(Optional.of(requirements), store.findJobRequirements("jd-key"));
+        assertTrue(store.findJobRequirements("cv-key").isEmpty(), "Kinds must not share keys");
+    }
+
+    @Test
+    void load_ShouldWarmLoadEntriesAfterRestart() throws IOException {
+        // Arrange
+        store = openStore();
+        JobRequirements requirements = new JobRequirements(List.of("Python"), List.of(), List.of());
+        store.saveJobRequirements("jd-key", requirements);
+        store.close();
+
+        // Act
+        store = openStore();
+
+        // Assert
+        assertEquals(1, store.size());
+        assertEquals(Optional.of(requirements), store.findJobRequirements("jd-key"));
+    }
+
+    @Test
+    void find_ShouldNotReadDiskForUnknownKeys() throws IOException {
+        // Arrange
+        store = openStore();
+        store.saveJobRequirements("jd-key", new JobRequirements(List.of("Go"), List.of(), List.of()));
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            assertTrue(store.findJobRequirements("unseen-" + i).isEmpty());
+        }
+
+        // Assert
+        assertEquals(0, store.diskReads());
+        assertTrue(store.bloomRejections() > 90, "Bloom filter should reject nearly every unseen key");
+    }
+
+    @Test
+    void load_ShouldDropPartialTrailingRecord() throws IOException {
+        // Arrange
+        store = openStore();
+        store.saveCvSkills("cv-key", new CvSkills(List.of("SQL"), List.of(), List.of(), List.of()));
+        store.close();
+        Files.writeString(tempDir.resolve("store.jsonl"), "{\"kind\":\"CV_SK", StandardCharsets.UTF_8,
+                StandardOpenOption.APPEND);
+
+        // Act
+        store = openStore();
+        store.saveCvSkills("cv-key-2", new CvSkills(List.of("Kotlin"), List.of(), List.of(), List.of()));
+        store.close();
+        store = openStore();
+
+        // Assert
+        assertEquals(2, store.size());
+        assertTrue(store.findCvSkills("cv-key-2").isPresent());
+    }
+
+    @Test
+    void disabledStore_ShouldNeverFindAnything() throws IOException {
+        // Arrange
+        store = new ExtractionStore(new ObjectMapper(), false, tempDir.resolve("disabled.jsonl").toString(), 100, 0.01,
+                100, Duration.ofDays(30), clock::get);
+        store.load();
+
+        // Act
+        store.saveCvSkills("cv-key", new CvSkills(List.of("Java"), List.of(), List.of(), List.of()));
+
+        // Assert
+        assertTrue(store.findCvSkills("cv-key").isEmpty());
+        assertFalse(Files.exists(tempDir.resolve("disabled.jsonl")));
+    }
+
+    @Test
+    void find_ShouldIgnoreExpiredEntriesAndLoadShouldCompactThemAway() throws IOException {
+        // Arrange
+        store = openStore();
+        store.saveCvSkills("old-cv", new CvSkills(List.of("Perl"), List.of(), List.of(), List.of()));
+        clock.addAndGet(Duration.ofDays(20).toMillis());
+        store.saveCvSkills("new-cv", new CvSkills(List.of("Rust"), List.of(), List.of(), List.of()));
+        clock.addAndGet(Duration.ofDays(15).toMillis());
+
+        // Act
+        Optional<CvSkills> expired = store.findCvSkills("old-cv");
+        store.close();
+        store = openStore();
+
+        // Assert
+        assertTrue(expired.isEmpty());
+        assertEquals(1, store.size());
+        assertTrue(store.findCvSkills("new-cv").isPresent());
+        assertEquals(1, Files.readAllLines(tempDir.resolve("store.jsonl")).size());
+    }
+
+    @Test
+    void save_ShouldDropOldestEntriesWhenFull() throws IOException {
+        // Arrange
+        store = openStore(10);
+
+        // Act
+        for (int i = 0; i < 11; i++) {
+            clock.incrementAndGet();
+            store.saveJobRequirements("jd-" + i, new JobRequirements(List.of("Skill " + i), List.of(), List.of()));
+        }
+
+        // Assert - one tenth of the limit was evicted to make room, oldest first
+        assertEquals(10, store.size());
+        assertTrue(store.findJobRequirements("jd-0").isEmpty());
+        assertTrue(store.findJobRequirements("jd-1").isPresent());
+        assertTrue(store.findJobRequirements("jd-10").isPresent());
+        assertEquals(10, Files.readAllLines(tempDir.resolve("store.jsonl")).size());
+    }
+
+    @Test
+    void load_ShouldDropEntriesWithoutTimestamp() throws IOException {
+        // Arrange - a line written before entries were timestamped
+        Files.writeString(tempDir.resolve("store.jsonl"),
+                "{\"kind\":\"CV_SKILLS\",\"key\":\"legacy\",\"value\":{\"technicalSkills\":[\"C\"]}}\n");
+
+        // Act
+        store = openStore();
+
+        // Assert
+        assertTrue(store.findCvSkills("legacy").isEmpty());
+        assertEquals(0, store.size());
+        assertEquals("", Files.readString(tempDir.resolve("store.jsonl")));
+    }
+
+    @Test
+    void find_ShouldKeepWorkingForCallersThatAreInterrupted() throws IOException {
+        // Arrange
+        store = openStore();
+        CvSkills skills = new CvSkills(List.of("Java"), List.of(), List.of(), List.of());
+        JobRequirements requirements = new JobRequirements(List.of("Java"), List.of(), List.of());
+        store.saveCvSkills("cv-key", skills);
+
+        // Act - a cancelled extraction reaches the store with its interrupt flag set
+        Thread.currentThread().interrupt();
+        Optional<CvSkills> foundWhileInterrupted = store.findCvSkills("cv-key");
+        store.saveJobRequirements("jd-key", requirements);
+        boolean stillInterrupted = Thread.interrupted();
+
+        // Assert
+        assertEquals(Optional.of(skills), foundWhileInterrupted);
+        assertTrue(stillInterrupted, "The caller's interrupt status must be preserved");
+        assertEquals(Optional.of(skills), store.findCvSkills("cv-key"));
+        assertEquals(Optional.of(requirements), store.findJobRequirements("jd-key"));
+    }
+
+    @Test
+    void find_ShouldReopenStoreClosedByInterruptDuringIo() throws Exception {
+        // Arrange
+        store = openStore();
+        CvSkills skills = new CvSkills(List.of("Java"), List.of(), List.of(), List.of());
+        store.saveCvSkills("cv-key", skills);
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread worker = new Thread(() -> {
+            for (int i = 0; running.get(); i++) {
+                store.findCvSkills("cv-key");
+                store.saveJobRequirements("jd-" + i, new JobRequirements(List.of("Skill " + i), List.of(), List.of()));
+            }
+        });
+        worker.start();
+
+        // Act - interrupts land mid-read or mid-write, which closes the shared channel
+        for (int i = 0; i < 200; i++) {
+            worker.interrupt();
+            Thread.sleep(1);
+        }
+        running.set(false);
+        worker.join();
+
+        // Assert
+        assertEquals(Optional.of(skills), store.findCvSkills("cv-key"));
+        store.saveCvSkills("cv-key-2", skills);
+        store.close();
+        store = openStore();
+        assertEquals(Optional.of(skills), store.findCvSkills("cv-key-2"));
+        assertEquals(store.size(), Files.readAllLines(tempDir.resolve("store.jsonl")).size(),
+                "Retried appends must not leave partial lines behind");
+    }
+
+    private ExtractionStore openStore() throws IOException {
+        return openStore(1000);
+    }
+
+    private ExtractionStore openStore(int maxEntries) throws IOException {
+        ExtractionStore opened = new ExtractionStore(new ObjectMapper(), true,
+                tempDir.resolve("store.jsonl").toString(), 1000, 0.01, maxEntries, Duration.ofDays(30), clock::get);
+        opened.load();
+        return opened;
+    }
+}
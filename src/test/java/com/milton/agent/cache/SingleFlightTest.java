@@ -0,0 +1,233 @@
+package com.milton.agent.cache;
+
+import com.milton.agent.exceptions.DeadlineExceededException;
+import com.milton.agent.util.Deadline;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>("test");
+
+    @Test
+    void execute_ShouldCoalesceConcurrentCallsForSameKey() throws Exception {
+        // Arrange
+        AtomicInteger loaderCalls = new AtomicInteger();
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        int callers = 5;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            // Act
+            Future<String> leader = executor.submit(() -> singleFlight.execute("key", later(), () -> {
+                loaderCalls.incrementAndGet();
+                loaderStarted.countDown();
+                await(release);
+                return "result";
+            }));
+            assertTrue(loaderStarted.await(5, TimeUnit.SECONDS));
+
+            List<Future<String>> followers = new ArrayList<>();
+            for (int i = 1; i < callers; i++) {
+                followers.add(executor.submit(() -> singleFlight.execute("key", later(), () -> {
+                    loaderCalls.incrementAndGet();
+                    return "duplicate";
+                })));
+            }
+            waitUntil(() -> singleFlight.coalesced() == callers - 1);
+            release.countDown();
+
+            // Assert
+            assertEquals("result", leader.get(5, TimeUnit.SECONDS));
+            for (Future<String> follower : followers) {
+                assertEquals("result", follower.get(5, TimeUnit.SECONDS));
+            }
+        }
+        assertEquals(1, loaderCalls.get(), "Loader should run once");
+        assertEquals(1, singleFlight.executions());
+        assertEquals(callers - 1, singleFlight.coalesced());
+        assertEquals(0, singleFlight.inFlight());
+    }
+
+    @Test
+    void execute_ShouldRunAgainOnceThePreviousCallCompleted() {
+        // Arrange
+        AtomicInteger loaderCalls = new AtomicInteger();
+
+        // Act
+        singleFlight.execute("key", later(), () -> "first " + loaderCalls.incrementAndGet());
+        String second = singleFlight.execute("key", later(), () -> "second " + loaderCalls.incrementAndGet());
+
+        // Assert
+        assertEquals("second 2", second);
+        assertEquals(0, singleFlight.coalesced());
+    }
+
+    @Test
+    void execute_ShouldPropagateFailureAndReleaseKey() {
+        // Act
+        IllegalStateException ex = assertThrows(IllegalStateException.class,
+                () -> singleFlight.execute("key", later(), () -> {
+                    throw new IllegalStateException("LLM unavailable");
+                }));
+
+        // Assert
+        assertEquals("LLM unavailable", ex.getMessage());
+        assertEquals(0, singleFlight.inFlight());
+        assertEquals("ok", singleFlight.execute("key", later(), () -> "ok"));
+    }
+
+    @Test
+    void execute_ShouldStopWaitingAtTheCallersOwnDeadline() throws Exception {
+        // Arrange
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> leader = executor.submit(() -> singleFlight.execute("key", later(), () -> {
+                loaderStarted.countDown();
+                await(release);
+                return "result";
+            }));
+            assertTrue(loaderStarted.await(5, TimeUnit.SECONDS));
+
+            // Act & Assert
+            assertThrows(DeadlineExceededException.class, () -> singleFlight.execute("key",
+                    Deadline.after(Duration.ofMillis(50)), () -> "duplicate"));
+            release.countDown();
+            assertEquals("result", leader.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void execute_ShouldStopWaitingWhenTheWaiterIsInterrupted() throws Exception {
+        // Arrange
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<Throwable> thrown = new AtomicReference<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> leader = executor.submit(() -> singleFlight.execute("key", later(), () -> {
+                loaderStarted.countDown();
+                await(release);
+                return "result";
+            }));
+            assertTrue(loaderStarted.await(5, TimeUnit.SECONDS));
+            Thread waiter = Thread.ofVirtual().start(() -> {
+                try {
+                    singleFlight.execute("key", later(), () -> "duplicate");
+                } catch (RuntimeException e) {
+                    thrown.set(e);
+                }
+            });
+            waitUntil(() -> singleFlight.coalesced() == 1);
+
+            // Act
+            waiter.interrupt();
+            waiter.join(TimeUnit.SECONDS.toMillis(5));
+
+            // Assert - the waiter gave up while the leader carries on
+            assertFalse(waiter.isAlive());
+            assertInstanceOf(DeadlineExceededException.class, thrown.get());
+            release.countDown();
+            assertEquals("result", leader.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void execute_ShouldLetAWaiterTakeOverWhenTheLeaderIsCancelled() throws Exception {
+        // Arrange
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        AtomicInteger loaderCalls = new AtomicInteger();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> leader = executor.submit(() -> singleFlight.execute("key", later(), () -> {
+                loaderCalls.incrementAndGet();
+                loaderStarted.countDown();
+                try {
+                    Thread.sleep(TimeUnit.SECONDS.toMillis(5));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new DeadlineExceededException("Extraction was cancelled", e);
+                }
+                return "leader";
+            }));
+            assertTrue(loaderStarted.await(5, TimeUnit.SECONDS));
+            Future<String> waiter = executor.submit(() -> singleFlight.execute("key", later(), () -> {
+                loaderCalls.incrementAndGet();
+                return "waiter";
+            }));
+            waitUntil(() -> singleFlight.coalesced() == 1);
+
+            // Act - the leader's request gives up, interrupting the thread running the load
+            leader.cancel(true);
+
+            // Assert
+            assertEquals("waiter", waiter.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(2, loaderCalls.get());
+        assertEquals(1, singleFlight.takeovers());
+        assertEquals(0, singleFlight.inFlight());
+    }
+
+    @Test
+    void execute_ShouldPropagateLoadFailuresToWaiters() throws Exception {
+        // Arrange
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            executor.submit(() -> singleFlight.execute("key", later(), () -> {
+                loaderStarted.countDown();
+                await(release);
+                throw new IllegalStateException("LLM unavailable");
+            }));
+            assertTrue(loaderStarted.await(5, TimeUnit.SECONDS));
+            Future<String> waiter = executor.submit(() -> singleFlight.execute("key", later(), () -> "duplicate"));
+            waitUntil(() -> singleFlight.coalesced() == 1);
+
+            // Act
+            release.countDown();
+
+            // Assert
+            ExecutionException ex = assertThrows(ExecutionException.class, () -> waiter.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, ex.getCause());
+        }
+        assertEquals(0, singleFlight.takeovers());
+    }
+
+    private static Deadline later() {
+        return Deadline.after(Duration.ofSeconds(5));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
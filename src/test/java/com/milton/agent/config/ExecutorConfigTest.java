@@ -0,0 +1,72 @@
+package com.milton.agent.config;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.contextpropagation.ObservationThreadLocalAccessor;
+import io.micrometer.tracing.handler.DefaultTracingObservationHandler;
+import io.micrometer.tracing.test.simple.SimpleSpan;
+import io.micrometer.tracing.test.simple.SimpleTracer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExecutorConfigTest {
+
+    private final SimpleTracer tracer = new SimpleTracer();
+    private final ObservationRegistry observationRegistry = ObservationRegistry.create();
+    private final ExecutorService agentExecutor = new ExecutorConfig().agentExecutor();
+
+    @BeforeEach
+    void setUp() {
+        observationRegistry.observationConfig().observationHandler(new DefaultTracingObservationHandler(tracer));
+        ObservationThreadLocalAccessor.getInstance().setObservationRegistry(observationRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        agentExecutor.shutdownNow();
+    }
+
+    @Test
+    void agentExecutor_ShouldStartTaskSpansAsChildrenOfTheSubmittingSpan() throws Exception {
+        // Arrange
+        Observation request = Observation.start("http.server.requests", observationRegistry);
+
+        // Act
+        try (Observation.Scope ignored = request.openScope()) {
+            agentExecutor.submit(() -> Observation.start("jobfit.llm.call", observationRegistry).stop())
+                    .get(5, TimeUnit.SECONDS);
+        } finally {
+            request.stop();
+        }
+
+        // Assert
+        SimpleSpan requestSpan = span("http.server.requests");
+        SimpleSpan llmSpan = span("jobfit.llm.call");
+        assertEquals(requestSpan.context().traceId(), llmSpan.context().traceId());
+        assertEquals(requestSpan.context().spanId(), llmSpan.context().parentId());
+    }
+
+    @Test
+    void agentExecutor_ShouldStartNewTracesWhenNothingIsInScope() throws Exception {
+        // Act
+        agentExecutor.submit(() -> Observation.start("jobfit.llm.call", observationRegistry).stop())
+                .get(5, TimeUnit.SECONDS);
+
+        // Assert
+        SimpleSpan llmSpan = span("jobfit.llm.call");
+        assertTrue(llmSpan.context().parentId() == null || llmSpan.context().parentId().isEmpty());
+    }
+
+    private SimpleSpan span(String name) {
+        return tracer.getSpans().stream()
+                .filter(span -> name.equals(span.getName()))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No span named " + name + " in " + tracer.getSpans()));
+    }
+}
@@ -8,6 +8,9 @@ import org.junit.jupiter.api.io.TempDir;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -17,7 +20,7 @@ class PromptLoaderTest {
 
     @BeforeEach
     void setUp() {
-        promptLoader = new PromptLoader();
+        promptLoader = new PromptLoader("", false, Duration.ofSeconds(2));
     }
 
     @Test
@@ -223,4 +226,41 @@ class PromptLoaderTest {
             assertFalse(content.isEmpty(), "Prompt content for " + filename + " should not be empty");
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void template_ShouldCompileEveryPromptWithoutUnfilledPlaceholders() {
+        // Arrange
+        String[] promptFiles = {
+            "jobfit-fit-score.txt", "skills-extractor.txt", "job-description-extractor.txt",
+            "cv-rewriter.txt", "suggestions.txt", "improve.txt", "getready.txt"
+        };
+
+        // Act & Assert
+        for (String filename : promptFiles) {
+            PromptTemplate template = promptLoader.template(filename);
+            assertFalse(template.slotNames().isEmpty(), filename + " should declare slots");
+            assertFalse(promptLoader.loadPrompt(filename).contains("%s"), filename + " should not use %s placeholders");
+        }
+        assertSame(promptLoader.template("improve.txt"), promptLoader.template("improve.txt"));
+    }
+
+    @Test
+    void template_ShouldReloadChangedOverrideWithNextVersion(@TempDir Path directory) throws IOException, InterruptedException {
+        // Arrange
+        Path prompt = directory.resolve("custom.txt");
+        Files.writeString(prompt, "Hello {{name}}");
+        PromptLoader reloading = new PromptLoader(directory.toString(), true, Duration.ZERO);
+        PromptTemplate first = reloading.template("custom.txt");
+
+        // Act
+        Files.writeString(prompt, "Goodbye {{name}}");
+        Files.setLastModifiedTime(prompt, FileTime.fromMillis(System.currentTimeMillis() + 5_000));
+        Thread.sleep(1);
+        PromptTemplate second = reloading.template("custom.txt");
+
+        // Assert
+        assertEquals("Hello Ada", first.render(Map.of("name", "Ada")));
+        assertEquals("Goodbye Ada", second.render(Map.of("name", "Ada")));
+        assertEquals(first.version() + 1, second.version());
+    }
+}
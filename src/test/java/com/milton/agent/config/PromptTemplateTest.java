@@ -0,0 +1,60 @@
+package com.milton.agent.config;
+
+import com.milton.agent.exceptions.PromptLoaderException;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PromptTemplateTest {
+
+    @Test
+    void render_ShouldFillEverySlotInOnePass() {
+        // Arrange
+        PromptTemplate template = PromptTemplate.compile("test.txt", 1,
+                "- FIT SCORE: {{fitScore}}\n- CV TEXT: {{cvText}}\nScore again: {{ fitScore }}");
+
+        // Act
+        String rendered = template.render(Map.of("fitScore", 72, "cvText", "Java {{not a slot}} 100%"));
+
+        // Assert
+        assertEquals("- FIT SCORE: 72\n- CV TEXT: Java {{not a slot}} 100%\nScore again: 72", rendered);
+        assertEquals(Set.of("fitScore", "cvText"), template.slotNames());
+    }
+
+    @Test
+    void render_ShouldTreatNullValueAsEmpty() {
+        PromptTemplate template = PromptTemplate.compile("test.txt", 1, "[{{value}}]");
+        Map<String, Object> values = new HashMap<>();
+        values.put("value", null);
+
+        assertEquals("[]", template.render(values));
+    }
+
+    @Test
+    void render_ShouldRejectMissingSlotValue() {
+        PromptTemplate template = PromptTemplate.compile("test.txt", 1, "{{cvText}} {{jobDescription}}");
+
+        PromptLoaderException exception = assertThrows(PromptLoaderException.class,
+                () -> template.render(Map.of("cvText", "cv")));
+        assertTrue(exception.getMessage().contains("jobDescription"));
+    }
+
+    @Test
+    void compile_ShouldRejectMalformedSlots() {
+        assertThrows(PromptLoaderException.class, () -> PromptTemplate.compile("test.txt", 1, "Hello {{name"));
+        assertThrows(PromptLoaderException.class, () -> PromptTemplate.compile("test.txt", 1, "Hello {{first name}}"));
+        assertThrows(PromptLoaderException.class, () -> PromptTemplate.compile("test.txt", 1, "Hello {{}}"));
+    }
+
+    @Test
+    void compile_ShouldKeepTemplatesWithoutSlotsVerbatim() {
+        PromptTemplate template = PromptTemplate.compile("test.txt", 3, "No slots, 100% literal {braces}");
+
+        assertEquals("No slots, 100% literal {braces}", template.render(Map.of()));
+        assertEquals(3, template.version());
+    }
+}
@@ -0,0 +1,81 @@
+package com.milton.agent.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UploadSizeLimitFilterTest {
+
+    private final UploadSizeLimitFilter filter =
+            new UploadSizeLimitFilter(DataSize.ofMegabytes(10), DataSize.ofMegabytes(200));
+
+    @Test
+    void doFilter_ShouldRejectLargeUploadsOutsideRecruiterPaths() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = upload("/score/batch", new byte[(int) DataSize.ofMegabytes(11).toBytes()]);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(request, response, chain);
+
+        // Assert
+        assertEquals(413, response.getStatus());
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    void doFilter_ShouldAllowLargeUploadsToRecruiterPaths() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = upload("/recruiter/rank", new byte[(int) DataSize.ofMegabytes(11).toBytes()]);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(request, response, chain);
+
+        // Assert
+        assertEquals(200, response.getStatus());
+        assertSame(request, chain.getRequest());
+    }
+
+    @Test
+    void doFilter_ShouldRequireContentLengthOutsideRecruiterPaths() throws Exception {
+        // Arrange - MockHttpServletRequest reports -1 when no content is set
+        MockHttpServletRequest request = upload("/generate", null);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(request, response, chain);
+
+        // Assert
+        assertEquals(411, response.getStatus());
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    void doFilter_ShouldIgnoreRequestsThatAreNotUploads() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/generate");
+        request.setContentType("application/x-www-form-urlencoded");
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // Assert
+        assertSame(request, chain.getRequest());
+    }
+
+    private static MockHttpServletRequest upload(String path, byte[] body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setContentType("multipart/form-data; boundary=test");
+        request.setContent(body);
+        return request;
+    }
+}
@@ -0,0 +1,53 @@
+package com.milton.agent.llm;
+
+import com.milton.agent.models.CvSkills;
+import com.milton.agent.models.JobRequirements;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CanonicalRecordsTest {
+
+    @Test
+    void format_ShouldSortDeduplicateAndLabelSections() {
+        // Arrange
+        CvSkills cvSkills = new CvSkills(
+                List.of("Spring  Boot", "java", "AWS", "Java", "aws "),
+                List.of(),
+                Arrays.asList("Mentoring", null, " "),
+                null);
+
+        // Act
+        String formatted = CanonicalRecords.format(cvSkills);
+
+        // Assert
+        assertEquals("TECH: AWS; Java; Spring Boot | SOFT: Mentoring", formatted);
+    }
+
+    @Test
+    void format_ShouldNotDependOnItemOrder() {
+        // Arrange
+        JobRequirements first = new JobRequirements(List.of("Kafka", "Java 17+"), List.of("Docker"), List.of());
+        JobRequirements second = new JobRequirements(List.of("Java 17+", "kafka", "Kafka"), List.of("Docker"), null);
+
+        // Act & Assert
+        assertEquals(CanonicalRecords.format(first), CanonicalRecords.format(second));
+        assertEquals("CRITICAL: Java 17+; Kafka | IMPORTANT: Docker", CanonicalRecords.format(first));
+    }
+
+    @Test
+    void format_ShouldEscapeSeparatorsInsideItems() {
+        JobRequirements requirements = new JobRequirements(List.of("Degree in CS; or equivalent | bootcamp"), null, null);
+
+        assertEquals("CRITICAL: Degree in CS, or equivalent / bootcamp", CanonicalRecords.format(requirements));
+    }
+
+    @Test
+    void format_ShouldReturnEmptyStringForNullRecords() {
+        assertEquals("", CanonicalRecords.format((CvSkills) null));
+        assertEquals("", CanonicalRecords.format((JobRequirements) null));
+    }
+}
@@ -0,0 +1,91 @@
+package com.milton.agent.llm;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CvSectionTrimmerTest {
+
+    private static final String CV = """
+            Jane Doe
+            jane@example.com
+            PROFILE
+            Backend engineer with ten years of Java experience.
+            WORK EXPERIENCE
+            Acme Ltd - Senior Java Developer, built Spring Boot services on AWS.
+            SKILLS
+            Java, Spring Boot, Kafka, PostgreSQL
+            Education
+            BSc Computer Science, University of Leeds
+            Hobbies & Interests:
+            %s
+            References
+            %s
+            """.formatted("Climbing, chess, cooking and travel. ".repeat(20), "Available on request from J Smith. ".repeat(20));
+
+    @Test
+    void trim_ShouldReturnTextUnchangedWithinBudget() {
+        CvSectionTrimmer.TrimResult result = CvSectionTrimmer.trim(CV, 10_000);
+
+        assertSame(CV, result.text());
+        assertEquals(0, result.savedTokens());
+        assertTrue(result.droppedSections().isEmpty());
+    }
+
+    @Test
+    void trim_ShouldDropReferencesAndHobbiesBeforeCoreSections() {
+        // Arrange
+        int budget = TokenEstimator.estimate(CV) / 3;
+
+        // Act
+        CvSectionTrimmer.TrimResult result = CvSectionTrimmer.trim(CV, budget);
+
+        // Assert
+        assertEquals(List.of("Hobbies & Interests:", "References"), result.droppedSections());
+        assertTrue(result.text().contains("Acme Ltd - Senior Java Developer"));
+        assertTrue(result.text().contains("Java, Spring Boot, Kafka, PostgreSQL"));
+        assertTrue(result.text().contains("BSc Computer Science"), "Education should survive when the budget allows");
+        assertFalse(result.text().contains("Climbing"));
+        assertTrue(result.trimmedTokens() <= budget);
+        assertTrue(result.savedTokens() > 0);
+    }
+
+    @Test
+    void trim_ShouldKeepRepeatedPageHeaderOnce() {
+        // Arrange
+        String page = "Jane Doe | CV | jane@example.com\nExperience\nAcme Ltd - built payment services. %s\n";
+        StringBuilder cv = new StringBuilder();
+        for (int i = 0; i < 4; i++) {
+            cv.append(page.formatted("Delivered work item " + i + ". ".repeat(30)));
+        }
+
+        // Act
+        CvSectionTrimmer.TrimResult result = CvSectionTrimmer.trim(cv.toString(), TokenEstimator.estimate(cv) - 5);
+
+        // Assert
+        assertEquals(1, result.text().split("Jane Doe \\| CV", -1).length - 1);
+        assertTrue(result.text().contains("Delivered work item 3"));
+    }
+
+    @Test
+    void trim_ShouldTruncateWithMarkerWhenCoreSectionsAloneAreTooLong() {
+        StringBuilder cv = new StringBuilder("Experience\n");
+        for (int i = 0; i < 200; i++) {
+            cv.append("Built and operated high volume Java service ").append(i).append(".\n");
+        }
+
+        CvSectionTrimmer.TrimResult result = CvSectionTrimmer.trim(cv.toString(), 100);
+
+        assertTrue(result.text().endsWith(CvSectionTrimmer.TRUNCATION_MARKER));
+        assertTrue(result.trimmedTokens() <= 100);
+    }
+
+    @Test
+    void headerKind_ShouldRecogniseCommonHeaderSpellings() {
+        assertEquals(CvSectionTrimmer.SectionKind.PERSONAL, CvSectionTrimmer.headerKind("  HOBBIES/INTERESTS  "));
+        assertEquals(CvSectionTrimmer.SectionKind.CORE, CvSectionTrimmer.headerKind("Work Experience:"));
+        assertNull(CvSectionTrimmer.headerKind("Skills: Java, Spring, Kafka"));
+    }
+}
@@ -0,0 +1,141 @@
+package com.milton.agent.llm;
+
+import com.milton.agent.exceptions.LlmBulkheadRejectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LlmBulkheadTest {
+
+    @Test
+    void execute_ShouldRejectWhenQueueIsFull() throws Exception {
+        // Arrange - one slot, no queue
+        LlmBulkhead bulkhead = new LlmBulkhead("gpt-5", 1, 0, Duration.ofSeconds(5));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> running = executor.submit(() -> bulkhead.execute(() -> {
+                started.countDown();
+                await(release);
+                return "done";
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            // Act & Assert
+            assertThrows(LlmBulkheadRejectedException.class, () -> bulkhead.execute(() -> "rejected"));
+            assertEquals(1, bulkhead.inFlight());
+            assertEquals(1, bulkhead.rejected());
+
+            release.countDown();
+            assertEquals("done", running.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(0, bulkhead.inFlight());
+    }
+
+    @Test
+    void execute_ShouldRejectAfterQueueTimeout() throws Exception {
+        // Arrange
+        LlmBulkhead bulkhead = new LlmBulkhead("gpt-5", 1, 5, Duration.ofMillis(50));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            executor.submit(() -> bulkhead.execute(() -> {
+                started.countDown();
+                await(release);
+                return "done";
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            // Act
+            LlmBulkheadRejectedException rejection = assertThrows(LlmBulkheadRejectedException.class,
+                    () -> bulkhead.execute(() -> "late"));
+            release.countDown();
+
+            // Assert
+            assertEquals("gpt-5", rejection.getModel());
+            assertEquals(0, bulkhead.queued());
+            assertTrue(bulkhead.queueWaitSeconds() >= 0.05);
+        }
+    }
+
+    @Test
+    void execute_ShouldRunQueuedCallOnceSlotFrees() throws Exception {
+        // Arrange
+        LlmBulkhead bulkhead = new LlmBulkhead("gpt-4.1-mini", 1, 1, Duration.ofSeconds(5));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            executor.submit(() -> bulkhead.execute(() -> {
+                started.countDown();
+                await(release);
+                return "first";
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            // Act
+            Future<String> queued = executor.submit(() -> bulkhead.execute(() -> "second"));
+            waitUntilQueued(bulkhead);
+            release.countDown();
+
+            // Assert
+            assertEquals("second", queued.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(0, bulkhead.rejected());
+    }
+
+    @Test
+    void bulkheads_ShouldApplyPerModelSettingsAndPublishMeters() {
+        // Arrange
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("jobfit.llm.bulkhead.models", "gpt-5,gpt-4.1-mini")
+                .withProperty("jobfit.llm.bulkhead.default.max-concurrent", "8")
+                .withProperty("jobfit.llm.bulkhead.gpt-5.max-concurrent", "2");
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        // Act
+        LlmBulkheads bulkheads = new LlmBulkheads(environment, registry);
+
+        // Assert
+        assertEquals(2, bulkheads.forModel("gpt-5").maxConcurrent());
+        assertEquals(8, bulkheads.forModel("gpt-4.1-mini").maxConcurrent());
+        assertNotNull(registry.find("jobfit.llm.bulkhead.in-flight").tag("model", "gpt-5").gauge());
+        assertNotNull(registry.find("jobfit.llm.bulkhead.rejected").tag("model", "gpt-4.1-mini").functionCounter());
+        assertEquals("ok", bulkheads.execute("gpt-4.1", () -> "ok"));
+        assertNotNull(registry.find("jobfit.llm.bulkhead.queued").tag("model", "gpt-4.1").gauge());
+    }
+
+    @Test
+    void constructor_ShouldRejectInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new LlmBulkhead("gpt-5", 0, 1, Duration.ofSeconds(1)));
+        assertThrows(IllegalArgumentException.class, () -> new LlmBulkhead("gpt-5", 1, -1, Duration.ofSeconds(1)));
+    }
+
+    private static void waitUntilQueued(LlmBulkhead bulkhead) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (bulkhead.queued() == 0) {
+            assertTrue(System.nanoTime() < deadline, "Call was never queued");
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.milton.agent.llm;
+
+import com.milton.agent.exceptions.LlmBulkheadRejectedException;
+import com.milton.agent.exceptions.LlmCircuitOpenException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LlmCircuitBreakerTest {
+
+    // Window of 4 calls, opens at 50% failed or 50% slower than 10s, stays open 30s, 2 trial calls
+    private static final LlmCircuitBreaker.Settings SETTINGS = new LlmCircuitBreaker.Settings(
+            4, 4, 50, Duration.ofSeconds(10), 50, Duration.ofSeconds(30), 2);
+
+    private final AtomicLong clock = new AtomicLong();
+    private final LlmCircuitBreaker breaker = new LlmCircuitBreaker("gpt-5", SETTINGS, clock::get);
+
+    @Test
+    void execute_ShouldOpenOnFailureRateAndThenFailFast() {
+        // Arrange
+        AtomicInteger calls = new AtomicInteger();
+        succeed(2);
+        fail(1);
+        assertEquals(LlmCircuitBreaker.State.CLOSED, breaker.state());
+
+        // Act
+        fail(1);
+
+        // Assert
+        assertEquals(LlmCircuitBreaker.State.OPEN, breaker.state());
+        assertEquals(50.0, breaker.failureRate());
+        LlmCircuitOpenException thrown = assertThrows(LlmCircuitOpenException.class,
+                () -> breaker.execute(calls::incrementAndGet));
+        assertEquals(0, calls.get());
+        assertEquals(Duration.ofSeconds(30), thrown.getRetryAfter());
+        assertEquals(1, breaker.notPermitted());
+    }
+
+    @Test
+    void execute_ShouldOpenOnSlowCallRate() {
+        // Act - every call succeeds, but two of four take longer than the slow-call duration
+        succeed(2);
+        breaker.execute(() -> clock.addAndGet(Duration.ofSeconds(15).toNanos()));
+        breaker.execute(() -> clock.addAndGet(Duration.ofSeconds(15).toNanos()));
+
+        // Assert
+        assertEquals(LlmCircuitBreaker.State.OPEN, breaker.state());
+        assertEquals(0.0, breaker.failureRate());
+        assertEquals(50.0, breaker.slowCallRate());
+    }
+
+    @Test
+    void execute_ShouldCloseAfterSuccessfulTrialCalls() {
+        // Arrange
+        fail(4);
+        clock.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        // Act
+        assertEquals("trial", breaker.execute(() -> "trial"));
+        assertEquals(LlmCircuitBreaker.State.HALF_OPEN, breaker.state());
+        breaker.execute(() -> "trial");
+
+        // Assert
+        assertEquals(LlmCircuitBreaker.State.CLOSED, breaker.state());
+        assertEquals(0.0, breaker.failureRate());
+    }
+
+    @Test
+    void execute_ShouldReopenWhenATrialCallFails() {
+        // Arrange
+        fail(4);
+        clock.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        // Act
+        fail(1);
+
+        // Assert
+        assertEquals(LlmCircuitBreaker.State.OPEN, breaker.state());
+        assertThrows(LlmCircuitOpenException.class, () -> breaker.execute(() -> "rejected"));
+    }
+
+    @Test
+    void execute_ShouldNotCountBulkheadRejections() {
+        // Act
+        for (int i = 0; i < 4; i++) {
+            assertThrows(LlmBulkheadRejectedException.class, () -> breaker.execute(() -> {
+                throw new LlmBulkheadRejectedException("gpt-5", "gpt-5 bulkhead is full");
+            }));
+        }
+
+        // Assert
+        assertEquals(LlmCircuitBreaker.State.CLOSED, breaker.state());
+        assertEquals(0.0, breaker.failureRate());
+    }
+
+    @Test
+    void execute_ShouldCountCallsCancelledAfterTheSlowCallDurationAsSlow() {
+        // Act - a hung provider: every call is cut off by its deadline after 15s
+        for (int i = 0; i < 4; i++) {
+            assertThrows(IllegalStateException.class, () -> breaker.execute(() -> {
+                clock.addAndGet(Duration.ofSeconds(15).toNanos());
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("call interrupted");
+            }));
+            assertTrue(Thread.interrupted());
+        }
+
+        // Assert
+        assertEquals(LlmCircuitBreaker.State.OPEN, breaker.state());
+        assertEquals(100.0, breaker.slowCallRate());
+    }
+
+    @Test
+    void execute_ShouldNotCountCallsCancelledBeforeTheyWereSlow() {
+        // Act - e.g. a sibling extraction failed and this call was cancelled after 1s
+        for (int i = 0; i < 4; i++) {
+            assertThrows(IllegalStateException.class, () -> breaker.execute(() -> {
+                clock.addAndGet(Duration.ofSeconds(1).toNanos());
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("call interrupted");
+            }));
+            assertTrue(Thread.interrupted());
+        }
+
+        // Assert
+        assertEquals(LlmCircuitBreaker.State.CLOSED, breaker.state());
+        assertEquals(0.0, breaker.failureRate());
+    }
+
+    @Test
+    void breakers_ShouldApplyPerModelSettingsAndPublishMeters() {
+        // Arrange
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("jobfit.llm.circuit-breaker.models", "gpt-5,gpt-4.1-mini")
+                .withProperty("jobfit.llm.circuit-breaker.default.slow-call-duration", "60s")
+                .withProperty("jobfit.llm.circuit-breaker.gpt-5.slow-call-duration", "120s");
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        // Act
+        LlmCircuitBreakers breakers = new LlmCircuitBreakers(environment, registry);
+
+        // Assert
+        assertEquals(Duration.ofSeconds(120), breakers.forModel("gpt-5").settings().slowCallDuration());
+        assertEquals(Duration.ofSeconds(60), breakers.forModel("gpt-4.1-mini").settings().slowCallDuration());
+        assertEquals(0.0, registry.find("jobfit.llm.circuit-breaker.state").tag("model", "gpt-5").gauge().value());
+        assertNotNull(registry.find("jobfit.llm.circuit-breaker.not-permitted").tag("model", "gpt-4.1-mini")
+                .functionCounter());
+        assertEquals("ok", breakers.execute("gpt-4.1", () -> "ok"));
+        assertNotNull(registry.find("jobfit.llm.circuit-breaker.failure-rate").tag("model", "gpt-4.1").gauge());
+    }
+
+    @Test
+    void breakers_ShouldPassCallsThroughWhenDisabled() {
+        // Arrange
+        LlmCircuitBreakers breakers = new LlmCircuitBreakers(new MockEnvironment()
+                .withProperty("jobfit.llm.circuit-breaker.enabled", "false"), new SimpleMeterRegistry());
+        for (int i = 0; i < 20; i++) {
+            assertThrows(IllegalStateException.class, () -> breakers.execute("gpt-5", () -> {
+                throw new IllegalStateException("provider down");
+            }));
+        }
+
+        // Act & Assert
+        assertEquals("ok", breakers.execute("gpt-5", () -> "ok"));
+    }
+
+    private void succeed(int times) {
+        for (int i = 0; i < times; i++) {
+            breaker.execute(() -> "ok");
+        }
+    }
+
+    private void fail(int times) {
+        for (int i = 0; i < times; i++) {
+            assertThrows(IllegalStateException.class, () -> breaker.execute(() -> {
+                throw new IllegalStateException("provider error");
+            }));
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.milton.agent.llm;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.milton.agent.models.CvSkills;
+import com.milton.agent.models.FitScore;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchemaSampleGeneratorTest {
+
+    private static final String CV_SKILLS_SCHEMA = """
+            {
+              "$schema" : "https://json-schema.org/draft/2020-12/schema",
+              "type" : "object",
+              "properties" : {
+                "technicalSkills" : { "type" : "array", "items" : { "type" : "string" } },
+                "professionalSkills" : { "type" : "array", "items" : { "type" : "string" } },
+                "softSkills" : { "type" : "array", "items" : { "type" : "string" } },
+                "qualifications" : { "type" : "array", "items" : { "type" : "string" } }
+              },
+              "additionalProperties" : false
+            }""";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SchemaSampleGenerator generator = new SchemaSampleGenerator(objectMapper, 3, 10);
+
+    @Test
+    void findSchema_ShouldReadSchemaAppendedToPrompt() throws Exception {
+        // Arrange - the format instructions Spring AI's output converter appends to the prompt
+        String prompt = "Extract the skills from this CV: ```not json```\n"
+                + "Your response should be in JSON format.\n"
+                + "Here is the JSON Schema instance your output must adhere to:\n```" + CV_SKILLS_SCHEMA + "```\n";
+
+        // Act
+        JsonNode schema = generator.findSchema(prompt).orElseThrow();
+        CvSkills sample = objectMapper.treeToValue(generator.sample(schema, new Random(7)), CvSkills.class);
+
+        // Assert
+        assertEquals(3, sample.technicalSkills().size());
+        assertEquals(3, sample.qualifications().size());
+        assertFalse(sample.softSkills().get(0).isBlank());
+    }
+
+    @Test
+    void sample_ShouldRespectBoundsAndResolveReferences() throws Exception {
+        // Arrange
+        JsonNode schema = objectMapper.readTree("""
+                {
+                  "$ref" : "#/$defs/FitScore",
+                  "$defs" : {
+                    "FitScore" : {
+                      "type" : "object",
+                      "properties" : {
+                        "score" : { "type" : "integer", "minimum" : 0, "maximum" : 100 },
+                        "explanation" : { "type" : ["string", "null"] }
+                      }
+                    }
+                  }
+                }""");
+
+        for (int seed = 0; seed < 50; seed++) {
+            // Act
+            FitScore sample = objectMapper.treeToValue(generator.sample(schema, new Random(seed)), FitScore.class);
+
+            // Assert
+            assertTrue(sample.score() >= 0 && sample.score() <= 100, "score " + sample.score());
+            assertTrue(sample.explanation().startsWith("Stub response:"));
+        }
+    }
+
+    @Test
+    void findSchema_ShouldBeEmptyWithoutSchema() {
+        assertTrue(generator.findSchema("Tell me a joke").isEmpty());
+        assertTrue(generator.findSchema(null).isEmpty());
+    }
+}
@@ -0,0 +1,51 @@
+package com.milton.agent.llm;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StubLatencyTest {
+
+    @Test
+    void sample_ShouldMatchConfiguredMedianAndP99ForLogNormal() {
+        // Arrange
+        StubLatency latency = new StubLatency(StubLatency.Distribution.LOG_NORMAL,
+                Duration.ZERO, Duration.ofMillis(800), Duration.ofSeconds(4), Duration.ofMinutes(1));
+        Random random = new Random(42);
+
+        // Act
+        long[] samples = new long[20_000];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = latency.sample(random).toMillis();
+        }
+        Arrays.sort(samples);
+
+        // Assert
+        assertEquals(800, samples[samples.length / 2], 40);
+        assertEquals(4000, samples[(int) (samples.length * 0.99)], 400);
+    }
+
+    @Test
+    void sample_ShouldClampToMinAndMax() {
+        // Arrange
+        StubLatency latency = new StubLatency(StubLatency.Distribution.LOG_NORMAL,
+                Duration.ofMillis(500), Duration.ofMillis(800), Duration.ofSeconds(10), Duration.ofSeconds(1));
+        Random random = new Random(1);
+
+        // Act & Assert
+        for (int i = 0; i < 1_000; i++) {
+            Duration sample = latency.sample(random);
+            assertTrue(sample.toMillis() >= 500 && sample.toMillis() <= 1000, "sample " + sample);
+        }
+    }
+
+    @Test
+    void constructor_ShouldRejectP99BelowMedian() {
+        assertThrows(IllegalArgumentException.class, () -> new StubLatency(StubLatency.Distribution.LOG_NORMAL,
+                Duration.ZERO, Duration.ofSeconds(2), Duration.ofSeconds(1), Duration.ofSeconds(5)));
+    }
+}
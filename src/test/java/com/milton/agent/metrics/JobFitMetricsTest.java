@@ -0,0 +1,105 @@
+package com.milton.agent.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.milton.agent.exceptions.DeadlineExceededException;
+import com.milton.agent.llm.TokenEstimator;
+import com.milton.agent.models.FitScore;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.tck.TestObservationRegistry;
+import io.micrometer.observation.tck.TestObservationRegistryAssert;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JobFitMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private TestObservationRegistry observationRegistry;
+    private JobFitMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        observationRegistry = TestObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(registry));
+        metrics = new JobFitMetrics(observationRegistry, registry, new ObjectMapper());
+    }
+
+    @Test
+    void recordAction_ShouldTimeSuccessfulCallsByActionModelAndMode() {
+        // Act
+        String result = metrics.recordAction("calculateFitScore", "gpt-5", JobFitMetrics.mode(false), () -> "ok");
+
+        // Assert
+        assertEquals("ok", result);
+        Timer timer = registry.find(JobFitMetrics.ACTION_TIMER)
+                .tags("action", "calculateFitScore", "model", "gpt-5", "mode", "thoughtful", "outcome", "success")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    void recordInvocation_ShouldTagDeadlineExceededAndRethrow() {
+        // Act & Assert
+        assertThrows(DeadlineExceededException.class, () -> metrics.recordInvocation("fit-score", "quick", () -> {
+            throw new DeadlineExceededException("too slow");
+        }));
+        Timer timer = registry.find(JobFitMetrics.INVOCATION_TIMER)
+                .tags("goal", "fit-score", "outcome", "deadline_exceeded")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    void recordPdf_ShouldPassCheckedExceptionsThroughAsErrors() {
+        // Act & Assert
+        IOException thrown = assertThrows(IOException.class, () -> metrics.recordPdf("extract", () -> {
+            throw new IOException("File is encrypted");
+        }));
+        assertEquals("File is encrypted", thrown.getMessage());
+        assertNotNull(registry.find(JobFitMetrics.PDF_TIMER).tags("stage", "extract", "outcome", "error").timer());
+        assertNull(registry.find(JobFitMetrics.PDF_TIMER).tags("outcome", "success").timer());
+    }
+
+    @Test
+    void recordLlmCall_ShouldStartANamedSpanInsideTheCurrentAction() {
+        // Act
+        metrics.recordAction("generateImproveScore", "gpt-4.1", JobFitMetrics.NONE,
+                () -> metrics.recordLlmCall("gpt-4.1", () -> "improvements"));
+
+        // Assert
+        TestObservationRegistryAssert.assertThat(observationRegistry)
+                .hasObservationWithNameEqualTo(JobFitMetrics.LLM_CALL_TIMER)
+                .that()
+                .hasContextualNameEqualTo("chat gpt-4.1")
+                .hasLowCardinalityKeyValue("model", "gpt-4.1")
+                .hasLowCardinalityKeyValue("outcome", "success")
+                .hasParentObservationContextMatching(parent -> JobFitMetrics.ACTION_TIMER.equals(parent.getName()));
+    }
+
+    @Test
+    void recordTokens_ShouldCountEstimatedInputAndOutputTokensPerModel() throws Exception {
+        // Arrange
+        String prompt = "Score this CV against the job description";
+        FitScore fitScore = new FitScore(72, "Strong Java background, little Kubernetes");
+
+        // Act
+        metrics.recordTokens("gpt-4.1-mini", prompt, fitScore);
+        metrics.recordTokens("gpt-4.1-mini", prompt, null);
+
+        // Assert
+        double input = registry.find(JobFitMetrics.TOKEN_COUNTER).tags("model", "gpt-4.1-mini", "type", "input")
+                .counter().count();
+        double output = registry.find(JobFitMetrics.TOKEN_COUNTER).tags("model", "gpt-4.1-mini", "type", "output")
+                .counter().count();
+        assertEquals(2 * TokenEstimator.estimate(prompt), input);
+        assertEquals(TokenEstimator.estimate(new ObjectMapper().writeValueAsString(fitScore)), output);
+    }
+}
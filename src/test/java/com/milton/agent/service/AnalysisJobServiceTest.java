@@ -0,0 +1,204 @@
+package com.milton.agent.service;
+
+import com.embabel.agent.core.AgentPlatform;
+import com.milton.agent.exceptions.LlmCircuitOpenException;
+import com.milton.agent.models.AnalysisJobStatus;
+import com.milton.agent.models.AnalysisJobStatus.StageUpdate;
+import com.milton.agent.models.AnalysisProgressEvent;
+import com.milton.agent.models.AnalysisStage;
+import com.milton.agent.models.FitScore;
+import com.milton.agent.models.JobFitRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class AnalysisJobServiceTest {
+
+    private static final RequestDeadlines DEADLINES =
+            new RequestDeadlines(Duration.ofSeconds(60), Duration.ofSeconds(150), Duration.ofSeconds(120));
+
+    private static final Long USER_ID = 42L;
+    private static final String ROLE = "Backend Engineer";
+    private static final String COMPANY = "Acme";
+    private static final JobFitRequest REQUEST = new JobFitRequest("CV text", "Job description", true);
+
+    // Every call on the platform blocks until released, then fails, so jobs stay RUNNING while a test inspects them
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AgentPlatform agentPlatform = mock(AgentPlatform.class, invocation -> {
+        if (!release.await(5, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Test did not release the agent platform");
+        }
+        throw new IllegalStateException("No agent in tests");
+    });
+
+    private AnalysisJobService service;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void onProgress_ShouldRecordStagesForMatchingJobsInOrder() throws InterruptedException {
+        // Arrange
+        service = new AnalysisJobService(agentPlatform, DEADLINES, 1, 10, Duration.ofMinutes(15), Duration.ofMinutes(5));
+        String jobId = service.submit(REQUEST, ROLE, COMPANY, USER_ID);
+        waitForStage(jobId, AnalysisStage.RUNNING);
+        JobFitRequest equalRequest = new JobFitRequest(REQUEST.CvText(), REQUEST.JobDescription(), true);
+        FitScore provisional = new FitScore(70, "Provisional estimate");
+
+        // Act - the equal request stands for a synchronous analysis of the same pair
+        service.onProgress(new AnalysisProgressEvent(REQUEST, AnalysisStage.CV_EXTRACTED, null));
+        service.onProgress(new AnalysisProgressEvent(REQUEST, AnalysisStage.CV_EXTRACTED, null));
+        service.onProgress(new AnalysisProgressEvent(equalRequest, AnalysisStage.REQUIREMENTS_EXTRACTED, null));
+        service.onProgress(new AnalysisProgressEvent(REQUEST, AnalysisStage.PROVISIONAL_SCORE, provisional));
+
+        // Assert
+        AnalysisJobStatus status = service.status(jobId, USER_ID).orElseThrow();
+        List<AnalysisStage> stages = status.stages().stream().map(StageUpdate::stage).toList();
+        assertEquals(List.of(AnalysisStage.QUEUED, AnalysisStage.RUNNING, AnalysisStage.CV_EXTRACTED,
+                AnalysisStage.PROVISIONAL_SCORE), stages);
+        assertEquals(provisional, status.stages().get(3).fitScore());
+        assertNull(status.fitScore(), "Provisional score must not be reported as the result");
+    }
+
+    @Test
+    void onProgress_ShouldKeepConcurrentJobsForTheSamePairApart() throws InterruptedException {
+        // Arrange - quick and thoughtful analyses of one CV and job description; one worker, so the second queues
+        service = new AnalysisJobService(agentPlatform, DEADLINES, 1, 10, Duration.ofMinutes(15), Duration.ofMinutes(5));
+        JobFitRequest quick = new JobFitRequest("CV text", "Job description", true);
+        JobFitRequest thoughtful = new JobFitRequest("CV text", "Job description", false);
+        String quickJobId = service.submit(quick, ROLE, COMPANY, USER_ID);
+        String thoughtfulJobId = service.submit(thoughtful, ROLE, COMPANY, 7L);
+        waitForStage(quickJobId, AnalysisStage.RUNNING);
+        FitScore quickScore = new FitScore(81, "Quick assessment");
+
+        // Act
+        service.onProgress(new AnalysisProgressEvent(quick, AnalysisStage.CV_EXTRACTED, null));
+        service.onProgress(new AnalysisProgressEvent(quick, AnalysisStage.SCORED, quickScore));
+
+        // Assert
+        List<StageUpdate> quickStages = service.status(quickJobId, USER_ID).orElseThrow().stages();
+        assertEquals(List.of(AnalysisStage.QUEUED, AnalysisStage.RUNNING, AnalysisStage.CV_EXTRACTED,
+                AnalysisStage.SCORED), quickStages.stream().map(StageUpdate::stage).toList());
+        assertEquals(quickScore, quickStages.get(3).fitScore());
+        AnalysisJobStatus thoughtfulStatus = service.status(thoughtfulJobId, 7L).orElseThrow();
+        assertEquals(AnalysisStage.QUEUED, thoughtfulStatus.stage());
+        assertEquals(1, thoughtfulStatus.stages().size(), "Another job's progress must not reach a queued job");
+    }
+
+    @Test
+    void run_ShouldMarkJobFailedWhenInvocationFails() throws InterruptedException {
+        // Arrange
+        service = new AnalysisJobService(agentPlatform, DEADLINES, 1, 10, Duration.ofMinutes(15), Duration.ofMinutes(5));
+        String jobId = service.submit(REQUEST, ROLE, COMPANY, USER_ID);
+
+        // Act
+        release.countDown();
+
+        // Assert
+        AnalysisJobStatus status = waitForStage(jobId, AnalysisStage.FAILED);
+        assertNotNull(status.error());
+        assertNull(status.fitScore());
+    }
+
+    @Test
+    void run_ShouldReportProviderOutageWhenCircuitIsOpen() throws InterruptedException {
+        // Arrange
+        AgentPlatform unavailable = mock(AgentPlatform.class, invocation -> {
+            throw new LlmCircuitOpenException("gpt-4.1-mini", Duration.ofSeconds(30));
+        });
+        service = new AnalysisJobService(unavailable, DEADLINES, 1, 10, Duration.ofMinutes(15), Duration.ofMinutes(5));
+
+        // Act
+        String jobId = service.submit(REQUEST, ROLE, COMPANY, USER_ID);
+
+        // Assert
+        AnalysisJobStatus status = waitForStage(jobId, AnalysisStage.FAILED);
+        assertEquals(LlmCircuitOpenException.USER_MESSAGE, status.error());
+    }
+
+    @Test
+    void submit_ShouldRejectWhenWorkersAndQueueAreFull() {
+        // Arrange - one worker busy, one job queued
+        service = new AnalysisJobService(agentPlatform, DEADLINES, 1, 1, Duration.ofMinutes(15), Duration.ofMinutes(5));
+        service.submit(REQUEST, ROLE, COMPANY, USER_ID);
+        service.submit(REQUEST, ROLE, COMPANY, USER_ID);
+
+        // Act & Assert
+        assertThrows(RejectedExecutionException.class, () -> service.submit(REQUEST, ROLE, COMPANY, USER_ID));
+    }
+
+    @Test
+    void status_ShouldHideJobsOfOtherUsers() {
+        // Arrange
+        service = new AnalysisJobService(agentPlatform, DEADLINES, 1, 10, Duration.ofMinutes(15), Duration.ofMinutes(5));
+        String jobId = service.submit(REQUEST, ROLE, COMPANY, USER_ID);
+
+        // Act & Assert
+        assertTrue(service.status(jobId, USER_ID).isPresent());
+        assertTrue(service.status(jobId, 7L).isEmpty());
+        assertTrue(service.subscribe(jobId, 7L).isEmpty());
+        assertTrue(service.inputs(jobId, 7L).isEmpty());
+        assertTrue(service.status("unknown", USER_ID).isEmpty());
+    }
+
+    @Test
+    void inputs_ShouldReturnEachJobsOwnRequest() {
+        // Arrange - the same user submits a second analysis before collecting the first
+        service = new AnalysisJobService(agentPlatform, DEADLINES, 1, 10, Duration.ofMinutes(15), Duration.ofMinutes(5));
+        JobFitRequest resubmitted = new JobFitRequest("Updated CV text", "Another job description", false);
+        String firstJobId = service.submit(REQUEST, ROLE, COMPANY, USER_ID);
+        String secondJobId = service.submit(resubmitted, "Data Engineer", "Globex", USER_ID);
+
+        // Act
+        AnalysisJobService.JobInputs first = service.inputs(firstJobId, USER_ID).orElseThrow();
+        AnalysisJobService.JobInputs second = service.inputs(secondJobId, USER_ID).orElseThrow();
+
+        // Assert
+        assertSame(REQUEST, first.request());
+        assertEquals(ROLE, first.role());
+        assertEquals(COMPANY, first.company());
+        assertSame(resubmitted, second.request());
+        assertEquals("Globex", second.company());
+    }
+
+    @Test
+    void evictExpiredJobs_ShouldDropFinishedJobsPastRetention() throws InterruptedException {
+        // Arrange
+        service = new AnalysisJobService(agentPlatform, DEADLINES, 1, 10, Duration.ZERO, Duration.ofMinutes(5));
+        String jobId = service.submit(REQUEST, ROLE, COMPANY, USER_ID);
+        release.countDown();
+        waitForStage(jobId, AnalysisStage.FAILED);
+
+        // Act
+        service.evictExpiredJobs();
+
+        // Assert
+        assertTrue(service.status(jobId, USER_ID).isEmpty());
+    }
+
+    private AnalysisJobStatus waitForStage(String jobId, AnalysisStage stage) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            AnalysisJobStatus status = service.status(jobId, USER_ID).orElseThrow();
+            if (status.stage() == stage) {
+                return status;
+            }
+            Thread.sleep(10);
+        }
+        fail("Job did not reach " + stage);
+        return null;
+    }
+}
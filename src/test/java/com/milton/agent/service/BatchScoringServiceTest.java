@@ -0,0 +1,113 @@
+package com.milton.agent.service;
+
+import com.embabel.agent.core.AgentPlatform;
+import com.milton.agent.models.BatchScoreResult;
+import com.milton.agent.models.FitScore;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class BatchScoringServiceTest {
+
+    private static final RequestDeadlines DEADLINES =
+            new RequestDeadlines(Duration.ofSeconds(60), Duration.ofSeconds(150), Duration.ofSeconds(120));
+
+    @Test
+    void scoreAll_ShouldCapConcurrencyAndIsolateFailures() {
+        // Arrange - every platform call takes a moment and then fails
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        AgentPlatform agentPlatform = mock(AgentPlatform.class, invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            throw new IllegalStateException("No agent in tests");
+        });
+        BatchScoringService service = new BatchScoringService(agentPlatform, DEADLINES, 50, 3, Duration.ofMinutes(1));
+        List<String> jobDescriptions = IntStream.range(0, 10).mapToObj(i -> "Role " + i + "\nDetails").toList();
+        List<BatchScoreResult> streamed = Collections.synchronizedList(new ArrayList<>());
+
+        // Act
+        List<BatchScoreResult> results = service.scoreAll("CV text", jobDescriptions, true, streamed::add);
+
+        // Assert
+        assertEquals(10, results.size());
+        assertEquals(10, streamed.size());
+        assertTrue(maxInFlight.get() <= 3, "At most 3 job descriptions may be scored at once, saw " + maxInFlight.get());
+        assertTrue(results.stream().noneMatch(BatchScoreResult::succeeded));
+        assertEquals(IntStream.range(0, 10).boxed().toList(), results.stream().map(BatchScoreResult::index).toList());
+        assertEquals("Role 0", results.get(0).title());
+    }
+
+    @Test
+    void stream_ShouldStopScoringOnceTheClientIsGone() throws InterruptedException {
+        // Arrange - the first call blocks until the client has gone away, every call takes a moment
+        CountDownLatch firstCallStarted = new CountDownLatch(1);
+        CountDownLatch clientGone = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        AgentPlatform agentPlatform = mock(AgentPlatform.class, invocation -> {
+            calls.incrementAndGet();
+            firstCallStarted.countDown();
+            clientGone.await(5, TimeUnit.SECONDS);
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(50));
+            throw new IllegalStateException("No agent in tests");
+        });
+        BatchScoringService service = new BatchScoringService(agentPlatform, DEADLINES, 50, 1, Duration.ofMinutes(1));
+        List<String> jobDescriptions = IntStream.range(0, 10).mapToObj(i -> "Role " + i).toList();
+
+        // Act - a completed emitter rejects further events, as it does once the client disconnects
+        SseEmitter emitter = service.stream("CV text", jobDescriptions, true);
+        assertTrue(firstCallStarted.await(5, TimeUnit.SECONDS));
+        emitter.complete();
+        clientGone.countDown();
+        Thread.sleep(500);
+
+        // Assert - the item that took the freed permit may still start; nothing after it
+        assertTrue(calls.get() <= 2, "Scoring must stop once results cannot be sent, saw " + calls.get() + " calls");
+    }
+
+    @Test
+    void scoreAll_ShouldRejectOversizedBatches() {
+        BatchScoringService service = new BatchScoringService(mock(AgentPlatform.class), DEADLINES, 2, 2, Duration.ofMinutes(1));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> service.scoreAll("CV text", List.of("a", "b", "c"), true));
+    }
+
+    @Test
+    void ranking_ShouldOrderByScoreWithFailuresLast() {
+        // Arrange
+        List<BatchScoreResult> results = new ArrayList<>(List.of(
+                new BatchScoreResult(0, "Failed", null, "Scoring failed"),
+                new BatchScoreResult(1, "Partial", new FitScore(55, ""), null),
+                new BatchScoreResult(2, "Strong", new FitScore(88, ""), null),
+                new BatchScoreResult(3, "Also partial", new FitScore(55, ""), null)));
+
+        // Act
+        results.sort(BatchScoringService.RANKING);
+
+        // Assert
+        assertEquals(List.of(2, 1, 3, 0), results.stream().map(BatchScoreResult::index).toList());
+    }
+
+    @Test
+    void titleOf_ShouldUseFirstNonBlankLineTruncated() {
+        assertEquals("Senior Java Developer", BatchScoringService.titleOf("\n  \n Senior Java Developer \nLondon"));
+        assertEquals(81, BatchScoringService.titleOf("x".repeat(200)).length());
+    }
+}
@@ -0,0 +1,66 @@
+package com.milton.agent.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CvTextCompactorTest {
+
+    private final CvTextCompactor compactor = new CvTextCompactor(true);
+
+    @Test
+    void compact_ShouldCollapseWhitespaceAndBlankLines() {
+        // Arrange
+        String raw = "Senior   Java\t\tDeveloper  \r\n\r\n\r\n\r\n  Leeds,\u00A0UK   \n";
+
+        // Act
+        CvTextCompactor.CompactionResult result = compactor.compact(raw);
+
+        // Assert
+        assertEquals("Senior Java Developer\n\nLeeds, UK", result.text());
+        assertEquals(raw.length(), result.originalLength());
+        assertTrue(result.ratio() < 1.0);
+    }
+
+    @Test
+    void compact_ShouldRejoinHyphenatedWordsAndNormalizeBullets() {
+        // Arrange
+        String raw = "Led the migra-\ntion of payment services\n\u2022Kafka\n\u25CF  Spring Boot\nFull-\nStack";
+
+        // Act
+        String text = compactor.compact(raw).text();
+
+        // Assert
+        assertEquals("Led the migration of payment services\n- Kafka\n- Spring Boot\nFull-\nStack", text);
+    }
+
+    @Test
+    void compact_ShouldDropRepeatedPageHeadersAndPageNumbers() {
+        // Arrange
+        String[] bodies = {"Built the billing platform", "Migrated the ledger to Kafka\n2019 - 2021", "Mentored four engineers"};
+        StringBuilder raw = new StringBuilder();
+        for (int page = 1; page <= 3; page++) {
+            raw.append("Jane Doe - jane@example.com\n")
+                    .append(bodies[page - 1]).append('\n')
+                    .append("Page ").append(page).append(" of 3\n")
+                    .append(CvTextCompactor.PAGE_BREAK);
+        }
+
+        // Act
+        CvTextCompactor.CompactionResult result = compactor.compact(raw.toString());
+
+        // Assert
+        assertEquals(1, result.text().split("Jane Doe", -1).length - 1, "Running header should be kept once");
+        assertFalse(result.text().contains("Page 2 of 3"));
+        assertTrue(result.text().contains("Mentored four engineers"));
+        assertTrue(result.text().contains("2019 - 2021"), "Date ranges are not page numbers");
+        assertEquals(5, result.droppedBoilerplateLines());
+    }
+
+    @Test
+    void compact_ShouldLeaveSinglePageHeadersAlone() {
+        String text = compactor.compact("Jane Doe\nExperience\nPage 1 of 1").text();
+
+        assertEquals("Jane Doe\nExperience\nPage 1 of 1", text);
+    }
+}
@@ -1,6 +1,7 @@
 package com.milton.agent.service;
 
 import com.milton.agent.models.DashboardEntry;
+import com.milton.agent.models.FollowUpAction;
 import com.milton.agent.repository.DashboardEntryRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -346,4 +347,14 @@ class DashboardServiceTest {
         // Assert
         assertTrue(result, "Should be able to add entry when no entries exist");
     }
+
+    @Test
+    void followUpFor_ShouldMatchDashboardBands() {
+        // Act & Assert
+        assertEquals(FollowUpAction.SUGGESTIONS, dashboardService.followUpFor(39));
+        assertEquals(FollowUpAction.IMPROVE_SCORE, dashboardService.followUpFor(40));
+        assertEquals(FollowUpAction.IMPROVE_SCORE, dashboardService.followUpFor(74));
+        assertEquals(FollowUpAction.UPGRADE_CV, dashboardService.followUpFor(85));
+        assertEquals(FollowUpAction.INTERVIEW_PREP, dashboardService.followUpFor(86));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,139 @@
+package com.milton.agent.service;
+
+import com.milton.agent.llm.LlmBulkheads;
+import com.milton.agent.models.CareerSuggestions;
+import com.milton.agent.models.FollowUpAction;
+import com.milton.agent.models.ImproveScoreRequest;
+import com.milton.agent.models.PreparationResult;
+import com.milton.agent.models.SuggestionsRequest;
+import com.milton.agent.repository.DashboardEntryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class FollowUpPrefetchServiceTest {
+
+    private static final RequestDeadlines DEADLINES =
+            new RequestDeadlines(Duration.ofSeconds(60), Duration.ofSeconds(150), Duration.ofSeconds(120));
+    private static final DashboardService DASHBOARD =
+            new DashboardService(mock(DashboardEntryRepository.class), 40, 40, 74, 75, 85, 85, 90, 70, 50);
+    private static final Long USER_ID = 42L;
+    private static final CareerSuggestions SUGGESTIONS =
+            new CareerSuggestions(List.of("Backend Engineer"), List.of(), List.of(), List.of(), "Grow into backend roles");
+
+    private final AtomicInteger invocations = new AtomicInteger();
+    private final BiFunction<Object, PreparationResult, Object> invoker = (request, preparation) -> {
+        invocations.incrementAndGet();
+        return SUGGESTIONS;
+    };
+
+    private FollowUpPrefetchService service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void claim_ShouldServePrefetchedResultForMatchingRequestOnce() {
+        // Arrange
+        service = newService(true, 5);
+        service.prefetch(USER_ID, "CV text", "Job description", 30, "Weak match", null);
+
+        // Act
+        Optional<CareerSuggestions> different = service.claim(USER_ID, FollowUpAction.SUGGESTIONS,
+                new SuggestionsRequest("CV text", "Another job", 30, "Weak match"), CareerSuggestions.class);
+        Optional<CareerSuggestions> first = service.claim(USER_ID, FollowUpAction.SUGGESTIONS,
+                new SuggestionsRequest("CV text", "Job description", 30, "Weak match"), CareerSuggestions.class);
+        Optional<CareerSuggestions> second = service.claim(USER_ID, FollowUpAction.SUGGESTIONS,
+                new SuggestionsRequest("CV text", "Job description", 30, "Weak match"), CareerSuggestions.class);
+
+        // Assert
+        assertTrue(different.isEmpty(), "A prefetch must only serve the request it was made for");
+        assertEquals(Optional.of(SUGGESTIONS), first);
+        assertTrue(second.isEmpty(), "A prefetch is handed out at most once");
+        assertEquals(1, invocations.get());
+    }
+
+    @Test
+    void prefetch_ShouldStopAtDailyCap() {
+        // Arrange
+        service = newService(true, 2);
+
+        // Act
+        for (int i = 0; i < 4; i++) {
+            service.prefetch(USER_ID, "CV text", "Job description " + i, 30, "Weak match", null);
+        }
+
+        // Assert
+        assertEquals(2, service.usedToday(USER_ID));
+        assertEquals(0, service.usedToday(7L));
+    }
+
+    @Test
+    void prefetch_ShouldSkipWhenModelHasNoFreeSlot() throws Exception {
+        // Arrange - an interactive call holds the only gpt-4.1 slot
+        LlmBulkheads bulkheads = new LlmBulkheads(new MockEnvironment()
+                .withProperty("jobfit.llm.bulkhead.gpt-4.1.max-concurrent", "1"), new SimpleMeterRegistry());
+        service = newService(bulkheads, true, 5);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            executor.submit(() -> bulkheads.execute("gpt-4.1", () -> {
+                started.countDown();
+                try {
+                    return release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            // Act
+            service.prefetch(USER_ID, "CV text", "Job description", 60, "Partial match", null);
+            release.countDown();
+        }
+
+        // Assert
+        assertEquals(0, service.usedToday(USER_ID));
+        assertTrue(service.claim(USER_ID, FollowUpAction.IMPROVE_SCORE,
+                new ImproveScoreRequest("CV text", "Job description", 60, "Partial match"), Object.class).isEmpty());
+    }
+
+    @Test
+    void prefetch_ShouldDoNothingWhenDisabled() {
+        service = newService(false, 5);
+
+        service.prefetch(USER_ID, "CV text", "Job description", 30, "Weak match", null);
+
+        assertEquals(0, service.usedToday(USER_ID));
+        assertEquals(0, invocations.get());
+    }
+
+    private FollowUpPrefetchService newService(boolean enabled, int maxPerUserPerDay) {
+        return newService(new LlmBulkheads(new MockEnvironment(), new SimpleMeterRegistry()), enabled, maxPerUserPerDay);
+    }
+
+    private FollowUpPrefetchService newService(LlmBulkheads bulkheads, boolean enabled, int maxPerUserPerDay) {
+        return new FollowUpPrefetchService(DEADLINES, DASHBOARD, bulkheads, invoker,
+                enabled, maxPerUserPerDay, 1, 10, Duration.ofMinutes(30));
+    }
+}
@@ -0,0 +1,100 @@
+package com.milton.agent.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JobDescriptionCleanerTest {
+
+    private final JobDescriptionCleaner cleaner = new JobDescriptionCleaner(
+            List.of(new DictionaryParagraphClassifier("cleaning/jd-boilerplate.txt")), true);
+
+    @Test
+    void cleanWithReport_ShouldDropBoilerplateSectionsAndKeepRequirements() {
+        // Arrange
+        String jd = """
+                We use cookies to improve your experience. Accept all cookies or manage cookies in settings.
+
+                About Us
+                Founded in 2009, Acme is an award-winning fintech headquartered in Leeds with offices in London.
+
+                Senior Java Developer
+                You will build payment services on Spring Boot and Kafka.
+
+                Requirements
+                - 5+ years of experience with Java
+                - Knowledge of PostgreSQL
+
+                What we offer
+                - Competitive salary
+                - 25 days annual leave
+                - Private medical and pension scheme
+
+                Acme is an equal opportunity employer. We welcome applications from all qualified applicants \
+                regardless of race, gender identity or sexual orientation.
+                """;
+
+        // Act
+        JobDescriptionCleaner.CleaningResult result = cleaner.cleanWithReport(jd);
+
+        // Assert
+        assertTrue(result.text().contains("Senior Java Developer"));
+        assertTrue(result.text().contains("You will build payment services"));
+        assertTrue(result.text().contains("- Knowledge of PostgreSQL"));
+        assertFalse(result.text().contains("cookies"));
+        assertFalse(result.text().contains("Founded in 2009"));
+        assertFalse(result.text().contains("Competitive salary"));
+        assertFalse(result.text().contains("equal opportunity"));
+        assertEquals(jd.length(), result.originalLength());
+        assertTrue(result.removedChars() > jd.length() / 2);
+        assertEquals(List.of("about", "benefits", "cookies", "eeo"),
+                result.removedByCategory().keySet().stream().sorted().toList());
+    }
+
+    @Test
+    void cleanWithReport_ShouldEndBoilerplateSectionAtRoleContent() {
+        // Arrange
+        String jd = """
+                Benefits
+                - Cycle to work scheme
+                - Gym membership
+
+                Key Responsibilities
+                - Own the billing API
+                """;
+
+        // Act
+        String text = cleaner.cleanWithReport(jd).text();
+
+        // Assert
+        assertEquals("Key Responsibilities\n- Own the billing API", text);
+    }
+
+    @Test
+    void cleanWithReport_ShouldKeepSingleBlockDescriptionWithPassingMention() {
+        // Arrange
+        String jd = ("We are hiring a backend engineer to design and operate high volume Java services. "
+                + "The team owns the payments ledger and reporting pipeline. ").repeat(4)
+                + "Competitive salary.";
+
+        // Act
+        JobDescriptionCleaner.CleaningResult result = cleaner.cleanWithReport(jd);
+
+        // Assert
+        assertEquals(jd, result.text());
+        assertEquals(0, result.removedChars());
+    }
+
+    @Test
+    void cleanWithReport_ShouldReturnTextUnchangedWhenDisabled() {
+        JobDescriptionCleaner disabled = new JobDescriptionCleaner(
+                List.of(new DictionaryParagraphClassifier("cleaning/jd-boilerplate.txt")), false);
+
+        JobDescriptionCleaner.CleaningResult result = disabled.cleanWithReport("Benefits\n- Free lunch");
+
+        assertEquals("Benefits\n- Free lunch", result.text());
+        assertTrue(result.removedByCategory().isEmpty());
+    }
+}
@@ -0,0 +1,203 @@
+package com.milton.agent.service;
+
+import com.embabel.agent.api.common.OperationContext;
+import com.embabel.common.ai.model.LlmOptions;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.milton.agent.cache.BoundedCache;
+import com.milton.agent.cache.CacheSettings;
+import com.milton.agent.cache.EvictionPolicy;
+import com.milton.agent.cache.ExtractionStore;
+import com.milton.agent.cache.SingleFlight;
+import com.milton.agent.config.PromptLoader;
+import com.milton.agent.exceptions.DeadlineExceededException;
+import com.milton.agent.exceptions.LlmCircuitOpenException;
+import com.milton.agent.llm.LlmBulkheads;
+import com.milton.agent.llm.LlmCircuitBreakers;
+import com.milton.agent.llm.PromptAssembler;
+import com.milton.agent.metrics.JobFitMetrics;
+import com.milton.agent.models.CvSkills;
+import com.milton.agent.models.FitAssessment;
+import com.milton.agent.models.FitScore;
+import com.milton.agent.models.JobFitRequest;
+import com.milton.agent.models.JobRequirements;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class JobFitProviderAgentTest {
+
+    private static final CvSkills CV_SKILLS = new CvSkills(List.of("Java", "Spring Boot"), List.of("Agile"),
+            List.of("Communication"), List.of("BSc Computer Science"));
+    private static final JobRequirements REQUIREMENTS = new JobRequirements(List.of("Java"),
+            List.of("Kubernetes"), List.of("Teamwork"));
+
+    @TempDir
+    Path promptDirectory;
+
+    private final AtomicInteger llmCalls = new AtomicInteger();
+    private final BoundedCache<String, FitScore> fitScoreCache = cache("fit-score");
+    private final LocalFitScorer localFitScorer = new LocalFitScorer("scoring/skill-synonyms.txt");
+    private final ExecutorService agentExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private OperationContext context;
+    private JobFitProviderAgent agent;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Files.writeString(promptDirectory.resolve("jobfit-fit-score.txt"), "Score {{cvSkills}} against {{jobRequirements}}");
+        PromptLoader promptLoader = new PromptLoader(promptDirectory.toString(), true, Duration.ZERO);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        context = mock(OperationContext.class, RETURNS_DEEP_STUBS);
+
+        agent = new JobFitProviderAgent(
+                promptLoader,
+                cache("extraction"), new SingleFlight<>("extraction"),
+                cache("job-requirements"), new SingleFlight<>("job-requirements"),
+                new ExtractionStore(new ObjectMapper(), false, promptDirectory.resolve("store.jsonl").toString(),
+                        100, 0.01, 100, Duration.ofDays(30)),
+                cache("cv-skills"), new SingleFlight<>("cv-skills"),
+                fitScoreCache,
+                localFitScorer,
+                new LlmBulkheads(new MockEnvironment(), registry),
+                new LlmCircuitBreakers(new MockEnvironment(), registry),
+                new PromptAssembler(promptLoader, new MockEnvironment()),
+                event -> { },
+                new RequestDeadlines(Duration.ofSeconds(60), Duration.ofSeconds(150), Duration.ofSeconds(120)),
+                agentExecutor,
+                new JobFitMetrics(ObservationRegistry.NOOP, registry, new ObjectMapper()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        agentExecutor.shutdownNow();
+    }
+
+    @Test
+    void calculateFitScore_ShouldAnswerRepeatedScoringFromCache() {
+        // Arrange
+        givenLlmScores();
+
+        // Act
+        FitScore first = agent.calculateFitScore(request(true), CV_SKILLS, REQUIREMENTS, context);
+        FitScore second = agent.calculateFitScore(request(true), CV_SKILLS, REQUIREMENTS, context);
+
+        // Assert
+        assertEquals(first, second);
+        assertEquals(1, llmCalls.get());
+    }
+
+    @Test
+    void calculateFitScore_ShouldCacheQuickAndThoughtfulModesSeparately() {
+        // Arrange
+        givenLlmScores();
+
+        // Act
+        FitScore quick = agent.calculateFitScore(request(true), CV_SKILLS, REQUIREMENTS, context);
+        FitScore thoughtful = agent.calculateFitScore(request(false), CV_SKILLS, REQUIREMENTS, context);
+        FitScore quickAgain = agent.calculateFitScore(request(true), CV_SKILLS, REQUIREMENTS, context);
+
+        // Assert
+        assertNotEquals(quick, thoughtful);
+        assertEquals(quick, quickAgain);
+        assertEquals(2, llmCalls.get());
+    }
+
+    @Test
+    void calculateFitScore_ShouldMissCacheAfterScoringPromptChanges() throws IOException {
+        // Arrange
+        givenLlmScores();
+        FitScore beforeReload = agent.calculateFitScore(request(true), CV_SKILLS, REQUIREMENTS, context);
+        Path prompt = promptDirectory.resolve("jobfit-fit-score.txt");
+        Files.writeString(prompt, "Rescore {{cvSkills}} against {{jobRequirements}}");
+        Files.setLastModifiedTime(prompt, FileTime.fromMillis(System.currentTimeMillis() + 5_000));
+
+        // Act
+        FitScore afterReload = agent.calculateFitScore(request(true), CV_SKILLS, REQUIREMENTS, context);
+
+        // Assert
+        assertNotEquals(beforeReload, afterReload);
+        assertEquals(2, llmCalls.get());
+    }
+
+    @Test
+    void calculateFitScore_ShouldNotCacheScoresFromFailedLlmCalls() {
+        // Arrange - the first call fails, later calls succeed
+        when(context.ai().withLlm(any(LlmOptions.class)).createObject(anyString(), eq(FitAssessment.class)))
+                .thenThrow(new IllegalStateException("provider error"))
+                .thenAnswer(invocation -> llmScore());
+
+        // Act
+        FitScore fallback = agent.calculateFitScore(request(true), CV_SKILLS, REQUIREMENTS, context);
+        FitScore retried = agent.calculateFitScore(request(true), CV_SKILLS, REQUIREMENTS, context);
+
+        // Assert
+        assertEquals(localFitScorer.score(CV_SKILLS, REQUIREMENTS).score(), fallback.score());
+        assertTrue(fallback.provisional());
+        assertEquals("LLM assessment", retried.explanation());
+        assertFalse(retried.provisional());
+        assertEquals(1, llmCalls.get());
+        assertEquals(retried, agent.calculateFitScore(request(true), CV_SKILLS, REQUIREMENTS, context));
+    }
+
+    @Test
+    void calculateFitScore_ShouldMarkLocalScoreProvisionalWhileCircuitIsOpen() {
+        // Arrange
+        when(context.ai().withLlm(any(LlmOptions.class)).createObject(anyString(), eq(FitAssessment.class)))
+                .thenThrow(new LlmCircuitOpenException("gpt-4.1-mini", Duration.ofSeconds(30)));
+
+        // Act
+        FitScore fitScore = agent.calculateFitScore(request(true), CV_SKILLS, REQUIREMENTS, context);
+
+        // Assert
+        assertTrue(fitScore.provisional());
+        assertEquals(localFitScorer.score(CV_SKILLS, REQUIREMENTS), fitScore);
+    }
+
+    @Test
+    void calculateFitScore_ShouldLetDeadlineExceededThrough() {
+        // Arrange
+        when(context.ai().withLlm(any(LlmOptions.class)).createObject(anyString(), eq(FitAssessment.class)))
+                .thenThrow(new DeadlineExceededException("gpt-4.1-mini call did not finish before the request deadline"));
+
+        // Act & Assert
+        assertThrows(DeadlineExceededException.class,
+                () -> agent.calculateFitScore(request(true), CV_SKILLS, REQUIREMENTS, context));
+    }
+
+    private void givenLlmScores() {
+        when(context.ai().withLlm(any(LlmOptions.class)).createObject(anyString(), eq(FitAssessment.class)))
+                .thenAnswer(invocation -> llmScore());
+    }
+
+    private FitAssessment llmScore() {
+        return new FitAssessment(70 + llmCalls.incrementAndGet(), "LLM assessment");
+    }
+
+    private static JobFitRequest request(boolean quickResponse) {
+        return new JobFitRequest("CV text", "Job description", quickResponse);
+    }
+
+    private static <V> BoundedCache<String, V> cache(String name) {
+        return BoundedCache.create(name, new CacheSettings(EvictionPolicy.LRU, 10, Duration.ofMinutes(5)));
+    }
+}
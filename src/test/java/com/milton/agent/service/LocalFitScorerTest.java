@@ -0,0 +1,105 @@
+package com.milton.agent.service;
+
+import com.milton.agent.models.CvSkills;
+import com.milton.agent.models.FitScore;
+import com.milton.agent.models.JobRequirements;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalFitScorerTest {
+
+    private LocalFitScorer scorer;
+
+    @BeforeEach
+    void setUp() {
+        scorer = new LocalFitScorer("scoring/skill-synonyms.txt");
+    }
+
+    @Test
+    void score_ShouldFollowPromptWorkedExample() {
+        // Arrange - worked example from jobfit-fit-score.txt
+        CvSkills cvSkills = new CvSkills(
+                List.of(),
+                List.of("PRINCE2 Practitioner", "Stakeholder engagement", "Project management"),
+                List.of("Communication", "Leadership"),
+                List.of("PRINCE2 Practitioner", "BA Business Studies"));
+        JobRequirements requirements = new JobRequirements(
+                List.of("Python programming", "JavaScript", "5+ years software development", "LLM systems experience"),
+                List.of("PRINCE2 certification", "Agile methodology"),
+                List.of("Communication skills", "Team collaboration"));
+
+        // Act
+        FitScore fitScore = scorer.score(cvSkills, requirements);
+
+        // Assert - no critical match triggers the 35 cap; 12.5 important + 7.5 supporting
+        assertEquals(20, fitScore.score());
+        assertTrue(fitScore.explanation().contains("Provisional estimate"));
+        assertTrue(fitScore.explanation().contains("Score capped at 35"));
+    }
+
+    @Test
+    void score_ShouldMatchThroughSynonyms() {
+        // Arrange
+        CvSkills cvSkills = new CvSkills(
+                List.of("Java", "Spring Boot", "AWS", "Kubernetes", "PostgreSQL", "REST APIs"),
+                List.of("Agile delivery"),
+                List.of("Team player"),
+                List.of("BSc Computer Science"));
+        JobRequirements requirements = new JobRequirements(
+                List.of("Java 17", "Spring", "Amazon Web Services", "RESTful APIs"),
+                List.of("K8s", "Postgres", "Scrum"),
+                List.of("Collaboration", "Bachelor's degree in Computer Science"));
+
+        // Act
+        FitScore fitScore = scorer.score(cvSkills, requirements);
+
+        // Assert
+        assertEquals(100, fitScore.score());
+    }
+
+    @Test
+    void score_ShouldIgnoreSoftSkillsForCriticalRequirements() {
+        // Arrange
+        CvSkills cvSkills = new CvSkills(List.of(), List.of(), List.of("Leadership"), List.of());
+        JobRequirements requirements = new JobRequirements(List.of("Leadership"), List.of(), List.of());
+
+        // Act
+        FitScore fitScore = scorer.score(cvSkills, requirements);
+
+        // Assert - critical tier misses, important and supporting are empty and award full points, then capped
+        assertEquals(35, fitScore.score());
+    }
+
+    @Test
+    void score_ShouldAwardPartialMatchForPartialTermOverlap() {
+        // Arrange
+        CvSkills cvSkills = new CvSkills(List.of("Python"), List.of(), List.of(), List.of());
+        JobRequirements requirements = new JobRequirements(
+                List.of("Python data pipelines orchestration"), List.of(), List.of());
+
+        // Act
+        FitScore fitScore = scorer.score(cvSkills, requirements);
+
+        // Assert - 0.5 of critical = 30 points, 50% critical match avoids the caps, plus 25 + 15
+        assertEquals(70, fitScore.score());
+    }
+
+    @Test
+    void score_ShouldHandleMissingRecords() {
+        FitScore fitScore = scorer.score(null, null);
+
+        assertEquals(100, fitScore.score());
+    }
+
+    @Test
+    void terms_ShouldNormalizeAliasesAndDropStopwords() {
+        Set<String> terms = scorer.terms("5+ years of experience with C#, .NET Core and CI/CD pipelines");
+
+        assertEquals(Set.of("csharp", "dotnet", "cicd", "pipeline"), terms);
+    }
+}
@@ -1,5 +1,9 @@
 package com.milton.agent.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.milton.agent.metrics.JobFitMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.PDPageContentStream;
@@ -22,7 +26,8 @@ class PDFTextExtractorImplTest {
 
     @BeforeEach
     void setUp() {
-        textExtractor = new PDFTextExtratorImpl();
+        textExtractor = new PDFTextExtratorImpl(new CvTextCompactor(true),
+                new JobFitMetrics(ObservationRegistry.NOOP, new SimpleMeterRegistry(), new ObjectMapper()));
     }
 
     @Test
@@ -0,0 +1,58 @@
+package com.milton.agent.service;
+
+import com.embabel.agent.api.common.autonomy.AgentInvocation;
+import com.milton.agent.cache.BoundedCache;
+import com.milton.agent.cache.CacheSettings;
+import com.milton.agent.cache.EvictionPolicy;
+import com.milton.agent.models.CareerSuggestions;
+import com.milton.agent.models.CvSkills;
+import com.milton.agent.models.JobRequirements;
+import com.milton.agent.models.PreparationResult;
+import com.milton.agent.models.SuggestionsRequest;
+import com.milton.agent.util.ContentDigest;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PreparationServiceTest {
+
+    private static final PreparationResult PREPARATION = new PreparationResult(
+            new CvSkills(List.of("Java"), List.of(), List.of(), List.of()),
+            new JobRequirements(List.of("Java"), List.of(), List.of()));
+
+    private final BoundedCache<String, PreparationResult> extractionCache =
+            BoundedCache.create("extraction", new CacheSettings(EvictionPolicy.LRU, 10, Duration.ofMinutes(5)));
+    private final PreparationService service = new PreparationService(extractionCache);
+
+    @Test
+    void find_ShouldReturnExtractionCachedForThePair() {
+        // Arrange
+        extractionCache.put(ContentDigest.of("CV text", "Job description"), PREPARATION);
+
+        // Act & Assert
+        assertEquals(Optional.of(PREPARATION), service.find("CV text", "Job description"));
+        assertTrue(service.find("CV text", "Another job").isEmpty());
+        assertTrue(service.find(null, "Job description").isEmpty());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void invoke_ShouldPutPreparedRecordsOnTheBlackboard() {
+        // Arrange
+        AgentInvocation<CareerSuggestions> invocation = mock(AgentInvocation.class);
+        SuggestionsRequest request = new SuggestionsRequest("CV text", "Job description", 30, "Weak match");
+
+        // Act
+        service.invoke(invocation, request, PREPARATION);
+        service.invoke(invocation, request, null);
+
+        // Assert
+        verify(invocation).invoke(request, PREPARATION.cvSkills(), PREPARATION.jobRequirements());
+        verify(invocation).invoke(request);
+    }
+}
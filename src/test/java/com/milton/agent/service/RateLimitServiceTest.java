@@ -61,6 +61,19 @@ class RateLimitServiceTest {
         assertEquals(9, rateLimitService.getRemainingRequests(userId));
     }
 
+    @Test
+    void batchCountsEveryItemAndIsRejectedWholeWhenItDoesNotFit() {
+        Long userId = 22222L;
+        assertTrue(rateLimitService.isAllowed(userId, 4));
+        assertEquals(6, rateLimitService.getRemainingRequests(userId));
+
+        assertFalse(rateLimitService.isAllowed(userId, 7), "Batch larger than the remaining quota must be blocked");
+        assertEquals(6, rateLimitService.getRemainingRequests(userId), "A rejected batch must not use any quota");
+
+        assertTrue(rateLimitService.isAllowed(userId, 6));
+        assertFalse(rateLimitService.isAllowed(userId));
+    }
+
     @SuppressWarnings("unchecked")
     private Map<Long, ?> extractUserRequestMap() throws Exception {
         Field field = RateLimitService.class.getDeclaredField("userRequestMap");
@@ -0,0 +1,136 @@
+package com.milton.agent.service;
+
+import com.embabel.agent.core.AgentPlatform;
+import com.milton.agent.models.FitScore;
+import com.milton.agent.models.RankedCandidate;
+import com.milton.agent.models.RecruiterRanking;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class RecruiterRankingServiceTest {
+
+    private static final RequestDeadlines DEADLINES =
+            new RequestDeadlines(Duration.ofSeconds(60), Duration.ofSeconds(150), Duration.ofSeconds(120));
+
+    @Test
+    void rank_ShouldLimitCvsInFlightAndCountFailures() {
+        // Arrange - CV reading is slow and tracked; scoring always fails
+        AtomicInteger reading = new AtomicInteger();
+        AtomicInteger maxReading = new AtomicInteger();
+        TextExtractor textExtractor = file -> {
+            maxReading.accumulateAndGet(reading.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                reading.decrementAndGet();
+            }
+            return "CV text of " + file.getOriginalFilename();
+        };
+        AgentPlatform agentPlatform = mock(AgentPlatform.class, invocation -> {
+            throw new IllegalStateException("No agent in tests");
+        });
+        RecruiterRankingService service = new RecruiterRankingService(agentPlatform, DEADLINES, textExtractor, 2, 100,
+                200, Duration.ofMinutes(10));
+        List<MultipartFile> cvs = IntStream.range(0, 20).mapToObj(i -> pdf("cv-" + i + ".pdf")).toList();
+
+        // Act
+        RecruiterRanking ranking = service.rank("Job description", cvs, 5, true);
+
+        // Assert
+        assertEquals(0, ranking.processed());
+        assertEquals(20, ranking.failed());
+        assertTrue(ranking.candidates().isEmpty());
+        assertTrue(maxReading.get() <= 2, "At most 2 CVs may be in flight, saw " + maxReading.get());
+    }
+
+    @Test
+    void rank_ShouldCountNonPdfUploadsAsFailedWithoutReadingThem() {
+        // Arrange
+        AtomicInteger reads = new AtomicInteger();
+        TextExtractor textExtractor = file -> {
+            reads.incrementAndGet();
+            return "CV text";
+        };
+        RecruiterRankingService service = new RecruiterRankingService(mock(AgentPlatform.class), DEADLINES,
+                textExtractor, 2, 10, 200, Duration.ofMinutes(10));
+        MultipartFile notPdf = new MockMultipartFile("candidateFiles", "cv.docx", "application/msword", new byte[]{1});
+
+        // Act
+        RecruiterRanking ranking = service.rank("Job description", List.of(notPdf), 5, true);
+
+        // Assert
+        assertEquals(1, ranking.failed());
+        assertEquals(0, reads.get());
+    }
+
+    @Test
+    void rank_ShouldStopStartingCvsOnceTheRankingDeadlinePasses() {
+        // Arrange - one slot, and the first CV holds it until the deadline has passed
+        TextExtractor textExtractor = file -> {
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IOException("Unreadable");
+        };
+        RecruiterRankingService service = new RecruiterRankingService(mock(AgentPlatform.class), DEADLINES,
+                textExtractor, 1, 10, 200, Duration.ofMillis(50));
+        List<MultipartFile> cvs = IntStream.range(0, 5).mapToObj(i -> pdf("cv-" + i + ".pdf")).toList();
+
+        // Act
+        long startedAt = System.nanoTime();
+        RecruiterRanking ranking = service.rank("Job description", cvs, 5, true);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+
+        // Assert
+        assertEquals(5, ranking.failed());
+        assertTrue(elapsedMillis < 1_000, "Ranking should end shortly after its deadline, took " + elapsedMillis + "ms");
+    }
+
+    @Test
+    void rank_ShouldRejectTopKAndCvCountOutsideLimits() {
+        RecruiterRankingService service = new RecruiterRankingService(mock(AgentPlatform.class), DEADLINES, file -> "",
+                2, 10, 3, Duration.ofMinutes(10));
+        List<MultipartFile> tooMany = IntStream.range(0, 4).mapToObj(i -> pdf("cv-" + i + ".pdf")).toList();
+
+        assertThrows(IllegalArgumentException.class, () -> service.rank("JD", List.of(), 0, true));
+        assertThrows(IllegalArgumentException.class, () -> service.rank("JD", List.of(), 11, true));
+        assertThrows(IllegalArgumentException.class, () -> service.rank("JD", tooMany, 5, true));
+    }
+
+    @Test
+    void byScore_ShouldPreferHigherScoresThenFileName() {
+        // Arrange
+        List<RankedCandidate> candidates = new ArrayList<>(List.of(
+                new RankedCandidate("b.pdf", new FitScore(70, "")),
+                new RankedCandidate("c.pdf", new FitScore(90, "")),
+                new RankedCandidate("a.pdf", new FitScore(70, ""))));
+
+        // Act
+        candidates.sort(RecruiterRankingService.BY_SCORE.reversed());
+
+        // Assert
+        assertEquals(List.of("c.pdf", "a.pdf", "b.pdf"), candidates.stream().map(RankedCandidate::fileName).toList());
+    }
+
+    private static MultipartFile pdf(String fileName) {
+        return new MockMultipartFile("candidateFiles", fileName, "application/pdf",
+                "%PDF-1.4".getBytes(StandardCharsets.US_ASCII));
+    }
+}
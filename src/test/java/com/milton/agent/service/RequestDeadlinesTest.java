@@ -0,0 +1,56 @@
+package com.milton.agent.service;
+
+import com.milton.agent.models.JobFitRequest;
+import com.milton.agent.util.Deadline;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestDeadlinesTest {
+
+    private final RequestDeadlines requestDeadlines =
+            new RequestDeadlines(Duration.ofSeconds(60), Duration.ofSeconds(150), Duration.ofSeconds(120));
+
+    @Test
+    void within_ShouldExposeDeadlineOnlyForTheSameRequestInstance() {
+        // Arrange - two equal requests in flight at once
+        JobFitRequest request = new JobFitRequest("CV text", "Job description", true);
+        JobFitRequest equalRequest = new JobFitRequest("CV text", "Job description", true);
+        Deadline deadline = Deadline.after(Duration.ofSeconds(5));
+
+        // Act
+        Deadline seen = requestDeadlines.within(request, deadline, () -> requestDeadlines.deadlineFor(request));
+        Deadline seenByOther = requestDeadlines.within(request, deadline, () -> requestDeadlines.deadlineFor(equalRequest));
+
+        // Assert
+        assertSame(deadline, seen);
+        assertNotSame(deadline, seenByOther);
+        assertTrue(seenByOther.remaining().compareTo(Duration.ofSeconds(100)) > 0, "Unregistered requests get the default budget");
+    }
+
+    @Test
+    void within_ShouldUnregisterDeadlineWhenInvocationFails() {
+        // Arrange
+        JobFitRequest request = new JobFitRequest("CV text", "Job description", false);
+        Deadline deadline = Deadline.after(Duration.ofSeconds(5));
+
+        // Act
+        assertThrows(IllegalStateException.class, () -> requestDeadlines.within(request, deadline, () -> {
+            throw new IllegalStateException("Agent failed");
+        }));
+
+        // Assert
+        assertNotSame(deadline, requestDeadlines.deadlineFor(request));
+    }
+
+    @Test
+    void deadline_ShouldReportExpiryAndNeverNegativeRemaining() {
+        Deadline expired = Deadline.after(Duration.ofMillis(-10));
+
+        assertTrue(expired.isExpired());
+        assertEquals(Duration.ZERO, expired.remaining());
+        assertFalse(requestDeadlines.forAnalysis(false).isExpired());
+    }
+}
@@ -0,0 +1,58 @@
+package com.milton.agent.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedTopKTest {
+
+    @Test
+    void offer_ShouldKeepOnlyTheGreatestElements() {
+        // Arrange
+        BoundedTopK<Integer> topK = new BoundedTopK<>(3, Comparator.naturalOrder());
+
+        // Act
+        for (int value : new int[]{5, 1, 9, 3, 7, 2, 8}) {
+            topK.offer(value);
+        }
+
+        // Assert
+        assertEquals(List.of(9, 8, 7), topK.toSortedList());
+    }
+
+    @Test
+    void offer_ShouldRejectElementsNoBetterThanTheWeakestKept() {
+        BoundedTopK<Integer> topK = new BoundedTopK<>(2, Comparator.naturalOrder());
+        topK.offer(10);
+        topK.offer(20);
+
+        assertFalse(topK.offer(10));
+        assertTrue(topK.offer(15));
+        assertEquals(List.of(20, 15), topK.toSortedList());
+    }
+
+    @Test
+    void offer_ShouldBeSafeUnderConcurrentOffers() {
+        // Arrange
+        BoundedTopK<Integer> topK = new BoundedTopK<>(10, Comparator.naturalOrder());
+
+        // Act
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            IntStream.range(0, 10_000).forEach(i -> executor.execute(() -> topK.offer(i)));
+        }
+
+        // Assert
+        assertEquals(IntStream.range(0, 10).map(i -> 9_999 - i).boxed().toList(), topK.toSortedList());
+    }
+
+    @Test
+    void constructor_ShouldRejectNonPositiveK() {
+        assertThrows(IllegalArgumentException.class, () -> new BoundedTopK<Integer>(0, Comparator.naturalOrder()));
+    }
+}
@@ -0,0 +1,50 @@
+package com.milton.agent.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContentDigestTest {
+
+    @Test
+    void of_ShouldBeStableForSameContent() {
+        assertEquals(ContentDigest.of("cv text", "job description"),
+                ContentDigest.of("cv text", "job description"));
+    }
+
+    @Test
+    void of_ShouldProduceSha256Hex() {
+        String digest = ContentDigest.of("cv text");
+
+        assertEquals(64, digest.length());
+        assertTrue(digest.matches("[0-9a-f]+"));
+    }
+
+    @Test
+    void of_ShouldNotCollideWhenPartBoundariesShift() {
+        assertNotEquals(ContentDigest.of("ab", "c"), ContentDigest.of("a", "bc"));
+        assertNotEquals(ContentDigest.of(null, "x"), ContentDigest.of("", "x"));
+    }
+
+    @Test
+    void of_ShouldDistinguishStringsWithEqualHashCodes() {
+        // "Aa" and "BB" share the same String.hashCode()
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        assertNotEquals(ContentDigest.of("Aa", "jd"), ContentDigest.of("BB", "jd"));
+    }
+
+    @Test
+    void ofNormalized_ShouldIgnoreCaseAndWhitespaceLayout() {
+        String pasted = "Senior Java Developer\n\n  We need   Spring Boot\texperience.";
+        String repasted = "senior java developer we need spring boot experience.  ";
+
+        assertEquals(ContentDigest.ofNormalized(pasted), ContentDigest.ofNormalized(repasted));
+        assertNotEquals(ContentDigest.ofNormalized(pasted), ContentDigest.ofNormalized("Junior Java Developer"));
+    }
+
+    @Test
+    void normalize_ShouldCollapseWhitespaceRuns() {
+        assertEquals("a b c", ContentDigest.normalize("  A \n\t B\u00A0C  "));
+        assertEquals("", ContentDigest.normalize(null));
+    }
+}